@@ -0,0 +1,130 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard.model;
+
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.OHLCDataset;
+
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
+
+/**
+ * Candlestick dataset reading the completed days of a snapshot of a price
+ * model, which is not modified by the simulation thread while the chart is
+ * drawn.
+ */
+public class PriceModelOHLCDataset extends AbstractXYDataset implements OHLCDataset {
+
+	private static final long serialVersionUID = 1L;
+
+	protected final PriceModel priceModel;
+
+	/**
+	 * @param priceModel snapshot of a price model, see
+	 *                   {@link PriceModel#getSnapshot()}
+	 */
+	public PriceModelOHLCDataset(final PriceModel priceModel) {
+		this.priceModel = priceModel;
+	}
+
+	@Override
+	public Number getClose(final int series, final int item) {
+		return getCloseValue(series, item);
+	}
+
+	@Override
+	public double getCloseValue(final int series, final int item) {
+		return priceModel.getClose(item);
+	}
+
+	@Override
+	public Number getHigh(final int series, final int item) {
+		return getHighValue(series, item);
+	}
+
+	@Override
+	public double getHighValue(final int series, final int item) {
+		return priceModel.getHigh(item);
+	}
+
+	@Override
+	public int getItemCount(final int series) {
+		return priceModel.getNumberOfCompletedDays();
+	}
+
+	@Override
+	public Number getLow(final int series, final int item) {
+		return getLowValue(series, item);
+	}
+
+	@Override
+	public double getLowValue(final int series, final int item) {
+		return priceModel.getLow(item);
+	}
+
+	@Override
+	public Number getOpen(final int series, final int item) {
+		return getOpenValue(series, item);
+	}
+
+	@Override
+	public double getOpenValue(final int series, final int item) {
+		return priceModel.getOpen(item);
+	}
+
+	@Override
+	public int getSeriesCount() {
+		return 1;
+	}
+
+	@Override
+	public Comparable<String> getSeriesKey(final int series) {
+		return "";
+	}
+
+	@Override
+	public Number getVolume(final int series, final int item) {
+		return getVolumeValue(series, item);
+	}
+
+	@Override
+	public double getVolumeValue(final int series, final int item) {
+		return priceModel.getVolume(item);
+	}
+
+	@Override
+	public Number getX(final int series, final int item) {
+		return priceModel.getDate(item).getTime();
+	}
+
+	@Override
+	public double getXValue(final int series, final int item) {
+		return priceModel.getDate(item).getTime();
+	}
+
+	@Override
+	public Number getY(final int series, final int item) {
+		return getCloseValue(series, item);
+	}
+
+	@Override
+	public double getYValue(final int series, final int item) {
+		return getCloseValue(series, item);
+	}
+}
@@ -31,6 +31,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.time.TimeSeries;
 import org.jfree.data.time.TimeSeriesCollection;
 import org.jfree.ui.RectangleInsets;
 
@@ -40,6 +41,8 @@ import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
+import io.github.uwol.compecon.engine.statistics.sink.impl.TimeSeriesPeriodDataSinkImpl;
 
 public abstract class AbstractChartsPanel extends JPanel {
 
@@ -167,14 +170,15 @@ public abstract class AbstractChartsPanel extends JPanel {
 
 		for (final PricingBehaviourNewPriceDecisionCause decisionCause : PricingBehaviourNewPriceDecisionCause
 				.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 					.getNationalEconomyModel(currency).pricingBehaviourModels
-							.get(goodType).pricingBehaviourPriceDecisionCauseModels.get(decisionCause).getTimeSeries());
+							.get(goodType).pricingBehaviourPriceDecisionCauseModels.get(decisionCause)
+									.getPeriodDataSink()));
 		}
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).pricingBehaviourModels
-						.get(goodType).pricingBehaviourAveragePriceDecisionCauseModel.getTimeSeries());
+						.get(goodType).pricingBehaviourAveragePriceDecisionCauseModel.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(goodType + " Pricing Behaviour Mechanics", "Date",
 				"Budget Spent", timeSeriesCollection, true, true, false);
@@ -215,4 +219,12 @@ public abstract class AbstractChartsPanel extends JPanel {
 		return new BalanceSheetPanel(currency, balanceSheetTableModel,
 				"Balance Sheet for " + currency.getIso4217Code() + " Traders");
 	}
+
+	/**
+	 * the dashboard configures time series backed sinks, see
+	 * ApplicationContextFactory#configureDashboardModelRegistry()
+	 */
+	protected static TimeSeries getTimeSeries(final PeriodDataSink periodDataSink) {
+		return ((TimeSeriesPeriodDataSinkImpl) periodDataSink).getTimeSeries();
+	}
 }
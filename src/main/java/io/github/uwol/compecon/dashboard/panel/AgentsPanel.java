@@ -66,14 +66,14 @@ public class AgentsPanel extends AbstractChartsPanel implements ModelListener {
 	protected ChartPanel createAgentNumberPanel(final Currency currency, final Class<? extends Agent> agentType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).numberOfAgentsModels.get(agentType).getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).numberOfAgentsModels.get(agentType).getPeriodDataSink()));
 
 		// in case of households
 		if (Household.class.isAssignableFrom(agentType)) {
 			// show retired households
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.retiredModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).householdsModel.retiredModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("# " + agentType.getSimpleName() + " Agents",
@@ -34,9 +34,10 @@ import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultHighLowDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.PriceModelOHLCDataset;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
@@ -142,7 +143,7 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 	protected JFreeChart createPriceTimeSeriesChart(final Currency currency, final Currency commodityCurrency) {
 		return ChartFactory.createCandlestickChart(
 				commodityCurrency.getIso4217Code() + " Prices", "Time", "Price in " + currency.getIso4217Code(),
-				getDefaultHighLowDataset(currency, commodityCurrency), false);
+				getOHLCDataset(currency, commodityCurrency), false);
 	}
 
 	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency, final Currency commodityCurrency) {
@@ -152,8 +153,7 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 		return chartPanel;
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency,
-			final Currency commodityCurrency) {
+	protected OHLCDataset getOHLCDataset(final Currency currency, final Currency commodityCurrency) {
 		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).pricesModel;
 
@@ -161,8 +161,7 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 		final PriceModel priceModel = priceModelsForCurrencies.get(commodityCurrency);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
+			return new PriceModelOHLCDataset(priceModel.getSnapshot());
 		}
 
 		return null;
@@ -36,10 +36,11 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.ValueMarker;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
 import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.PriceModelOHLCDataset;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
@@ -62,6 +63,8 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 
 		protected JFreeChart incomeDistributionChart;
 
+		protected JFreeChart lorenzCurveChart;
+
 		protected ChartPanel marketDepthPanel;
 
 		protected ChartPanel priceTimeSeriesPanel;
@@ -79,7 +82,9 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 			this.add(createIncomeSourcePanel(currency));
 			incomeDistributionChart = createIncomeDistributionPanel(currency);
 			this.add(new ChartPanel(incomeDistributionChart));
-			this.add(createLorenzCurvePanel(currency));
+			final ChartPanel lorenzCurvePanel = createLorenzCurvePanel(currency);
+			lorenzCurveChart = lorenzCurvePanel.getChart();
+			this.add(lorenzCurvePanel);
 			this.add(createHouseholdBalanceSheetPanel(currency));
 			this.add(createLabourHourSupplyPanel(currency));
 			this.add(createPricingBehaviourMechanicsPanel(currency, GoodType.LABOURHOUR));
@@ -108,27 +113,35 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 				final SummaryStatisticalData summaryStatisticalData = ApplicationContext.getInstance()
 						.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
 								.getSummaryStatisticalData();
-				if (summaryStatisticalData.originalValues != null && summaryStatisticalData.originalValues.length > 0) {
+				if (summaryStatisticalData.numberOfValues > 0) {
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith10PercentY], "10 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith10PercentY), "10 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith20PercentY], "20 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith20PercentY), "20 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith30PercentY], "30 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith30PercentY), "30 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith40PercentY], "40 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith40PercentY), "40 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith50PercentY], "50 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith50PercentY), "50 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith60PercentY], "60 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith60PercentY), "60 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith70PercentY], "70 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith70PercentY), "70 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith80PercentY], "80 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith80PercentY), "80 %");
 					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith90PercentY], "90 %");
+							summaryStatisticalData.getValueAtX(summaryStatisticalData.xWith90PercentY), "90 %");
 				}
 
+				/*
+				 * lorenz curve chart
+				 */
+
+				((XYPlot) lorenzCurveChart.getPlot()).setDataset(ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
+								.getLorenzCurveDataset());
+
 				// prices panel
 				if (priceTimeSeriesPanel == null) {
 					priceTimeSeriesPanel = createPriceTimeSeriesChartPanel(currency);
@@ -189,10 +202,10 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createConsumptionSavingRatePanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionRateModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingRateModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.consumptionRateModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.savingRateModel.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Consumption & Saving Rate", "Date",
 				"Consumption & Saving Rate", timeSeriesCollection, true, true, false);
@@ -203,12 +216,12 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createIncomeConsumptionSavingPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.incomeModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.consumptionModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.savingModel.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Consumption & Saving", "Date",
 				"Consumption & Saving", timeSeriesCollection, true, true, false);
@@ -229,8 +242,9 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 
 		for (final IncomeSource incomeSource : ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.getIndexTypes()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.getTimeSeries(incomeSource));
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).householdsModel.incomeSourceModel
+							.getPeriodDataSink(incomeSource)));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Income Source", "Date", "Income Source",
@@ -242,14 +256,14 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createLabourHourSupplyPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel.getTimeSeries());
-		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-						.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel.getTimeSeries());
-		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-						.getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel
+							.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel
+							.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart(GoodType.LABOURHOUR.toString() + " Supply", "Date",
 				"Capacity & Output", timeSeriesCollection, true, true, false);
@@ -279,7 +293,7 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 
 	protected JFreeChart createPriceTimeSeriesChart(final Currency currency) {
 		return ChartFactory.createCandlestickChart(GoodType.LABOURHOUR + " Prices", "Time",
-				"Price in " + currency.getIso4217Code(), getDefaultHighLowDataset(currency), false);
+				"Price in " + currency.getIso4217Code(), getOHLCDataset(currency), false);
 	}
 
 	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency) {
@@ -292,12 +306,12 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createUtilityFunctionMechanicsPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.budgetModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.budgetModel.getPeriodDataSink()));
 		for (final ConvexFunctionTerminationCause terminationCause : ConvexFunctionTerminationCause.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 					.getNationalEconomyModel(currency).householdsModel.convexFunctionTerminationCauseModels
-							.get(terminationCause).getTimeSeries());
+							.get(terminationCause).getPeriodDataSink()));
 		}
 
 		// budget is correct here
@@ -310,14 +324,15 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createUtilityPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel
+						.getPeriodDataSink()));
 
 		for (final GoodType inputGoodType : ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels.keySet()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 					.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
-							.get(inputGoodType).getTimeSeries());
+							.get(inputGoodType).getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Households Utility", "Date", "Utility",
@@ -329,12 +344,12 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 	protected ChartPanel createWageDividendPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.wageModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.dividendModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.wageModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.dividendModel.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Wage, Dividend & Transfers", "Date",
 				"Wage, Dividend & Transfers", timeSeriesCollection, true, true, false);
@@ -342,7 +357,7 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency) {
+	protected OHLCDataset getOHLCDataset(final Currency currency) {
 		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).pricesModel;
 
@@ -350,8 +365,7 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 		final PriceModel priceModel = priceModelsForGoodType.get(GoodType.LABOURHOUR);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
+			return new PriceModelOHLCDataset(priceModel.getSnapshot());
 		}
 
 		return null;
@@ -34,9 +34,10 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.title.TextTitle;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
+import org.jfree.data.xy.OHLCDataset;
 import org.jfree.data.xy.XYDataset;
 
+import io.github.uwol.compecon.dashboard.model.PriceModelOHLCDataset;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
@@ -189,9 +190,9 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 	protected JFreeChart createCapitalDepreciationChart(final Currency currency, final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection
-				.addSeries(ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-						.getIndustryModel(outputGoodType).capitalDepreciationModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).capitalDepreciationModel
+							.getPeriodDataSink()));
 
 		return ChartFactory.createTimeSeriesChart(outputGoodType.toString() + " Capital Depreciation",
 				"Date", "Capital Depreciation", timeSeriesCollection, true, true, false);
@@ -204,14 +205,17 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 	protected JFreeChart createGoodTypeSupplyChart(final Currency currency, final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).offerModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).soldModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).inventoryModel.getTimeSeries());
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).outputModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).offerModel
+						.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).soldModel
+						.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).inventoryModel
+						.getPeriodDataSink()));
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).outputModel.getPeriodDataSink()));
 
 		return ChartFactory.createTimeSeriesChart(outputGoodType.toString() + " Supply", "Date",
 				"Supply", timeSeriesCollection, true, true, false);
@@ -234,7 +238,7 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 
 	protected JFreeChart createPriceTimeSeriesChart(final Currency currency, final GoodType goodType) {
 		return ChartFactory.createCandlestickChart(goodType + " Prices", "Time",
-				"Price in " + currency.getIso4217Code(), getDefaultHighLowDataset(currency, goodType), false);
+				"Price in " + currency.getIso4217Code(), getOHLCDataset(currency, goodType), false);
 	}
 
 	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency, final GoodType goodType) {
@@ -248,14 +252,14 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 			final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).budgetModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).budgetModel.getPeriodDataSink()));
 		for (final ConvexProductionFunctionTerminationCause terminationCause : ConvexProductionFunctionTerminationCause
 				.values()) {
-			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-							.getIndustryModel(outputGoodType).convexProductionFunctionTerminationCauseModels
-							.get(terminationCause).getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).getIndustryModel(outputGoodType)
+							.convexProductionFunctionTerminationCauseModels
+								.get(terminationCause).getPeriodDataSink()));
 		}
 
 		// budget is correct here, as the chart illustrates budget
@@ -274,13 +278,13 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 	protected JFreeChart createProductionChart(final Currency currency, final GoodType outputGoodType) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).outputModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).outputModel.getPeriodDataSink()));
 		for (final GoodType inputGoodType : ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).inputModels.keySet()) {
-			timeSeriesCollection
-					.addSeries(ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-							.getIndustryModel(outputGoodType).inputModels.get(inputGoodType).getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency).getIndustryModel(outputGoodType).inputModels
+								.get(inputGoodType).getPeriodDataSink()));
 		}
 
 		return ChartFactory.createTimeSeriesChart(outputGoodType.toString() + " Production", "Date",
@@ -294,7 +298,7 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 		return createChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency, final GoodType goodType) {
+	protected OHLCDataset getOHLCDataset(final Currency currency, final GoodType goodType) {
 		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).pricesModel;
 
@@ -302,8 +306,7 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 		final PriceModel priceModel = priceModelsForGoodType.get(goodType);
 
 		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
+			return new PriceModelOHLCDataset(priceModel.getSnapshot());
 		}
 
 		return null;
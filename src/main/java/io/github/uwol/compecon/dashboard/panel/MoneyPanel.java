@@ -49,8 +49,8 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).creditUtilizationRateModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).creditUtilizationRateModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Credit Utilization Rate", "Date",
@@ -63,8 +63,8 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).keyInterestRateModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).keyInterestRateModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Key Interest Rate", "Date", "Key Interest Rate",
@@ -77,8 +77,8 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneyCirculationModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).moneyCirculationModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Money Circulation", "Date", "Money Circulation",
@@ -91,18 +91,18 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneySupplyM0Model.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).moneySupplyM0Model.getPeriodDataSink()));
 		}
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneySupplyM1Model.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).moneySupplyM1Model.getPeriodDataSink()));
 		}
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneySupplyM2Model.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).moneySupplyM2Model.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Money Supply to Non-Banks", "Date", "Money Supply",
@@ -115,8 +115,8 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).moneyVelocityModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).moneyVelocityModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Velocity of Money", "Date", "Velocity of Money",
@@ -129,8 +129,8 @@ public class MoneyPanel extends AbstractChartsPanel implements ModelListener {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
 		for (final Currency currency : Currency.values()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).priceIndexModel.getTimeSeries());
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).priceIndexModel.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Price Index", "Date", "Price Index",
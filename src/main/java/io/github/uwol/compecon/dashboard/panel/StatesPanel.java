@@ -89,8 +89,8 @@ public class StatesPanel extends AbstractChartsPanel implements ModelListener {
 	protected ChartPanel createGovernmentTransfersPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.getPeriodDataSink()));
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("Government Transfers", "Date",
 				"Government Transfers", timeSeriesCollection, true, true, false);
@@ -101,14 +101,14 @@ public class StatesPanel extends AbstractChartsPanel implements ModelListener {
 	protected ChartPanel createUtilityPanel(final Currency currency) {
 		final TimeSeriesCollection timeSeriesCollection = new TimeSeriesCollection();
 
-		timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel.getTimeSeries());
+		timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel.getPeriodDataSink()));
 
 		for (final GoodType inputGoodType : ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels.keySet()) {
-			timeSeriesCollection.addSeries(ApplicationContext.getInstance().getModelRegistry()
+			timeSeriesCollection.addSeries(getTimeSeries(ApplicationContext.getInstance().getModelRegistry()
 					.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels.get(inputGoodType)
-							.getTimeSeries());
+							.getPeriodDataSink()));
 		}
 
 		final JFreeChart chart = ChartFactory.createTimeSeriesChart("State Utility", "Date", "Utility",
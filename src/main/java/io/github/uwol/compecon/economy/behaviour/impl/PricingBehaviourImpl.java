@@ -113,10 +113,6 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	protected double calculateNewPrice() {
 		final double oldPrice = prices_InPeriods[1];
 
-		final String prefix = "offered " + MathUtil.round(offeredAmount_InPeriods[1]) + " units of " + offeredObject
-				+ " for " + Currency.formatMoneySum(prices_InPeriods[1]) + " " + denominatedInCurrency.getIso4217Code()
-				+ " per unit and sold " + MathUtil.round(soldAmount_InPeriods[1]) + " units -> ";
-
 		final double offeredAmountInLastPeriod = offeredAmount_InPeriods[1];
 		final double offeredAmountInPenultimatePeriod = offeredAmount_InPeriods[2];
 
@@ -129,7 +125,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.SOLD_NOTHING,
 					-1.0 * priceChangeIncrement);
 			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent, "%s sold nothing -> lowering price to %s %s", prefix,
+				getLog().log(agent, "%s sold nothing -> lowering price to %s %s", formatPricingPrefix(),
 						Currency.formatMoneySum(newPrice), denominatedInCurrency);
 			}
 			return newPrice;
@@ -142,7 +138,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.SOLD_EVERYTHING,
 					priceChangeIncrement);
 			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent, "%s sold everything -> raising price to %s %s", prefix,
+				getLog().log(agent, "%s sold everything -> raising price to %s %s", formatPricingPrefix(),
 						Currency.formatMoneySum(newPrice), denominatedInCurrency);
 			}
 			return newPrice;
@@ -166,7 +162,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.SOLD_LESS,
 					-1.0 * priceChangeIncrement);
 			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent, "%s sold less (before: %s) -> lowering price to %s %s", prefix,
+				getLog().log(agent, "%s sold less (before: %s) -> lowering price to %s %s", formatPricingPrefix(),
 						MathUtil.round(soldAmountInPenultimatePeriod), Currency.formatMoneySum(newPrice),
 						denominatedInCurrency);
 			}
@@ -191,7 +187,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.SOLD_MORE,
 					priceChangeIncrement);
 			if (getLog().isAgentSelectedByClient(agent)) {
-				getLog().log(agent, "%s sold more (before: %s) -> raising price to %s %s", prefix,
+				getLog().log(agent, "%s sold more (before: %s) -> raising price to %s %s", formatPricingPrefix(),
 						MathUtil.round(soldAmountInPenultimatePeriod), Currency.formatMoneySum(newPrice),
 						denominatedInCurrency);
 			}
@@ -199,8 +195,8 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 		}
 
 		if (getLog().isAgentSelectedByClient(agent)) {
-			getLog().log(agent, "%s newPrice := oldPrice = %s %s", prefix, Currency.formatMoneySum(oldPrice),
-					denominatedInCurrency);
+			getLog().log(agent, "%s newPrice := oldPrice = %s %s", formatPricingPrefix(),
+					Currency.formatMoneySum(oldPrice), denominatedInCurrency);
 		}
 		getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.IMPLICIT_RAISE,
 				ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
@@ -209,6 +205,15 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 		return calculateHigherPriceImplicit(oldPrice);
 	}
 
+	/**
+	 * only called, if the agent is selected by the client
+	 */
+	protected String formatPricingPrefix() {
+		return "offered " + MathUtil.round(offeredAmount_InPeriods[1]) + " units of " + offeredObject + " for "
+				+ Currency.formatMoneySum(prices_InPeriods[1]) + " " + denominatedInCurrency.getIso4217Code()
+				+ " per unit and sold " + MathUtil.round(soldAmount_InPeriods[1]) + " units -> ";
+	}
+
 	@Override
 	public double getCurrentPrice() {
 		return prices_InPeriods[0];
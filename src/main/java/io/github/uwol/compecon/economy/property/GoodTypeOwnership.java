@@ -27,7 +27,21 @@ public interface GoodTypeOwnership {
 
 	public int getId();
 
+	public double getOwnedAmount(final GoodType goodType);
+
+	/**
+	 * @return unmodifiable view on the owned amounts of durable good types, which
+	 *         reflects later changes.
+	 */
+	public Map<GoodType, Double> getOwnedCapitalGoodTypes();
+
+	/**
+	 * @return unmodifiable view on the owned amounts of all good types, which
+	 *         reflects later changes.
+	 */
 	public Map<GoodType, Double> getOwnedGoodTypes();
 
 	public PropertyOwner getPropertyOwner();
+
+	public void setOwnedAmount(final GoodType goodType, final double amount);
 }
@@ -19,9 +19,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.property.impl;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+import javax.persistence.Access;
+import javax.persistence.AccessType;
 import javax.persistence.CollectionTable;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
@@ -33,56 +41,206 @@ import javax.persistence.JoinColumn;
 import javax.persistence.MapKeyEnumerated;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
 import io.github.uwol.compecon.economy.property.PropertyOwner;
 
+/**
+ * The owned amounts are stored in an array indexed by the ordinal of the good
+ * type. Hibernate persists them via a map, which is synchronized with the
+ * array, when it is accessed by Hibernate.
+ */
 @Entity
 @Table(name = "GoodTypeOwnership")
 public class GoodTypeOwnershipImpl implements GoodTypeOwnership {
 
+	/**
+	 * unmodifiable map view on the owned amounts of the given good types
+	 */
+	protected class OwnedGoodTypesMap extends AbstractMap<GoodType, Double> {
+
+		protected final Set<Entry<GoodType, Double>> entrySet = new AbstractSet<Entry<GoodType, Double>>() {
+
+			@Override
+			public Iterator<Entry<GoodType, Double>> iterator() {
+				return new Iterator<Entry<GoodType, Double>>() {
+
+					protected int index = 0;
+
+					@Override
+					public boolean hasNext() {
+						return index < goodTypes.length;
+					}
+
+					@Override
+					public Entry<GoodType, Double> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						final GoodType goodType = goodTypes[index++];
+						return new SimpleImmutableEntry<GoodType, Double>(goodType, getOwnedAmount(goodType));
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return goodTypes.length;
+			}
+		};
+
+		protected final GoodType[] goodTypes;
+
+		protected final boolean[] included = new boolean[GoodType.values().length];
+
+		protected OwnedGoodTypesMap(final GoodType[] goodTypes) {
+			this.goodTypes = goodTypes;
+
+			for (final GoodType goodType : goodTypes) {
+				included[goodType.ordinal()] = true;
+			}
+		}
+
+		@Override
+		public boolean containsKey(final Object key) {
+			return key instanceof GoodType && included[((GoodType) key).ordinal()];
+		}
+
+		@Override
+		public Set<Entry<GoodType, Double>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public Double get(final Object key) {
+			if (!containsKey(key)) {
+				return null;
+			}
+			return getOwnedAmount((GoodType) key);
+		}
+
+		@Override
+		public int size() {
+			return goodTypes.length;
+		}
+	}
+
+	protected static final GoodType[] CAPITAL_GOOD_TYPES = findCapitalGoodTypes();
+
+	protected static GoodType[] findCapitalGoodTypes() {
+		int numberOfCapitalGoodTypes = 0;
+		for (final GoodType goodType : GoodType.values()) {
+			if (goodType.isDurable()) {
+				numberOfCapitalGoodTypes++;
+			}
+		}
+
+		final GoodType[] capitalGoodTypes = new GoodType[numberOfCapitalGoodTypes];
+		int i = 0;
+		for (final GoodType goodType : GoodType.values()) {
+			if (goodType.isDurable()) {
+				capitalGoodTypes[i++] = goodType;
+			}
+		}
+		return capitalGoodTypes;
+	}
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.TABLE)
 	protected int id;
 
-	@ElementCollection
-	@CollectionTable(name = "GoodTypeOwnership_OwnedGoodTypes", joinColumns = @JoinColumn(name = "goodtypeownership_id"))
-	@MapKeyEnumerated(EnumType.STRING)
-	private Map<GoodType, Double> ownedGoodTypes = new HashMap<GoodType, Double>();
+	@Transient
+	protected final double[] ownedAmounts = new double[GoodType.values().length];
+
+	@Transient
+	protected final Map<GoodType, Double> ownedCapitalGoodTypes = new OwnedGoodTypesMap(CAPITAL_GOOD_TYPES);
+
+	@Transient
+	protected final Map<GoodType, Double> ownedGoodTypes = new OwnedGoodTypesMap(GoodType.values());
+
+	/**
+	 * map persisted by Hibernate; the owned amounts are copied from it lazily, as
+	 * it may not be initialized, yet, when set by Hibernate.
+	 */
+	@Transient
+	protected Map<GoodType, Double> persistentOwnedGoodTypes = new EnumMap<GoodType, Double>(GoodType.class);
+
+	@Transient
+	protected boolean persistentOwnedGoodTypesLoaded = true;
 
 	@OneToOne(targetEntity = AgentImpl.class)
 	@JoinColumn(name = "propertyOwner_id", nullable = false)
 	protected PropertyOwner propertyOwner;
 
-	public GoodTypeOwnershipImpl() {
-		for (final GoodType goodType : GoodType.values()) {
-			ownedGoodTypes.put(goodType, 0.0);
-		}
-	}
-
 	@Override
 	public int getId() {
 		return id;
 	}
 
+	@Override
+	public double getOwnedAmount(final GoodType goodType) {
+		loadPersistentOwnedGoodTypes();
+		return ownedAmounts[goodType.ordinal()];
+	}
+
+	@Override
+	public Map<GoodType, Double> getOwnedCapitalGoodTypes() {
+		return ownedCapitalGoodTypes;
+	}
+
 	@Override
 	public Map<GoodType, Double> getOwnedGoodTypes() {
 		return ownedGoodTypes;
 	}
 
+	@Access(AccessType.PROPERTY)
+	@ElementCollection
+	@CollectionTable(name = "GoodTypeOwnership_OwnedGoodTypes", joinColumns = @JoinColumn(name = "goodtypeownership_id"))
+	@MapKeyEnumerated(EnumType.STRING)
+	protected Map<GoodType, Double> getPersistentOwnedGoodTypes() {
+		loadPersistentOwnedGoodTypes();
+
+		for (final GoodType goodType : GoodType.values()) {
+			final double ownedAmount = ownedAmounts[goodType.ordinal()];
+			final Double persistentOwnedAmount = persistentOwnedGoodTypes.get(goodType);
+
+			if (persistentOwnedAmount == null || persistentOwnedAmount != ownedAmount) {
+				persistentOwnedGoodTypes.put(goodType, ownedAmount);
+			}
+		}
+		return persistentOwnedGoodTypes;
+	}
+
 	@Override
 	public PropertyOwner getPropertyOwner() {
 		return propertyOwner;
 	}
 
+	protected void loadPersistentOwnedGoodTypes() {
+		if (!persistentOwnedGoodTypesLoaded) {
+			for (final Entry<GoodType, Double> entry : persistentOwnedGoodTypes.entrySet()) {
+				ownedAmounts[entry.getKey().ordinal()] = entry.getValue();
+			}
+			persistentOwnedGoodTypesLoaded = true;
+		}
+	}
+
 	public void setId(final int id) {
 		this.id = id;
 	}
 
-	public void setOwnedGoodTypes(final Map<GoodType, Double> ownedGoodTypes) {
-		this.ownedGoodTypes = ownedGoodTypes;
+	@Override
+	public void setOwnedAmount(final GoodType goodType, final double amount) {
+		loadPersistentOwnedGoodTypes();
+		ownedAmounts[goodType.ordinal()] = amount;
+	}
+
+	protected void setPersistentOwnedGoodTypes(final Map<GoodType, Double> persistentOwnedGoodTypes) {
+		this.persistentOwnedGoodTypes = persistentOwnedGoodTypes;
+		persistentOwnedGoodTypesLoaded = false;
 	}
 
 	public void setPropertyOwner(final PropertyOwner propertyOwner) {
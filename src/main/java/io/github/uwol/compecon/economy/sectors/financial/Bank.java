@@ -19,6 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.financial;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
@@ -36,4 +39,18 @@ public interface Bank extends Agent, JointStockCompany {
 			final boolean overdraftPossible, final String name, final TermType termType, final MoneyType moneyType);
 
 	public void transferMoney(final BankAccount from, final BankAccount to, final double amount, final String subject);
+
+	/**
+	 * @param subject rendered only, if the transfer is logged for an agent selected
+	 *                by the client.
+	 */
+	public void transferMoney(final BankAccount from, final BankAccount to, final double amount,
+			final Supplier<String> subject);
+
+	/**
+	 * transfers the same amount to each of the given bank accounts; the sender is
+	 * debited once for the sum of all transfers.
+	 */
+	public void transferMoneyInBulk(final BankAccount from, final List<BankAccount> to,
+			final double amountPerBankAccount, final Supplier<String> subject);
 }
@@ -26,6 +26,19 @@ import io.github.uwol.compecon.economy.security.debt.FixedRateBond;
 
 public interface CentralBank extends Bank {
 
+	/**
+	 * records the obligation of the payer for transfers, which have already been
+	 * settled on the customer bank accounts.
+	 */
+	public void addInterbankObligation(final CreditBank payer, final CreditBank payee, final double amount);
+
+	/**
+	 * settles an interbank transfer on the customer bank accounts immediately
+	 * and records the obligation of the credit bank of the sender for the net
+	 * settlement of the credit banks at the end of the hour.
+	 */
+	public void clearInterbankTransfer(final BankAccount from, final BankAccount to, final double amount);
+
 	@Override
 	public void closeCustomerAccount(final BankCustomer customer);
 
@@ -38,4 +51,10 @@ public interface CentralBank extends Bank {
 	public double getReserveRatio();
 
 	public void obtainTender(final BankAccount moneyReservesBankAccount, final List<FixedRateBond> bonds);
+
+	/**
+	 * settles the net positions of the credit bank from interbank clearing,
+	 * before the credit bank is deconstructed.
+	 */
+	public void settleInterbankObligations(final CreditBank creditBank);
 }
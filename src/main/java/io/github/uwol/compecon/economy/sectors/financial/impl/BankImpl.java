@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -263,4 +264,13 @@ public abstract class BankImpl extends JointStockCompanyImpl implements Bank {
 	public void setBankAccountInterestTransactions(final BankAccount bankAccountBondCoupon) {
 		bankAccountInterestTransactions = bankAccountBondCoupon;
 	}
+
+	@Override
+	@Transient
+	public void transferMoneyInBulk(final BankAccount from, final List<BankAccount> to,
+			final double amountPerBankAccount, final Supplier<String> subject) {
+		for (final BankAccount bankAccount : to) {
+			transferMoney(from, bankAccount, amountPerBankAccount, subject);
+		}
+	}
 }
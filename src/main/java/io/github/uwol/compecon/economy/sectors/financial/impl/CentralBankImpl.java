@@ -19,10 +19,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.financial.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -70,28 +72,12 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 			final double monthlyInterestRate = MathUtil.calculateMonthlyNominalInterestRate(effectiveKeyInterestRate);
 			final double dailyInterestRate = monthlyInterestRate / 30.0;
 
-			for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
-					.findAllBankAccountsManagedByBank(CentralBankImpl.this)) {
-				if (bankAccount.getOwner() != CentralBankImpl.this) {
-					assert (CentralBankImpl.this.primaryCurrency.equals(bankAccount.getCurrency()));
-
-					final double dailyInterest = bankAccount.getBalance() * dailyInterestRate;
-
-					// liability account & positive interest rate or asset
-					// account & negative interest rate
-					if (dailyInterest > 0.0) {
-						transferMoneyInternally(CentralBankImpl.this.bankAccountTransactions, bankAccount,
-								dailyInterest);
-					}
-					// asset account & positive interest rate or liability
-					// account & negative interest rate
-					else if (dailyInterest < 0.0) {
-						final double absDailyInterest = -1.0 * dailyInterest;
-						transferMoneyInternally(bankAccount, CentralBankImpl.this.bankAccountTransactions,
-								absDailyInterest);
-					}
-				}
-			}
+			// liability accounts & positive interest rate earn interest, asset
+			// accounts & positive interest rate pay debt interest; internal
+			// transfers of the central bank are not logged
+			interestAccrual.setDailyInterestRate(dailyInterestRate);
+			interestAccrual.accrue(CentralBankImpl.this);
+			interestAccrual.post(CentralBankImpl.this.bankAccountTransactions, false, null, null);
 
 			// profits are transferred to the state, instead of dividends to
 			// share holders etc. (seigniorage)
@@ -105,6 +91,20 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		}
 	}
 
+	public class InterbankSettlementEvent implements TimeSystemEvent {
+		@Override
+		public boolean isDeconstructed() {
+			return CentralBankImpl.this.isDeconstructed;
+		}
+
+		@Override
+		public void onEvent() {
+			// the net position of each pair of credit banks is settled by a
+			// single transfer of central bank money
+			interbankClearing.settle(CentralBankImpl.this::settleInterbankObligation);
+		}
+	}
+
 	public class KeyInterestRateCalculationEvent implements TimeSystemEvent {
 		@Transient
 		protected double calculateEffectiveKeyInterestRate() {
@@ -340,12 +340,26 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	@Column(name = "effectiveKeyInterestRate")
 	protected double effectiveKeyInterestRate;
 
+	@Transient
+	protected final InterbankClearing interbankClearing = new InterbankClearing();
+
+	@Transient
+	protected final InterestAccrual interestAccrual = new InterestAccrual(1.0);
+
 	@Transient
 	protected int NUMBER_OF_MARGINAL_PRICE_SNAPSHOTS_PER_DAY;
 
 	@Transient
 	protected StatisticalOffice statisticalOffice;
 
+	@Override
+	@Transient
+	public void addInterbankObligation(final CreditBank payer, final CreditBank payee, final double amount) {
+		assert (amount >= 0.0);
+
+		interbankClearing.addObligation(payer, payee, amount);
+	}
+
 	@Override
 	@Transient
 	protected void assertCurrencyIsOffered(final Currency currency) {
@@ -385,6 +399,23 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		}
 	}
 
+	@Override
+	@Transient
+	public void clearInterbankTransfer(final BankAccount from, final BankAccount to, final double amount) {
+		assert (amount >= 0.0);
+		assert (primaryCurrency.equals(from.getCurrency()));
+		assert (primaryCurrency.equals(to.getCurrency()));
+		assert (from.getBalance() - amount >= 0.0 || from.getOverdraftPossible());
+
+		final CreditBank payer = (CreditBank) from.getManagingBank();
+		final CreditBank payee = (CreditBank) to.getManagingBank();
+
+		payer.withdraw(from, amount);
+		payee.deposit(to, amount);
+
+		interbankClearing.addObligation(payer, payee, amount);
+	}
+
 	@Override
 	@Transient
 	public void closeCustomerAccount(final BankCustomer customer) {
@@ -400,10 +431,10 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 				if (bankAccountTransactions != null && bankAccount != bankAccountTransactions) {
 					if (bankAccount.getBalance() >= 0) {
 						this.transferMoney(bankAccount, bankAccountTransactions, bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								() -> "evening-up of closed bank account", true);
 					} else {
 						this.transferMoney(bankAccountTransactions, bankAccount, -1.0 * bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								() -> "evening-up of closed bank account", true);
 					}
 				}
 				break;
@@ -412,10 +443,10 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 					if (bankAccount.getBalance() >= 0) {
 						this.transferMoney(bankAccount, bankAccountCentralBankMoney, bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								() -> "evening-up of closed bank account", true);
 					} else {
 						this.transferMoney(bankAccountCentralBankMoney, bankAccount, -1.0 * bankAccount.getBalance(),
-								"evening-up of closed bank account", true);
+								() -> "evening-up of closed bank account", true);
 					}
 				}
 				break;
@@ -475,6 +506,13 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		ApplicationContext.getInstance().getTimeSystem().addEvent(interestCalculationEvent, -1, MonthType.EVERY,
 				DayType.EVERY, HourType.HOUR_01);
 
+		// settle interbank obligations
+		if (ApplicationContext.getInstance().getConfiguration().centralBankConfig.getInterbankClearing()) {
+			final TimeSystemEvent interbankSettlementEvent = new InterbankSettlementEvent();
+			timeSystemEvents.add(interbankSettlementEvent);
+			ApplicationContext.getInstance().getTimeSystem().addEventForEndOfEveryHour(interbankSettlementEvent);
+		}
+
 		// take snapshots of marginal prices multiple times a day
 		// -> market situation differs over the day !!!
 		final TimeSystemEvent recalculateAveragePriceIndexEvent = new MarginalPriceSnapshotEvent();
@@ -581,15 +619,39 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		this.primaryCurrency = primaryCurrency;
 	}
 
+	/**
+	 * transfers the net obligation of the payer between the central bank money
+	 * reserves of the credit banks, so that the money supply is not affected
+	 */
+	@Transient
+	protected void settleInterbankObligation(final CreditBank payer, final CreditBank payee, final double amount) {
+		transferMoney(payer.getBankAccountCentralBankMoneyReservesDelegate().getBankAccount(),
+				payee.getBankAccountCentralBankMoneyReservesDelegate().getBankAccount(), amount,
+				"interbank settlement");
+	}
+
+	@Override
+	@Transient
+	public void settleInterbankObligations(final CreditBank creditBank) {
+		interbankClearing.settle(creditBank, this::settleInterbankObligation);
+	}
+
 	@Override
 	@Transient
 	public void transferMoney(final BankAccount from, final BankAccount to, final double amount, final String subject) {
+		this.transferMoney(from, to, amount, () -> subject, false);
+	}
+
+	@Override
+	@Transient
+	public void transferMoney(final BankAccount from, final BankAccount to, final double amount,
+			final Supplier<String> subject) {
 		this.transferMoney(from, to, amount, subject, false);
 	}
 
 	@Transient
 	protected void transferMoney(final BankAccount from, final BankAccount to, final double amount,
-			final String subject, final boolean negativeAmountOK) {
+			final Supplier<String> subject, final boolean negativeAmountOK) {
 
 		assert (amount >= 0.0 || negativeAmountOK);
 		assert (from != null);
@@ -674,6 +736,48 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		assert (toBalanceBefore + amount == to.getBalance());
 	}
 
+	/**
+	 * debits the bank account at the central bank once and credits the bank
+	 * accounts of the recipients, e. g. for the gross settlement of a bulk
+	 * transfer between credit banks.
+	 */
+	@Override
+	@Transient
+	public void transferMoneyInBulk(final BankAccount from, final List<BankAccount> to,
+			final double amountPerBankAccount, final Supplier<String> subject) {
+		assertBankAccountIsManagedByThisBank(from);
+		assert (amountPerBankAccount >= 0.0);
+
+		final List<BankAccount> bankAccountsAtCreditBanks = new ArrayList<BankAccount>();
+
+		for (final BankAccount bankAccount : to) {
+			assert (from.getCurrency().equals(bankAccount.getCurrency()));
+			assertIdenticalMoneyType(from, bankAccount);
+
+			if (bankAccount.getManagingBank() instanceof CreditBank) {
+				bankAccountsAtCreditBanks.add(bankAccount);
+			}
+		}
+
+		final double amount = bankAccountsAtCreditBanks.size() * amountPerBankAccount;
+		assert (from.getBalance() - amount >= 0.0 || from.getOverdraftPossible());
+
+		// one debit ...
+		from.withdraw(amount);
+
+		// ... many credits by the credit banks of the recipients
+		for (final BankAccount bankAccount : bankAccountsAtCreditBanks) {
+			((CreditBank) bankAccount.getManagingBank()).deposit(bankAccount, amountPerBankAccount);
+		}
+
+		// bank accounts at the central bank
+		for (final BankAccount bankAccount : to) {
+			if (!(bankAccount.getManagingBank() instanceof CreditBank) && bankAccount != from) {
+				transferMoney(from, bankAccount, amountPerBankAccount, subject);
+			}
+		}
+	}
+
 	@Transient
 	private void transferMoneyInternally(final BankAccount from, final BankAccount to, final double amount) {
 		assertBankAccountIsManagedByThisBank(from);
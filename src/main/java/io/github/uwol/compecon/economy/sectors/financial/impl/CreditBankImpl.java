@@ -21,9 +21,11 @@ package io.github.uwol.compecon.economy.sectors.financial.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -41,6 +43,7 @@ import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
@@ -294,22 +297,20 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 		 */
 		private double calculateCalculatoryPriceOfFirstCurrencyInSecondCurrency(final Currency firstCurrency,
 				final Currency secondCurrency) {
-			// e.g. USD_in_EUR = 0.8
-			final double priceOfFirstCurrencyInSecondCurrency = ApplicationContext.getInstance().getMarketService()
-					.getMarginalMarketPrice(secondCurrency, firstCurrency);
-			// e.g. EUR_in_USD = 0.8
-			final double priceOfSecondCurrencyInFirstCurrency = ApplicationContext.getInstance().getMarketService()
-					.getMarginalMarketPrice(firstCurrency, secondCurrency);
-
-			if (Double.isNaN(priceOfSecondCurrencyInFirstCurrency)) {
-				return priceOfFirstCurrencyInSecondCurrency;
-			} else if (Double.isNaN(priceOfFirstCurrencyInSecondCurrency)) {
-				return Double.NaN;
-			} else {
-				// inverse_EUR_in_USD -> correct_USD_in_EUR = 1.25
-				final double correctPriceOfFirstCurrencyInSecondCurrency = 1.0 / priceOfSecondCurrencyInFirstCurrency;
+			// e.g. inverse_EUR_in_USD -> correct_USD_in_EUR = 1.25
+			final double correctPriceOfFirstCurrencyInSecondCurrency = ApplicationContext.getInstance()
+					.getMarketService().getCalculatoryMarketPrice(secondCurrency, firstCurrency);
 
-				if (getLog().isAgentSelectedByClient(CreditBankImpl.this)) {
+			if (getLog().isAgentSelectedByClient(CreditBankImpl.this)) {
+				// e.g. USD_in_EUR = 0.8
+				final double priceOfFirstCurrencyInSecondCurrency = ApplicationContext.getInstance()
+						.getMarketService().getMarginalMarketPrice(secondCurrency, firstCurrency);
+				// e.g. EUR_in_USD = 0.8
+				final double priceOfSecondCurrencyInFirstCurrency = ApplicationContext.getInstance()
+						.getMarketService().getMarginalMarketPrice(firstCurrency, secondCurrency);
+
+				if (!Double.isNaN(priceOfFirstCurrencyInSecondCurrency)
+						&& !Double.isNaN(priceOfSecondCurrencyInFirstCurrency)) {
 					getLog().log(CreditBankImpl.this, CurrencyTradeEvent.class,
 							"on markets 1 %s = %s %s -> correct price of 1 %s = %s %s; on markets 1 %s = %s %s",
 							secondCurrency, Currency.formatMoneySum(priceOfSecondCurrencyInFirstCurrency),
@@ -318,9 +319,9 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 							firstCurrency, Currency.formatMoneySum(priceOfFirstCurrencyInSecondCurrency),
 							secondCurrency);
 				}
-
-				return correctPriceOfFirstCurrencyInSecondCurrency;
 			}
+
+			return correctPriceOfFirstCurrencyInSecondCurrency;
 		}
 
 		private double calculateLocalCurrencyBudgetForCurrencyTrading() {
@@ -502,29 +503,12 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 							.findCentralBank(CreditBankImpl.this.primaryCurrency).getEffectiveKeyInterestRate());
 			final double dailyInterestRate = monthlyInterestRate / 30.0;
 
-			for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
-					.findAllBankAccountsManagedByBank(CreditBankImpl.this)) {
-				if (bankAccount.getOwner() != CreditBankImpl.this) {
-					assert (CreditBankImpl.this.primaryCurrency.equals(bankAccount.getCurrency()));
-
-					final double dailyInterest = bankAccount.getBalance() * dailyInterestRate;
-
-					// liability account & positive interest rate or asset
-					// account & negative interest rate
-					if (dailyInterest > 0.0) {
-						transferMoney(CreditBankImpl.this.bankAccountInterestTransactions, bankAccount, dailyInterest,
-								"interest earned for customer");
-					}
-					// asset account & positive interest rate or liability
-					// account & negative interest rate
-					else if (dailyInterest < 0.0) {
-						// credit banks add margin on key interest rate
-						final double absMarginDailyInterest = -1.0 * dailyInterest * 1.5;
-						transferMoney(bankAccount, CreditBankImpl.this.bankAccountInterestTransactions,
-								absMarginDailyInterest, "debt interest from customer");
-					}
-				}
-			}
+			// liability accounts & positive interest rate earn interest, asset
+			// accounts & positive interest rate pay debt interest
+			interestAccrual.setDailyInterestRate(dailyInterestRate);
+			interestAccrual.accrue(CreditBankImpl.this);
+			interestAccrual.post(CreditBankImpl.this.bankAccountInterestTransactions, true,
+					() -> "interest earned for customer", () -> "debt interest from customer");
 		}
 	}
 
@@ -580,6 +564,12 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 	@Transient
 	protected Map<Currency, BankAccountDelegate> bankAccountsCurrencyTradeDelegate = new HashMap<Currency, BankAccountDelegate>();
 
+	/**
+	 * credit banks add a margin on the key interest rate for debt interest
+	 */
+	@Transient
+	protected final InterestAccrual interestAccrual = new InterestAccrual(1.5);
+
 	@Transient
 	protected Map<Currency, PricingBehaviour> localCurrencyPricingBehaviours = new HashMap<Currency, PricingBehaviour>();
 
@@ -709,6 +699,12 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 	@Override
 	@Transient
 	public void deconstruct() {
+		// settle interbank obligations, while the bank accounts are open
+		if (ApplicationContext.getInstance().getConfiguration().centralBankConfig.getInterbankClearing()) {
+			ApplicationContext.getInstance().getAgentService().findCentralBank(primaryCurrency)
+					.settleInterbankObligations(this);
+		}
+
 		super.deconstruct();
 
 		ApplicationContext.getInstance().getCreditBankFactory().deleteCreditBank(this);
@@ -951,6 +947,13 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 	@Override
 	@Transient
 	public void transferMoney(final BankAccount from, final BankAccount to, final double amount, final String subject) {
+		transferMoney(from, to, amount, () -> subject);
+	}
+
+	@Override
+	@Transient
+	public void transferMoney(final BankAccount from, final BankAccount to, final double amount,
+			final Supplier<String> subject) {
 		assert (!isDeconstructed);
 
 		assureBankAccountCentralBankTransactions();
@@ -963,8 +966,6 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 
 		assertIdenticalMoneyType(from, to);
 
-		assert (MathUtil.equal(bankAccountCentralBankTransactions.getBalance(), 0.0));
-
 		// no Exception for identical bank accounts, as this correctly
 		// might happen in case of bonds etc.
 		if (from != to) {
@@ -982,20 +983,131 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 				final CentralBank centralBank = ApplicationContext.getInstance().getAgentService()
 						.findCentralBank(from.getCurrency());
 
-				// transfer money to central bank account of this bank
-				centralBank.transferMoney(from, bankAccountCentralBankTransactions, amount, subject);
+				if (to.getManagingBank() instanceof CreditBank && ApplicationContext.getInstance()
+						.getConfiguration().centralBankConfig.getInterbankClearing()) {
+					// settle customer bank accounts immediately, the net positions
+					// of the credit banks are settled at the central bank hourly
+					centralBank.clearInterbankTransfer(from, to, amount);
+				} else {
+					final double balanceBefore = bankAccountCentralBankTransactions.getBalance();
+
+					// transfer money to central bank account of this bank
+					centralBank.transferMoney(from, bankAccountCentralBankTransactions, amount, subject);
 
-				// transfer money from central bank account of this bank to bank
-				// account at target bank
-				centralBank.transferMoney(bankAccountCentralBankTransactions, to, amount, subject);
+					// transfer money from central bank account of this bank to
+					// bank account at target bank
+					centralBank.transferMoney(bankAccountCentralBankTransactions, to, amount, subject);
+
+					assert (MathUtil.equal(bankAccountCentralBankTransactions.getBalance(), balanceBefore));
+				}
 			}
 
-			assert (MathUtil.equal(bankAccountCentralBankTransactions.getBalance(), 0.0));
 			assert (fromBalanceBefore - amount == from.getBalance());
 			assert (toBalanceBefore + amount == to.getBalance());
 		}
 	}
 
+	@Override
+	@Transient
+	public void transferMoneyInBulk(final BankAccount from, final List<BankAccount> to,
+			final double amountPerBankAccount, final Supplier<String> subject) {
+		assert (!isDeconstructed);
+
+		assureBankAccountCentralBankTransactions();
+		assertIsCustomerOfThisBank(from.getOwner());
+		assertBankAccountIsManagedByThisBank(from);
+
+		assert (amountPerBankAccount >= 0.0);
+
+		// group the recipients by their managing bank; the sender itself is
+		// skipped
+		final List<BankAccount> bankAccountsAtThisBank = new ArrayList<BankAccount>();
+		final Map<CreditBank, List<BankAccount>> bankAccountsAtOtherCreditBanks = new LinkedHashMap<CreditBank, List<BankAccount>>();
+		final List<BankAccount> bankAccountsAtOtherBanks = new ArrayList<BankAccount>();
+		final List<BankAccount> bankAccountsAtCreditBanks = new ArrayList<BankAccount>();
+
+		for (final BankAccount bankAccount : to) {
+			assert (from.getCurrency().equals(bankAccount.getCurrency()));
+			assertIdenticalMoneyType(from, bankAccount);
+
+			final Bank managingBank = bankAccount.getManagingBank();
+
+			if (bankAccount == from) {
+				continue;
+			} else if (managingBank == this) {
+				bankAccountsAtThisBank.add(bankAccount);
+				bankAccountsAtCreditBanks.add(bankAccount);
+			} else if (managingBank instanceof CreditBank) {
+				bankAccountsAtOtherCreditBanks.computeIfAbsent((CreditBank) managingBank,
+						creditBank -> new ArrayList<BankAccount>()).add(bankAccount);
+				bankAccountsAtCreditBanks.add(bankAccount);
+			} else {
+				bankAccountsAtOtherBanks.add(bankAccount);
+			}
+		}
+
+		final double amountAtThisBank = bankAccountsAtThisBank.size() * amountPerBankAccount;
+		final double amountAtOtherCreditBanks = (bankAccountsAtCreditBanks.size() - bankAccountsAtThisBank.size())
+				* amountPerBankAccount;
+		assert (from.getBalance() >= amountAtThisBank + amountAtOtherCreditBanks
+				+ bankAccountsAtOtherBanks.size() * amountPerBankAccount || from.getOverdraftPossible());
+
+		getLog().bank_onBulkTransfer(from, bankAccountsAtCreditBanks, from.getCurrency(), amountPerBankAccount,
+				subject);
+
+		final CentralBank centralBank = ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(from.getCurrency());
+
+		if (ApplicationContext.getInstance().getConfiguration().centralBankConfig.getInterbankClearing()) {
+			// one debit ...
+			from.withdraw(amountAtThisBank + amountAtOtherCreditBanks);
+
+			// ... many credits
+			for (final BankAccount bankAccount : bankAccountsAtThisBank) {
+				bankAccount.deposit(amountPerBankAccount);
+			}
+
+			// one interbank obligation per credit bank of the recipients
+			for (final Entry<CreditBank, List<BankAccount>> entry : bankAccountsAtOtherCreditBanks.entrySet()) {
+				for (final BankAccount bankAccount : entry.getValue()) {
+					entry.getKey().deposit(bankAccount, amountPerBankAccount);
+				}
+
+				centralBank.addInterbankObligation(this, entry.getKey(),
+						entry.getValue().size() * amountPerBankAccount);
+			}
+		} else {
+			// one debit ...
+			from.withdraw(amountAtThisBank);
+
+			// ... many credits
+			for (final BankAccount bankAccount : bankAccountsAtThisBank) {
+				bankAccount.deposit(amountPerBankAccount);
+			}
+
+			if (!bankAccountsAtOtherCreditBanks.isEmpty()) {
+				final double balanceBefore = bankAccountCentralBankTransactions.getBalance();
+
+				// transfer money to central bank account of this bank
+				centralBank.transferMoney(from, bankAccountCentralBankTransactions, amountAtOtherCreditBanks,
+						subject);
+
+				// one gross transfer per credit bank of the recipients
+				for (final List<BankAccount> bankAccounts : bankAccountsAtOtherCreditBanks.values()) {
+					centralBank.transferMoneyInBulk(bankAccountCentralBankTransactions, bankAccounts,
+							amountPerBankAccount, subject);
+				}
+
+				assert (MathUtil.equal(bankAccountCentralBankTransactions.getBalance(), balanceBefore));
+			}
+		}
+
+		// recipients at other banks than credit banks
+		for (final BankAccount bankAccount : bankAccountsAtOtherBanks) {
+			transferMoney(from, bankAccount, amountPerBankAccount, subject);
+		}
+	}
+
 	@Override
 	@Transient
 	public void withdraw(final BankAccount bankAccount, final double amount) {
@@ -0,0 +1,151 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.sectors.financial.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+import io.github.uwol.compecon.math.util.MathUtil;
+
+/**
+ * Records the obligations between credit banks arising from interbank
+ * transfers, whose customer bank accounts have already been settled, and nets
+ * them per pair of credit banks for settlement by the central bank.
+ */
+public class InterbankClearing {
+
+	public interface Settlement {
+		public void settle(final CreditBank payer, final CreditBank payee, final double amount);
+	}
+
+	protected CreditBank[] creditBanks = new CreditBank[0];
+
+	protected final Map<CreditBank, Integer> indicesOfCreditBanks = new HashMap<CreditBank, Integer>();
+
+	/**
+	 * obligations[i][j] is the sum owed by credit bank i to credit bank j
+	 */
+	protected double[][] obligations = new double[0][0];
+
+	public synchronized void addObligation(final CreditBank payer, final CreditBank payee, final double amount) {
+		assert (amount >= 0.0);
+		assert (payer != payee);
+
+		final int i = getIndex(payer);
+		final int j = getIndex(payee);
+		obligations[i][j] += amount;
+	}
+
+	protected int getIndex(final CreditBank creditBank) {
+		final Integer index = indicesOfCreditBanks.get(creditBank);
+
+		if (index != null) {
+			return index;
+		}
+
+		final int newIndex = creditBanks.length;
+		creditBanks = Arrays.copyOf(creditBanks, newIndex + 1);
+		creditBanks[newIndex] = creditBank;
+		indicesOfCreditBanks.put(creditBank, newIndex);
+
+		final double[][] newObligations = new double[newIndex + 1][newIndex + 1];
+		for (int i = 0; i < newIndex; i++) {
+			System.arraycopy(obligations[i], 0, newObligations[i], 0, newIndex);
+		}
+		obligations = newObligations;
+
+		return newIndex;
+	}
+
+	/**
+	 * net obligation of the payer to the payee, which is negative if the payee
+	 * owes the payer
+	 */
+	public synchronized double getNetObligation(final CreditBank payer, final CreditBank payee) {
+		final Integer i = indicesOfCreditBanks.get(payer);
+		final Integer j = indicesOfCreditBanks.get(payee);
+
+		if (i == null || j == null) {
+			return 0.0;
+		}
+		return obligations[i][j] - obligations[j][i];
+	}
+
+	/**
+	 * nets the obligations of each pair of credit banks and settles the net
+	 * positions; deconstructed credit banks have been settled on deconstruction
+	 * and are removed from clearing.
+	 */
+	public synchronized void settle(final Settlement settlement) {
+		for (int i = 0; i < creditBanks.length; i++) {
+			for (int j = i + 1; j < creditBanks.length; j++) {
+				if (creditBanks[i].isDeconstructed() || creditBanks[j].isDeconstructed()) {
+					// no money must be lost in the monetary system
+					assert (MathUtil.equal(obligations[i][j] - obligations[j][i], 0.0));
+					obligations[i][j] = 0.0;
+					obligations[j][i] = 0.0;
+				} else {
+					settle(i, j, settlement);
+				}
+			}
+		}
+
+		for (final CreditBank creditBank : creditBanks) {
+			if (creditBank.isDeconstructed()) {
+				creditBanks = new CreditBank[0];
+				indicesOfCreditBanks.clear();
+				obligations = new double[0][0];
+				break;
+			}
+		}
+	}
+
+	/**
+	 * settles the net positions of the given credit bank to all other credit
+	 * banks, e. g. before the credit bank is deconstructed.
+	 */
+	public synchronized void settle(final CreditBank creditBank, final Settlement settlement) {
+		final Integer i = indicesOfCreditBanks.get(creditBank);
+
+		if (i == null) {
+			return;
+		}
+
+		for (int j = 0; j < creditBanks.length; j++) {
+			if (j != i) {
+				settle(i, j, settlement);
+			}
+		}
+	}
+
+	protected void settle(final int i, final int j, final Settlement settlement) {
+		final double netObligation = obligations[i][j] - obligations[j][i];
+		obligations[i][j] = 0.0;
+		obligations[j][i] = 0.0;
+
+		if (netObligation > 0.0) {
+			settlement.settle(creditBanks[i], creditBanks[j], netObligation);
+		} else if (netObligation < 0.0) {
+			settlement.settle(creditBanks[j], creditBanks[i], -1.0 * netObligation);
+		}
+	}
+}
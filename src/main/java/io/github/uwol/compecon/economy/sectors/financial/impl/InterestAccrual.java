@@ -0,0 +1,161 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.economy.sectors.financial.impl;
+
+import java.util.function.Supplier;
+
+import io.github.uwol.compecon.economy.sectors.financial.Bank;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+/**
+ * Accrues daily interest on all customer bank accounts of a bank in one pass
+ * over parallel primitive arrays, and books the net interest on the interest
+ * bank account of the bank at once.
+ */
+public class InterestAccrual {
+
+	protected static final int NUMBER_OF_RATE_CLASSES = MoneyType.values().length * TermType.values().length;
+
+	protected static int getRateClass(final MoneyType moneyType, final TermType termType) {
+		return moneyType.ordinal() * TermType.values().length + termType.ordinal();
+	}
+
+	protected double[] accruals = new double[0];
+
+	protected BankAccount[] bankAccounts = new BankAccount[0];
+
+	protected final double[] dailyInterestRates = new double[NUMBER_OF_RATE_CLASSES];
+
+	/**
+	 * factor applied to debt interest, i.e. the margin a bank adds on the
+	 * interest rate
+	 */
+	protected final double debtInterestFactor;
+
+	protected int numberOfBankAccounts;
+
+	protected int[] rateClasses = new int[0];
+
+	public InterestAccrual(final double debtInterestFactor) {
+		this.debtInterestFactor = debtInterestFactor;
+	}
+
+	/**
+	 * calculates the daily interest of all bank accounts managed by the bank and
+	 * not owned by it; positive accruals are interest earned by the customer,
+	 * negative accruals are debt interest paid by the customer.
+	 */
+	public void accrue(final Bank bank) {
+		bankAccounts = ApplicationContext.getInstance().getBankAccountDAO().findAllBankAccountsManagedByBank(bank,
+				bankAccounts);
+
+		numberOfBankAccounts = 0;
+
+		while (numberOfBankAccounts < bankAccounts.length && bankAccounts[numberOfBankAccounts] != null) {
+			numberOfBankAccounts++;
+		}
+
+		if (accruals.length < bankAccounts.length) {
+			accruals = new double[bankAccounts.length];
+			rateClasses = new int[bankAccounts.length];
+		}
+
+		for (int i = 0; i < numberOfBankAccounts; i++) {
+			final BankAccount bankAccount = bankAccounts[i];
+
+			if (bankAccount.getOwner() == bank) {
+				rateClasses[i] = -1;
+				accruals[i] = 0.0;
+			} else {
+				assert (bank.getPrimaryCurrency().equals(bankAccount.getCurrency()));
+
+				rateClasses[i] = getRateClass(bankAccount.getMoneyType(), bankAccount.getTermType());
+				accruals[i] = bankAccount.getBalance();
+			}
+		}
+
+		for (int i = 0; i < numberOfBankAccounts; i++) {
+			if (rateClasses[i] != -1) {
+				final double dailyInterest = accruals[i] * dailyInterestRates[rateClasses[i]];
+				accruals[i] = dailyInterest < 0.0 ? dailyInterest * debtInterestFactor : dailyInterest;
+			}
+		}
+	}
+
+	/**
+	 * books the accruals on the customer bank accounts and their sum on the
+	 * interest bank account of the bank. If logged, the transfers are reported
+	 * to the log per customer bank account, as regular transfers would be.
+	 */
+	public void post(final BankAccount bankAccountInterest, final boolean logged,
+			final Supplier<String> interestEarnedSubject, final Supplier<String> debtInterestSubject) {
+		double interestEarned = 0.0;
+		double debtInterest = 0.0;
+
+		for (int i = 0; i < numberOfBankAccounts; i++) {
+			final BankAccount bankAccount = bankAccounts[i];
+			final double accrual = accruals[i];
+
+			if (accrual > 0.0) {
+				bankAccount.deposit(accrual);
+				interestEarned += accrual;
+
+				if (logged) {
+					ApplicationContext.getInstance().getLog().bank_onTransfer(bankAccountInterest, bankAccount,
+							bankAccount.getCurrency(), accrual, interestEarnedSubject);
+				}
+			} else if (accrual < 0.0) {
+				bankAccount.withdraw(-1.0 * accrual);
+				debtInterest -= accrual;
+
+				if (logged) {
+					ApplicationContext.getInstance().getLog().bank_onTransfer(bankAccount, bankAccountInterest,
+							bankAccount.getCurrency(), -1.0 * accrual, debtInterestSubject);
+				}
+			}
+
+			// release references to accounts, which might be deleted until
+			// the next accrual
+			bankAccounts[i] = null;
+		}
+
+		numberOfBankAccounts = 0;
+
+		if (debtInterest > interestEarned) {
+			bankAccountInterest.deposit(debtInterest - interestEarned);
+		} else if (interestEarned > debtInterest) {
+			bankAccountInterest.withdraw(interestEarned - debtInterest);
+		}
+	}
+
+	public void setDailyInterestRate(final double dailyInterestRate) {
+		for (int i = 0; i < NUMBER_OF_RATE_CLASSES; i++) {
+			dailyInterestRates[i] = dailyInterestRate;
+		}
+	}
+
+	public void setDailyInterestRate(final MoneyType moneyType, final TermType termType,
+			final double dailyInterestRate) {
+		dailyInterestRates[getRateClass(moneyType, termType)] = dailyInterestRate;
+	}
+}
@@ -47,6 +47,7 @@ import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
@@ -62,7 +63,7 @@ import io.github.uwol.compecon.math.utility.UtilityFunction;
 @Entity
 public class HouseholdImpl extends AgentImpl implements Household {
 
-	public class DailyLifeEvent implements TimeSystemEvent {
+	public class DailyLifeEvent implements NationalEconomyTimeSystemEvent {
 
 		private double buyGoods(final Map<GoodType, Double> goodsToBuy,
 				final Map<GoodType, PriceFunction> priceFunctions, final double budget) {
@@ -137,7 +138,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			 */
 			if (daysWithoutUtility > DAYS_WITHOUT_UTILITY_UNTIL_DESTRUCTOR) {
 				if (!ApplicationContext.getInstance().getTimeSystem().isInitializationPhase()) {
-					deconstruct();
+					deconstructSerially();
 				}
 			}
 		}
@@ -153,8 +154,9 @@ public class HouseholdImpl extends AgentImpl implements Household {
 				if ((ageInDays - NEW_HOUSEHOLD_FROM_X_DAYS)
 						% ApplicationContext.getInstance().getConfiguration().householdConfig
 								.getNewHouseholdEveryXDays() == 0) {
-					ApplicationContext.getInstance().getHouseholdFactory()
-							.newInstanceHousehold(HouseholdImpl.this.primaryCurrency, 0);
+					ApplicationContext.getInstance().getTimeSystem()
+							.executeSerially(() -> ApplicationContext.getInstance().getHouseholdFactory()
+									.newInstanceHousehold(HouseholdImpl.this.primaryCurrency, 0));
 				}
 			}
 		}
@@ -212,6 +214,23 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			return utility;
 		}
 
+		/**
+		 * deconstruction transfers property to agents of other national economies,
+		 * hence has to be executed serially
+		 */
+		protected void deconstructSerially() {
+			ApplicationContext.getInstance().getTimeSystem().executeSerially(() -> {
+				if (!HouseholdImpl.this.isDeconstructed) {
+					deconstruct();
+				}
+			});
+		}
+
+		@Override
+		public Currency getCurrency() {
+			return HouseholdImpl.this.primaryCurrency;
+		}
+
 		@Override
 		public boolean isDeconstructed() {
 			return HouseholdImpl.this.isDeconstructed;
@@ -257,7 +276,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			 * potentially call destructor
 			 */
 			if (ageInDays > ApplicationContext.getInstance().getConfiguration().householdConfig.getLifespanInDays()) {
-				deconstruct();
+				deconstructSerially();
 				return;
 			}
 
@@ -36,6 +36,7 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.security.equity.impl.JointStockCompanyImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
@@ -50,7 +51,7 @@ import io.github.uwol.compecon.math.util.MathUtil;
 @Entity
 public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 
-	public class ProductionEvent implements TimeSystemEvent {
+	public class ProductionEvent implements NationalEconomyTimeSystemEvent {
 
 		protected void buyOptimalProductionFactorsForBudget(final double budget) {
 			if (MathUtil.greater(budget, 0.0)) {
@@ -150,6 +151,11 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 			}
 		}
 
+		@Override
+		public Currency getCurrency() {
+			return FactoryImpl.this.primaryCurrency;
+		}
+
 		@Override
 		public boolean isDeconstructed() {
 			return FactoryImpl.this.isDeconstructed;
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.sectors.state.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Entity;
@@ -78,17 +79,21 @@ public class StateImpl extends AgentImpl implements State {
 
 				if (households.size() > 0) {
 					final double budgetPerHousehold = budget / households.size();
+					final List<BankAccount> householdBankAccounts = new ArrayList<BankAccount>(households.size());
 
 					for (final Household household : households) {
 						assert (!household.isDeconstructed());
 
-						final BankAccount householdBankAccount = household.getBankAccountGovernmentTransfersDelegate()
-								.getBankAccount();
+						householdBankAccounts
+								.add(household.getBankAccountGovernmentTransfersDelegate().getBankAccount());
+					}
 
-						StateImpl.this.bankAccountTransactions.getManagingBank().transferMoney(
-								StateImpl.this.bankAccountTransactions, householdBankAccount, budgetPerHousehold,
-								"government transfer");
+					StateImpl.this.bankAccountTransactions.getManagingBank().transferMoneyInBulk(
+							StateImpl.this.bankAccountTransactions, householdBankAccounts, budgetPerHousehold,
+							() -> "government transfer");
 
+					// income accounting of each household
+					for (final Household household : households) {
 						household.getBankAccountGovernmentTransfersDelegate().onTransfer(budgetPerHousehold);
 					}
 				}
@@ -222,7 +227,7 @@ public class StateImpl extends AgentImpl implements State {
 		// transfer money
 		buyerBankAccountDelegate.getBankAccount().getManagingBank().transferMoney(
 				buyerBankAccountDelegate.getBankAccount(), bankAccountTransactions, faceValue,
-				"payment for " + fixedRateBond);
+				() -> "payment for " + fixedRateBond);
 
 		// transfer bond
 		ApplicationContext.getInstance().getPropertyService().transferProperty(fixedRateBond, this, buyer);
@@ -68,6 +68,8 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 					TraderImpl.this.bankAccountTransactions.getBalance(), TraderImpl.this.referenceCredit);
 
 			final double budgetPerForeignCurrencyInLocalCurrency = budget / numberOfForeignCurrencies;
+			final double arbitrageMargin = ApplicationContext.getInstance().getConfiguration().traderConfig
+					.getArbitrageMargin();
 
 			if (MathUtil.greater(budgetPerForeignCurrencyInLocalCurrency, 0.0)) {
 				/*
@@ -94,6 +96,19 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 								// e.g. CAR_in_EUR = 10
 								final double priceOfGoodTypeInLocalCurrency = ApplicationContext.getInstance()
 										.getMarketService().getMarginalMarketPrice(localCurrency, goodType);
+
+								/*
+								 * the import prices are shared by all traders and only recalculated, when the
+								 * markets change, so that unprofitable import routes are skipped without
+								 * looking up their prices
+								 */
+								if (!getLog().isAgentSelectedByClient(TraderImpl.this) && !MathUtil.greater(
+										priceOfGoodTypeInLocalCurrency / (1.0 + arbitrageMargin),
+										ApplicationContext.getInstance().getMarketService()
+												.getMarginalImportPrice(localCurrency, foreignCurrency, goodType))) {
+									continue;
+								}
+
 								// e.g. CAR_in_USD = 11
 								final double priceOfGoodTypeInForeignCurrency = ApplicationContext.getInstance()
 										.getMarketService().getMarginalMarketPrice(foreignCurrency, goodType);
@@ -122,10 +137,7 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 									final double importPriceOfGoodTypeInLocalCurrency = priceOfGoodTypeInForeignCurrency
 											* priceOfForeignCurrencyInLocalCurrency;
 
-									if (MathUtil.greater(
-											priceOfGoodTypeInLocalCurrency / (1.0
-													+ ApplicationContext.getInstance().getConfiguration().traderConfig
-															.getArbitrageMargin()),
+									if (MathUtil.greater(priceOfGoodTypeInLocalCurrency / (1.0 + arbitrageMargin),
 											importPriceOfGoodTypeInLocalCurrency)) {
 
 										if (getLog().isAgentSelectedByClient(TraderImpl.this)) {
@@ -41,6 +41,7 @@ import io.github.uwol.compecon.engine.factory.FixedRateBondFactory;
 import io.github.uwol.compecon.engine.factory.GoodTypeOwnershipFactory;
 import io.github.uwol.compecon.engine.factory.HouseholdFactory;
 import io.github.uwol.compecon.engine.factory.MarketOrderFactory;
+import io.github.uwol.compecon.engine.factory.PeriodDataSinkFactory;
 import io.github.uwol.compecon.engine.factory.PricingBehaviourFactory;
 import io.github.uwol.compecon.engine.factory.ShareFactory;
 import io.github.uwol.compecon.engine.factory.StateFactory;
@@ -55,13 +56,43 @@ import io.github.uwol.compecon.engine.service.SettlementMarketService;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 
+/**
+ * Holds the components of a simulation. By default, there is one application
+ * context per JVM; for running several independent simulations concurrently in
+ * one JVM, each simulation thread binds its own application context via
+ * {@link #bindNewInstance()}, which is then returned by
+ * {@link #getInstance()} in this thread.
+ */
 public class ApplicationContext {
 
 	protected static ApplicationContext instance;
 
+	protected static final ThreadLocal<ApplicationContext> threadBoundInstances = new ThreadLocal<ApplicationContext>();
+
+	/**
+	 * binds the given application context to the current thread.
+	 */
+	public static void bindInstance(final ApplicationContext applicationContext) {
+		threadBoundInstances.set(applicationContext);
+	}
+
+	/**
+	 * binds a new application context to the current thread.
+	 */
+	public static ApplicationContext bindNewInstance() {
+		final ApplicationContext applicationContext = new ApplicationContext();
+		bindInstance(applicationContext);
+		return applicationContext;
+	}
+
 	// DAOs
 
 	public static ApplicationContext getInstance() {
+		final ApplicationContext threadBoundInstance = threadBoundInstances.get();
+		if (threadBoundInstance != null) {
+			return threadBoundInstance;
+		}
+
 		if (instance == null) {
 			instance = new ApplicationContext();
 		}
@@ -72,6 +103,13 @@ public class ApplicationContext {
 		ApplicationContext.instance = instance;
 	}
 
+	/**
+	 * unbinds the application context from the current thread.
+	 */
+	public static void unbindInstance() {
+		threadBoundInstances.remove();
+	}
+
 	protected AgentFactory agentFactory;
 
 	protected AgentService agentService;
@@ -120,6 +158,8 @@ public class ApplicationContext {
 
 	protected ModelRegistry modelRegistry;
 
+	protected PeriodDataSinkFactory periodDataSinkFactory;
+
 	protected PricingBehaviourFactory pricingBehaviourFactory;
 
 	protected PropertyDAO propertyDAO;
@@ -138,6 +178,11 @@ public class ApplicationContext {
 
 	protected StateFactory stateFactory;
 
+	/**
+	 * random number generators of threads, which execute events in parallel
+	 */
+	protected final ThreadLocal<RandomNumberGenerator> threadBoundRandomNumberGenerators = new ThreadLocal<RandomNumberGenerator>();
+
 	protected TimeSystem timeSystem;
 
 	protected TraderDAO traderDAO;
@@ -148,6 +193,14 @@ public class ApplicationContext {
 		super();
 	}
 
+	/**
+	 * binds a random number generator to the current thread, which overrides the
+	 * random number generator of this application context for this thread.
+	 */
+	public void bindRandomNumberGenerator(final RandomNumberGenerator randomNumberGenerator) {
+		threadBoundRandomNumberGenerators.set(randomNumberGenerator);
+	}
+
 	public AgentFactory getAgentFactory() {
 		return agentFactory;
 	}
@@ -244,6 +297,10 @@ public class ApplicationContext {
 		return modelRegistry;
 	}
 
+	public PeriodDataSinkFactory getPeriodDataSinkFactory() {
+		return periodDataSinkFactory;
+	}
+
 	public PricingBehaviourFactory getPricingBehaviourFactory() {
 		return pricingBehaviourFactory;
 	}
@@ -257,6 +314,10 @@ public class ApplicationContext {
 	}
 
 	public RandomNumberGenerator getRandomNumberGenerator() {
+		final RandomNumberGenerator threadBoundRandomNumberGenerator = threadBoundRandomNumberGenerators.get();
+		if (threadBoundRandomNumberGenerator != null) {
+			return threadBoundRandomNumberGenerator;
+		}
 		return randomNumberGenerator;
 	}
 
@@ -293,9 +354,18 @@ public class ApplicationContext {
 	}
 
 	public void reset() {
-		instance = null;
+		if (timeSystem != null) {
+			timeSystem.shutdown();
+		}
 
-		System.gc();
+		if (threadBoundInstances.get() == this) {
+			// the current thread keeps a scope of its own
+			threadBoundInstances.set(new ApplicationContext());
+		} else {
+			instance = null;
+
+			System.gc();
+		}
 	}
 
 	public void setAgentFactory(final AgentFactory agentFactory) {
@@ -394,6 +464,10 @@ public class ApplicationContext {
 		this.modelRegistry = modelRegistry;
 	}
 
+	public void setPeriodDataSinkFactory(final PeriodDataSinkFactory periodDataSinkFactory) {
+		this.periodDataSinkFactory = periodDataSinkFactory;
+	}
+
 	public void setPricingBehaviourFactory(final PricingBehaviourFactory pricingBehaviourFactory) {
 		this.pricingBehaviourFactory = pricingBehaviourFactory;
 	}
@@ -441,4 +515,8 @@ public class ApplicationContext {
 	public void setTraderFactory(final TraderFactory traderFactory) {
 		this.traderFactory = traderFactory;
 	}
+
+	public void unbindRandomNumberGenerator() {
+		threadBoundRandomNumberGenerators.remove();
+	}
 }
@@ -38,8 +38,10 @@ import io.github.uwol.compecon.engine.factory.impl.GoodTypeOwnershipImplFactoryI
 import io.github.uwol.compecon.engine.factory.impl.HouseholdImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.MarketOrderImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.PricingBehaviourFactoryImpl;
+import io.github.uwol.compecon.engine.factory.impl.RingBufferPeriodDataSinkFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.ShareImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.StateImplFactoryImpl;
+import io.github.uwol.compecon.engine.factory.impl.TimeSeriesPeriodDataSinkFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.TraderImplFactoryImpl;
 import io.github.uwol.compecon.engine.log.impl.LogImpl;
 import io.github.uwol.compecon.engine.random.impl.DeterministicNumberGeneratorImpl;
@@ -85,6 +87,17 @@ public class ApplicationContextFactory {
 				.setTraderDAO(new io.github.uwol.compecon.engine.dao.hibernate.impl.TraderDAOImpl());
 	}
 
+	/**
+	 * Replaces the model registry by one, whose time series models record into
+	 * JFreeChart time series, as displayed by the dashboard. Headless runs keep
+	 * the primitive ring buffers.
+	 */
+	public static void configureDashboardModelRegistry() {
+		ApplicationContext.getInstance().setPeriodDataSinkFactory(new TimeSeriesPeriodDataSinkFactoryImpl());
+		ApplicationContext.getInstance()
+				.setModelRegistry(new ModelRegistry(ApplicationContext.getInstance().getInputOutputModel()));
+	}
+
 	/**
 	 * Configures the application context with in-memory DAOs.
 	 */
@@ -117,6 +130,19 @@ public class ApplicationContextFactory {
 				.setTraderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.TraderDAOImpl());
 	}
 
+	/**
+	 * Configures the application context with in-memory DAOs, storing market
+	 * orders in primitive-array order books.
+	 */
+	public static void configureInMemoryOrderBookApplicationContext(final String configurationPropertiesFilename)
+			throws IOException {
+
+		configureInMemoryApplicationContext(configurationPropertiesFilename);
+
+		ApplicationContext.getInstance()
+				.setMarketOrderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderBookDAOImpl());
+	}
+
 	protected static void configureMinimalApplicationContext(final String configurationPropertiesFilename)
 			throws IOException {
 		// reset application context
@@ -138,6 +164,7 @@ public class ApplicationContextFactory {
 		ApplicationContext.getInstance().setGoodTypeOwnershipFactory(new GoodTypeOwnershipImplFactoryImpl());
 		ApplicationContext.getInstance().setHouseholdFactory(new HouseholdImplFactoryImpl());
 		ApplicationContext.getInstance().setMarketOrderFactory(new MarketOrderImplFactoryImpl());
+		ApplicationContext.getInstance().setPeriodDataSinkFactory(new RingBufferPeriodDataSinkFactoryImpl());
 		ApplicationContext.getInstance().setPricingBehaviourFactory(new PricingBehaviourFactoryImpl());
 		ApplicationContext.getInstance().setShareFactory(new ShareImplFactoryImpl());
 		ApplicationContext.getInstance().setStateFactory(new StateImplFactoryImpl());
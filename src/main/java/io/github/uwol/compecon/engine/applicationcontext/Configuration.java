@@ -20,13 +20,17 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.applicationcontext;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionSolver;
 
 public class Configuration {
 
@@ -92,6 +96,12 @@ public class Configuration {
 
 		public Double inflationTarget;
 
+		/**
+		 * whether interbank transfers are netted per pair of credit banks and
+		 * settled hourly instead of one by one
+		 */
+		public Boolean interbankClearing;
+
 		public Double maxEffectiveKeyInterestRate;
 
 		public Double minEffectiveKeyInterestRate;
@@ -119,6 +129,13 @@ public class Configuration {
 			return inflationTarget;
 		}
 
+		public boolean getInterbankClearing() {
+			if (interbankClearing == null) {
+				interbankClearing = Boolean.parseBoolean(configFile.getProperty("centralBank.interbankClearing"));
+			}
+			return interbankClearing;
+		}
+
 		public double getMaxEffectiveKeyInterestRate() {
 			if (maxEffectiveKeyInterestRate == null) {
 				maxEffectiveKeyInterestRate = Double
@@ -202,8 +219,27 @@ public class Configuration {
 	}
 
 	public class DashboardConfig {
+		/**
+		 * number of bins summarizing the income distribution of a period, which
+		 * bounds the error of its quantiles and Lorenz curve
+		 */
+		public Integer incomeDistributionNumberOfBins;
+
 		public Integer logNumberOfAgentsLogSize;
 
+		/**
+		 * number of daily price bars kept for candlestick charts and price exports
+		 */
+		public Integer pricesNumberOfDays;
+
+		public int getIncomeDistributionNumberOfBins() {
+			if (incomeDistributionNumberOfBins == null) {
+				incomeDistributionNumberOfBins = Integer
+						.parseInt(configFile.getProperty("dashboard.incomeDistribution.numberOfBins"));
+			}
+			return incomeDistributionNumberOfBins;
+		}
+
 		public int getLogNumberOfAgentsLogSize() {
 			if (logNumberOfAgentsLogSize == null) {
 				logNumberOfAgentsLogSize = Integer
@@ -211,6 +247,13 @@ public class Configuration {
 			}
 			return logNumberOfAgentsLogSize;
 		}
+
+		public int getPricesNumberOfDays() {
+			if (pricesNumberOfDays == null) {
+				pricesNumberOfDays = Integer.parseInt(configFile.getProperty("dashboard.prices.numberOfDays"));
+			}
+			return pricesNumberOfDays;
+		}
 	}
 
 	public class FactoryConfig {
@@ -392,10 +435,20 @@ public class Configuration {
 
 	public class MathConfig {
 
+		public ConvexFunctionSolver convexFunctionSolver;
+
 		public Double initializationValueForInputFactorsNonZero;
 
 		public Integer numberOfIterations;
 
+		public ConvexFunctionSolver getConvexFunctionSolver() {
+			if (convexFunctionSolver == null) {
+				convexFunctionSolver = ConvexFunctionSolver
+						.valueOf(configFile.getProperty("math.convexFunctionSolver"));
+			}
+			return convexFunctionSolver;
+		}
+
 		public double getInitializationValue() {
 			if (initializationValueForInputFactorsNonZero == null) {
 				initializationValueForInputFactorsNonZero = Double
@@ -481,6 +534,19 @@ public class Configuration {
 
 		public Integer initializationPhaseInDays;
 
+		/**
+		 * number of threads executing the events of an hour; events of different
+		 * national economies are executed in parallel, if greater than 1
+		 */
+		public Integer numberOfThreads;
+
+		/**
+		 * whether the events of an hour are partitioned by national economy;
+		 * implied by more than one thread. With one thread, the partitions are
+		 * executed one after another with the same results as in parallel.
+		 */
+		public Boolean partitionedExecution;
+
 		public int getInitializationPhaseInDays() {
 			if (initializationPhaseInDays == null) {
 				initializationPhaseInDays = Integer
@@ -488,6 +554,21 @@ public class Configuration {
 			}
 			return initializationPhaseInDays;
 		}
+
+		public int getNumberOfThreads() {
+			if (numberOfThreads == null) {
+				numberOfThreads = Integer.parseInt(configFile.getProperty("timeSystem.numberOfThreads"));
+			}
+			return numberOfThreads;
+		}
+
+		public boolean getPartitionedExecution() {
+			if (partitionedExecution == null) {
+				partitionedExecution = Boolean
+						.parseBoolean(configFile.getProperty("timeSystem.partitionedExecution"));
+			}
+			return partitionedExecution || getNumberOfThreads() > 1;
+		}
 	}
 
 	public class TraderConfig {
@@ -526,7 +607,18 @@ public class Configuration {
 
 	public final CentralBankConfig centralBankConfig = new CentralBankConfig();
 
-	protected final Properties configFile = new Properties();
+	/**
+	 * records the keys read, as the config objects cache their values
+	 */
+	@SuppressWarnings("serial")
+	protected final Properties configFile = new Properties() {
+
+		@Override
+		public String getProperty(final String key) {
+			readKeys.add(key);
+			return super.getProperty(key);
+		}
+	};
 
 	public final CreditBankConfig creditBankConfig = new CreditBankConfig();
 
@@ -544,6 +636,8 @@ public class Configuration {
 
 	public final PricingBehaviourConfig pricingBehaviourConfig = new PricingBehaviourConfig();
 
+	protected final Set<String> readKeys = Collections.synchronizedSet(new HashSet<String>());
+
 	public final StateConfig stateConfig = new StateConfig();
 
 	public final TimeSystemConfig timeSystemConfig = new TimeSystemConfig();
@@ -554,4 +648,21 @@ public class Configuration {
 		System.out.println("loading configuration file " + configFilename);
 		configFile.load(Configuration.class.getClassLoader().getResourceAsStream(configFilename));
 	}
+
+	/**
+	 * overrides a property of the configuration file, e. g. for a parameter
+	 * sweep; has to be called before the property is read.
+	 *
+	 * @throws IllegalStateException if the property has already been read, as
+	 *                               its value is cached
+	 */
+	public void setProperty(final String key, final String value) {
+		if (!configFile.containsKey(key)) {
+			throw new IllegalArgumentException("unknown configuration property " + key);
+		}
+		if (readKeys.contains(key)) {
+			throw new IllegalStateException("configuration property " + key + " has already been read");
+		}
+		configFile.setProperty(key, value);
+	}
 }
@@ -50,5 +50,11 @@ public interface BankAccountDAO extends GenericDAO<BankAccount> {
 
 	public List<BankAccount> findAllBankAccountsManagedByBank(final Bank managingBank);
 
+	/**
+	 * Fills the given array with the bank accounts managed by the bank, if it is
+	 * large enough, analogous to {@link java.util.Collection#toArray(Object[])}.
+	 */
+	public BankAccount[] findAllBankAccountsManagedByBank(final Bank managingBank, final BankAccount[] bankAccounts);
+
 	public List<BankAccount> findAllBankAccountsOfAgent(final BankCustomer owner);
 }
@@ -29,6 +29,12 @@ import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
 public interface MarketOrderDAO extends GenericDAO<MarketOrder> {
 
+	/**
+	 * Decrements the amount of the market order, e. g. after a partial
+	 * settlement, so that the DAO can keep its indexes in sync.
+	 */
+	public void decrementAmount(final MarketOrder marketOrder, final double amount);
+
 	/**
 	 * WARNING: Should only be called from the market order factory, which ensures a
 	 * subsequent Hibernate flush.
@@ -64,12 +70,38 @@ public interface MarketOrderDAO extends GenericDAO<MarketOrder> {
 	public void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
 			final GoodType goodType);
 
+	/**
+	 * @return the average price per unit for buying the given amount, starting
+	 *         with the lowest price, or NaN if the amount is not offered
+	 *         completely.
+	 */
+	public double findAveragePrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount);
+
+	/**
+	 * @see #findAveragePrice(Currency, Currency, double)
+	 */
+	public double findAveragePrice(final Currency currency, final GoodType goodType, final double atAmount);
+
 	public double findMarginalPrice(final Currency currency, final Class<? extends Property> propertyClass);
 
 	public double findMarginalPrice(final Currency currency, final Currency commodityCurrency);
 
+	/**
+	 * @return the price per unit of the market order, which is reached when buying
+	 *         the given amount starting with the lowest price, or NaN if the
+	 *         amount is not offered completely.
+	 */
+	public double findMarginalPrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount);
+
 	public double findMarginalPrice(final Currency currency, final GoodType goodType);
 
+	/**
+	 * @see #findMarginalPrice(Currency, Currency, double)
+	 */
+	public double findMarginalPrice(final Currency currency, final GoodType goodType, final double atAmount);
+
 	public double getAmountSum(final Currency currency, final Currency commodityCurrency);
 
 	public double getAmountSum(final Currency currency, final GoodType goodType);
@@ -83,4 +115,15 @@ public interface MarketOrderDAO extends GenericDAO<MarketOrder> {
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final Currency commodityCurrency);
 
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType);
+
+	/**
+	 * @return a number, which changes whenever a market order of the given market
+	 *         is saved, deleted or its amount is decremented.
+	 */
+	public long getVersion(final Currency currency, final Currency commodityCurrency);
+
+	/**
+	 * @see #getVersion(Currency, Currency)
+	 */
+	public long getVersion(final Currency currency, final GoodType goodType);
 }
\ No newline at end of file
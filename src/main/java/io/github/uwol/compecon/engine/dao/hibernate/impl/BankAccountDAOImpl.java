@@ -67,6 +67,12 @@ public class BankAccountDAOImpl extends HibernateDAOImpl<BankAccount> implements
 		return getSession().createQuery(hql).setEntity("managingBank", managingBank).list();
 	}
 
+	@Override
+	public BankAccount[] findAllBankAccountsManagedByBank(final Bank managingBank,
+			final BankAccount[] bankAccounts) {
+		return findAllBankAccountsManagedByBank(managingBank).toArray(bankAccounts);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<BankAccount> findAllBankAccountsOfAgent(final BankCustomer owner) {
@@ -31,9 +31,28 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.math.util.MathUtil;
 
 public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements MarketOrderDAO {
 
+	/**
+	 * markets are not versioned individually in the database; hence, any change
+	 * of a market order changes the version of all markets.
+	 */
+	protected long version = 0;
+
+	@Override
+	public void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		marketOrder.decrementAmount(amount);
+		version++;
+	}
+
+	@Override
+	public void delete(final MarketOrder marketOrder) {
+		super.delete(marketOrder);
+		version++;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void deleteAllSellingOrders(final MarketParticipant offeror) {
@@ -84,6 +103,35 @@ public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements
 		}
 	}
 
+	@Override
+	public double findAveragePrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		return findAveragePrice(this.getIterator(currency, commodityCurrency), atAmount);
+	}
+
+	@Override
+	public double findAveragePrice(final Currency currency, final GoodType goodType, final double atAmount) {
+		return findAveragePrice(this.getIterator(currency, goodType), atAmount);
+	}
+
+	private double findAveragePrice(final Iterator<MarketOrder> iterator, final double atAmount) {
+		if (MathUtil.equal(atAmount, 0.0)) {
+			return findMarginalPrice(iterator, atAmount);
+		}
+
+		double amountSum = 0.0;
+		double priceTimesAmountSum = 0.0;
+		while (iterator.hasNext()) {
+			final MarketOrder marketOrder = iterator.next();
+			if (amountSum + marketOrder.getAmount() >= atAmount) {
+				return (priceTimesAmountSum + (atAmount - amountSum) * marketOrder.getPricePerUnit()) / atAmount;
+			}
+			amountSum += marketOrder.getAmount();
+			priceTimesAmountSum += marketOrder.getPricePerUnit() * marketOrder.getAmount();
+		}
+		return Double.NaN;
+	}
+
 	@Override
 	public double findMarginalPrice(final Currency currency, final Class<? extends Property> propertyClass) {
 		final String hql = "SELECT m.pricePerUnit FROM MarketOrderImpl m "
@@ -126,6 +174,29 @@ public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements
 		return (double) marginalPrice;
 	}
 
+	@Override
+	public double findMarginalPrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		return findMarginalPrice(this.getIterator(currency, commodityCurrency), atAmount);
+	}
+
+	@Override
+	public double findMarginalPrice(final Currency currency, final GoodType goodType, final double atAmount) {
+		return findMarginalPrice(this.getIterator(currency, goodType), atAmount);
+	}
+
+	private double findMarginalPrice(final Iterator<MarketOrder> iterator, final double atAmount) {
+		double amountSum = 0.0;
+		while (iterator.hasNext()) {
+			final MarketOrder marketOrder = iterator.next();
+			if (amountSum + marketOrder.getAmount() >= atAmount) {
+				return marketOrder.getPricePerUnit();
+			}
+			amountSum += marketOrder.getAmount();
+		}
+		return Double.NaN;
+	}
+
 	@Override
 	public double getAmountSum(final Currency currency, final Currency commodityCurrency) {
 		final String queryString = "SUM(m.pricePerUnit * m.amount) FROM MarketOrderImpl m "
@@ -191,4 +262,26 @@ public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType) {
 		return this.getIterator(currency, goodType);
 	}
+
+	@Override
+	public long getVersion(final Currency currency, final Currency commodityCurrency) {
+		return version;
+	}
+
+	@Override
+	public long getVersion(final Currency currency, final GoodType goodType) {
+		return version;
+	}
+
+	@Override
+	public void merge(final MarketOrder marketOrder) {
+		super.merge(marketOrder);
+		version++;
+	}
+
+	@Override
+	public void save(final MarketOrder marketOrder) {
+		super.save(marketOrder);
+		version++;
+	}
 }
\ No newline at end of file
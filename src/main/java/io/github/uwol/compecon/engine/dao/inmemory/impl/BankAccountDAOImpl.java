@@ -114,6 +114,14 @@ public class BankAccountDAOImpl extends AbstractIndexedInMemoryDAOImpl<BankCusto
 		return new ArrayList<BankAccount>(bankAccountManagedByBank);
 	}
 
+	@Override
+	public synchronized BankAccount[] findAllBankAccountsManagedByBank(final Bank managingBank,
+			final BankAccount[] bankAccounts) {
+		assureInitializedDataStructure(managingBank);
+
+		return this.bankAccounts.get(managingBank).toArray(bankAccounts);
+	}
+
 	@Override
 	public synchronized List<BankAccount> findAllBankAccountsOfAgent(final BankCustomer owner) {
 		final List<BankAccount> bankAccounts = getInstancesForKey(owner);
@@ -0,0 +1,318 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.markets.MarketParticipant;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+
+/**
+ * In-memory market order DAO, which stores each (currency, commodity) market in
+ * a {@link MarketOrderBookImpl} instead of a {@link java.util.TreeSet}. Order
+ * books for currencies and good types are indexed by enum ordinals.
+ */
+public class MarketOrderBookDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketParticipant, MarketOrder>
+		implements MarketOrderDAO {
+
+	protected final MarketOrderBookImpl[][] marketOrderBooksForCurrencies = new MarketOrderBookImpl[Currency
+			.values().length][Currency.values().length];
+
+	protected final MarketOrderBookImpl[][] marketOrderBooksForGoodTypes = new MarketOrderBookImpl[Currency
+			.values().length][GoodType.values().length];
+
+	protected final Map<Currency, Map<Class<? extends Property>, MarketOrderBookImpl>> marketOrderBooksForPropertyClasses = new HashMap<Currency, Map<Class<? extends Property>, MarketOrderBookImpl>>();
+
+	/*
+	 * helpers
+	 */
+
+	private List<MarketOrder> findMarketOrders(final MarketParticipant offeror, final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>();
+		final List<MarketOrder> marketOrdersForOfferor = getInstancesForKey(offeror);
+		if (marketOrdersForOfferor != null) {
+			for (final MarketOrder marketOrder : marketOrdersForOfferor) {
+				if (currency.equals(marketOrder.getCurrency()) && marketOrder.getProperty() != null
+						&& propertyClass.equals(marketOrder.getProperty().getClass())) {
+					marketOrders.add(marketOrder);
+				}
+			}
+		}
+		return marketOrders;
+	}
+
+	private List<MarketOrder> findMarketOrders(final MarketParticipant offeror, final Currency currency,
+			final Currency commodityCurrency) {
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>();
+		final List<MarketOrder> marketOrdersForOfferor = getInstancesForKey(offeror);
+		if (marketOrdersForOfferor != null) {
+			for (final MarketOrder marketOrder : marketOrdersForOfferor) {
+				if (currency.equals(marketOrder.getCurrency())
+						&& commodityCurrency.equals(marketOrder.getCommodityCurrency())) {
+					marketOrders.add(marketOrder);
+				}
+			}
+		}
+		return marketOrders;
+	}
+
+	private List<MarketOrder> findMarketOrders(final MarketParticipant offeror, final Currency currency,
+			final GoodType goodType) {
+		final List<MarketOrder> marketOrders = new ArrayList<MarketOrder>();
+		final List<MarketOrder> marketOrdersForOfferor = getInstancesForKey(offeror);
+		if (marketOrdersForOfferor != null) {
+			for (final MarketOrder marketOrder : marketOrdersForOfferor) {
+				if (currency.equals(marketOrder.getCurrency()) && goodType.equals(marketOrder.getGoodType())) {
+					marketOrders.add(marketOrder);
+				}
+			}
+		}
+		return marketOrders;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected Class<? extends Property> getIndexInterface(final Class<? extends Property> propertyClass) {
+		/*
+		 * the property object should be stored in the DAO with the first interface as
+		 * the key; e. g. a property object of class ShareImpl should be stored in the
+		 * order book indexed by interface Share
+		 */
+		if (propertyClass.isInterface()) {
+			return propertyClass;
+		} else {
+			final Class<?>[] interfacesOfPropertyClass = propertyClass.getInterfaces();
+			assert (interfacesOfPropertyClass.length > 0);
+			return (Class<? extends Property>) interfacesOfPropertyClass[0];
+		}
+	}
+
+	protected MarketOrderBookImpl getMarketOrderBook(final Currency currency,
+			final Class<? extends Property> propertyIndexInterface) {
+		Map<Class<? extends Property>, MarketOrderBookImpl> marketOrderBooksForCurrency = marketOrderBooksForPropertyClasses
+				.get(currency);
+		if (marketOrderBooksForCurrency == null) {
+			marketOrderBooksForCurrency = new HashMap<Class<? extends Property>, MarketOrderBookImpl>();
+			marketOrderBooksForPropertyClasses.put(currency, marketOrderBooksForCurrency);
+		}
+
+		MarketOrderBookImpl marketOrderBook = marketOrderBooksForCurrency.get(propertyIndexInterface);
+		if (marketOrderBook == null) {
+			marketOrderBook = new MarketOrderBookImpl();
+			marketOrderBooksForCurrency.put(propertyIndexInterface, marketOrderBook);
+		}
+		return marketOrderBook;
+	}
+
+	protected MarketOrderBookImpl getMarketOrderBook(final Currency currency, final Currency commodityCurrency) {
+		MarketOrderBookImpl marketOrderBook = marketOrderBooksForCurrencies[currency
+				.ordinal()][commodityCurrency.ordinal()];
+		if (marketOrderBook == null) {
+			marketOrderBook = new MarketOrderBookImpl();
+			marketOrderBooksForCurrencies[currency.ordinal()][commodityCurrency.ordinal()] = marketOrderBook;
+		}
+		return marketOrderBook;
+	}
+
+	protected MarketOrderBookImpl getMarketOrderBook(final Currency currency, final GoodType goodType) {
+		MarketOrderBookImpl marketOrderBook = marketOrderBooksForGoodTypes[currency.ordinal()][goodType.ordinal()];
+		if (marketOrderBook == null) {
+			marketOrderBook = new MarketOrderBookImpl();
+			marketOrderBooksForGoodTypes[currency.ordinal()][goodType.ordinal()] = marketOrderBook;
+		}
+		return marketOrderBook;
+	}
+
+	protected MarketOrderBookImpl getMarketOrderBook(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getGoodType());
+		}
+		if (marketOrder.getCommodityCurrency() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(), marketOrder.getCommodityCurrency());
+		}
+		if (marketOrder.getProperty() != null) {
+			return getMarketOrderBook(marketOrder.getCurrency(),
+					getIndexInterface(marketOrder.getProperty().getClass()));
+		}
+		return null;
+	}
+
+	/*
+	 * actions
+	 */
+
+	@Override
+	public synchronized void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		final MarketOrderBookImpl marketOrderBook = getMarketOrderBook(marketOrder);
+		if (marketOrderBook != null) {
+			marketOrderBook.decrementAmount(marketOrder, amount);
+		}
+		marketOrder.decrementAmount(amount);
+	}
+
+	@Override
+	public synchronized void delete(final MarketOrder marketOrder) {
+		final MarketOrderBookImpl marketOrderBook = getMarketOrderBook(marketOrder);
+		if (marketOrderBook != null) {
+			marketOrderBook.remove(marketOrder);
+		}
+
+		super.delete(marketOrder);
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror) {
+		final List<MarketOrder> marketOrdersForOfferor = getInstancesForKey(offeror);
+		if (marketOrdersForOfferor != null) {
+			for (final MarketOrder marketOrder : new ArrayList<MarketOrder>(marketOrdersForOfferor)) {
+				delete(marketOrder);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		for (final MarketOrder marketOrder : findMarketOrders(offeror, currency, propertyClass)) {
+			delete(marketOrder);
+		}
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final Currency commodityCurrency) {
+		for (final MarketOrder marketOrder : findMarketOrders(offeror, currency, commodityCurrency)) {
+			delete(marketOrder);
+		}
+	}
+
+	@Override
+	public synchronized void deleteAllSellingOrders(final MarketParticipant offeror, final Currency currency,
+			final GoodType goodType) {
+		for (final MarketOrder marketOrder : findMarketOrders(offeror, currency, goodType)) {
+			delete(marketOrder);
+		}
+	}
+
+	@Override
+	public synchronized double findAveragePrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		return getMarketOrderBook(currency, commodityCurrency).getAveragePrice(atAmount);
+	}
+
+	@Override
+	public synchronized double findAveragePrice(final Currency currency, final GoodType goodType,
+			final double atAmount) {
+		return getMarketOrderBook(currency, goodType).getAveragePrice(atAmount);
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		return getMarketOrderBook(currency, getIndexInterface(propertyClass)).getBestPrice();
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).getBestPrice();
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		return getMarketOrderBook(currency, commodityCurrency).getMarginalPrice(atAmount);
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).getBestPrice();
+	}
+
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final GoodType goodType,
+			final double atAmount) {
+		return getMarketOrderBook(currency, goodType).getMarginalPrice(atAmount);
+	}
+
+	@Override
+	public synchronized double getAmountSum(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).getAmountSum();
+	}
+
+	@Override
+	public synchronized double getAmountSum(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).getAmountSum();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency,
+			final Class<? extends Property> propertyClass) {
+		return getMarketOrderBook(currency, getIndexInterface(propertyClass)).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIterator(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency,
+			final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).toList().iterator();
+	}
+
+	@Override
+	public synchronized Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).toList().iterator();
+	}
+
+	@Override
+	public synchronized long getVersion(final Currency currency, final Currency commodityCurrency) {
+		return getMarketOrderBook(currency, commodityCurrency).getVersion();
+	}
+
+	@Override
+	public synchronized long getVersion(final Currency currency, final GoodType goodType) {
+		return getMarketOrderBook(currency, goodType).getVersion();
+	}
+
+	@Override
+	public synchronized void save(final MarketOrder marketOrder) {
+		final MarketOrderBookImpl marketOrderBook = getMarketOrderBook(marketOrder);
+		if (marketOrderBook != null) {
+			marketOrderBook.add(marketOrder);
+		}
+
+		super.save(marketOrder.getOfferor(), marketOrder);
+	}
+}
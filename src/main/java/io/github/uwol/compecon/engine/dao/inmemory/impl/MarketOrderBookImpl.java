@@ -0,0 +1,547 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.inmemory.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.math.util.MathUtil;
+
+/**
+ * Order book for one (currency, commodity) market. Market orders are stored in
+ * primitive columns (price, amount, order id) and ordered by a treap keyed on
+ * price per unit and order id, which is the same order as
+ * {@link io.github.uwol.compecon.economy.markets.impl.MarketOrderImpl#compareTo(MarketOrder)}.
+ * Insert and remove are O(log n), the best price is O(1). <br />
+ * <br />
+ * Each node of the treap aggregates amount, notional (price times amount) and
+ * number of market orders of its subtree. These prefix sums over the price
+ * levels are updated on add, remove and decrementAmount, so that market depth
+ * is O(1) and marginal and average prices at a given amount are O(log n).
+ * <br />
+ * Treap priorities are derived from the order id, so that the shape of the
+ * tree does not depend on the random number generator of the simulation.
+ */
+public class MarketOrderBookImpl {
+
+	protected static final int INITIAL_CAPACITY = 16;
+
+	protected static final int NIL = -1;
+
+	protected double[] amounts = new double[INITIAL_CAPACITY];
+
+	/**
+	 * head of the list of free slots, which is chained via {@link #rights}
+	 */
+	protected int freeSlot = NIL;
+
+	protected int[] lefts = new int[INITIAL_CAPACITY];
+
+	protected MarketOrder[] marketOrders = new MarketOrder[INITIAL_CAPACITY];
+
+	/**
+	 * slot of the market order with the lowest price per unit
+	 */
+	protected int minSlot = NIL;
+
+	/**
+	 * incremented on each structural modification
+	 */
+	protected int modificationCount = 0;
+
+	protected int numberOfUsedSlots = 0;
+
+	protected int[] orderIds = new int[INITIAL_CAPACITY];
+
+	protected double[] prices = new double[INITIAL_CAPACITY];
+
+	protected int[] priorities = new int[INITIAL_CAPACITY];
+
+	protected int[] rights = new int[INITIAL_CAPACITY];
+
+	protected int root = NIL;
+
+	protected double[] subtreeAmounts = new double[INITIAL_CAPACITY];
+
+	protected int[] subtreeCounts = new int[INITIAL_CAPACITY];
+
+	protected double[] subtreeNotionals = new double[INITIAL_CAPACITY];
+
+	/**
+	 * incremented on any change of the order book, including decremented amounts
+	 */
+	protected long version = 0;
+
+	/*
+	 * treap
+	 */
+
+	protected int allocateSlot() {
+		if (freeSlot != NIL) {
+			final int slot = freeSlot;
+			freeSlot = rights[slot];
+			return slot;
+		}
+
+		if (numberOfUsedSlots == prices.length) {
+			final int capacity = prices.length * 2;
+			amounts = Arrays.copyOf(amounts, capacity);
+			lefts = Arrays.copyOf(lefts, capacity);
+			marketOrders = Arrays.copyOf(marketOrders, capacity);
+			orderIds = Arrays.copyOf(orderIds, capacity);
+			prices = Arrays.copyOf(prices, capacity);
+			priorities = Arrays.copyOf(priorities, capacity);
+			rights = Arrays.copyOf(rights, capacity);
+			subtreeAmounts = Arrays.copyOf(subtreeAmounts, capacity);
+			subtreeCounts = Arrays.copyOf(subtreeCounts, capacity);
+			subtreeNotionals = Arrays.copyOf(subtreeNotionals, capacity);
+		}
+
+		return numberOfUsedSlots++;
+	}
+
+	/**
+	 * compares the key (price, orderId) with the key of the given slot.
+	 */
+	protected int compare(final double price, final int orderId, final int slot) {
+		if (price > prices[slot]) {
+			return 1;
+		}
+		if (price < prices[slot]) {
+			return -1;
+		}
+		return Integer.compare(orderId, orderIds[slot]);
+	}
+
+	/**
+	 * @return the slot of the market order with the given key, or NIL.
+	 */
+	protected int find(final double price, final int orderId) {
+		int node = root;
+		while (node != NIL) {
+			final int comparison = compare(price, orderId, node);
+			if (comparison == 0) {
+				return node;
+			}
+			node = comparison < 0 ? lefts[node] : rights[node];
+		}
+		return NIL;
+	}
+
+	protected void freeSlot(final int slot) {
+		marketOrders[slot] = null;
+		lefts[slot] = NIL;
+		rights[slot] = freeSlot;
+		freeSlot = slot;
+	}
+
+	/**
+	 * @return the slot of the first market order with a key greater than the
+	 *         given key, or NIL.
+	 */
+	protected int higher(final double price, final int orderId) {
+		int node = root;
+		int result = NIL;
+		while (node != NIL) {
+			if (compare(price, orderId, node) < 0) {
+				result = node;
+				node = lefts[node];
+			} else {
+				node = rights[node];
+			}
+		}
+		return result;
+	}
+
+	protected int insert(final int node, final int slot) {
+		if (node == NIL) {
+			return slot;
+		}
+
+		if (compare(prices[slot], orderIds[slot], node) < 0) {
+			lefts[node] = insert(lefts[node], slot);
+			if (priorities[lefts[node]] > priorities[node]) {
+				return rotateRight(node);
+			}
+		} else {
+			rights[node] = insert(rights[node], slot);
+			if (priorities[rights[node]] > priorities[node]) {
+				return rotateLeft(node);
+			}
+		}
+		updateAggregates(node);
+		return node;
+	}
+
+	protected int leftmost(int node) {
+		if (node == NIL) {
+			return NIL;
+		}
+		while (lefts[node] != NIL) {
+			node = lefts[node];
+		}
+		return node;
+	}
+
+	protected int merge(final int left, final int right) {
+		if (left == NIL) {
+			return right;
+		}
+		if (right == NIL) {
+			return left;
+		}
+
+		if (priorities[left] > priorities[right]) {
+			rights[left] = merge(rights[left], right);
+			updateAggregates(left);
+			return left;
+		} else {
+			lefts[right] = merge(left, lefts[right]);
+			updateAggregates(right);
+			return right;
+		}
+	}
+
+	/**
+	 * deterministic priority, spreading consecutive order ids over the int range
+	 */
+	protected int priority(final int orderId) {
+		int hash = orderId * 0x9E3779B9;
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		return hash;
+	}
+
+	/**
+	 * removes the node with the given key from the subtree. The removed slot is
+	 * detached, but not freed.
+	 */
+	protected int remove(final int node, final double price, final int orderId) {
+		if (node == NIL) {
+			return NIL;
+		}
+
+		final int comparison = compare(price, orderId, node);
+		if (comparison < 0) {
+			lefts[node] = remove(lefts[node], price, orderId);
+			updateAggregates(node);
+			return node;
+		} else if (comparison > 0) {
+			rights[node] = remove(rights[node], price, orderId);
+			updateAggregates(node);
+			return node;
+		} else {
+			return merge(lefts[node], rights[node]);
+		}
+	}
+
+	protected int rotateLeft(final int node) {
+		final int pivot = rights[node];
+		rights[node] = lefts[pivot];
+		lefts[pivot] = node;
+		updateAggregates(node);
+		updateAggregates(pivot);
+		return pivot;
+	}
+
+	protected int rotateRight(final int node) {
+		final int pivot = lefts[node];
+		lefts[node] = rights[pivot];
+		rights[pivot] = node;
+		updateAggregates(node);
+		updateAggregates(pivot);
+		return pivot;
+	}
+
+	protected void updateAggregates(final int node) {
+		final int left = lefts[node];
+		final int right = rights[node];
+
+		double subtreeAmount = amounts[node];
+		double subtreeNotional = prices[node] * amounts[node];
+		int subtreeCount = 1;
+
+		if (left != NIL) {
+			subtreeAmount += subtreeAmounts[left];
+			subtreeNotional += subtreeNotionals[left];
+			subtreeCount += subtreeCounts[left];
+		}
+		if (right != NIL) {
+			subtreeAmount += subtreeAmounts[right];
+			subtreeNotional += subtreeNotionals[right];
+			subtreeCount += subtreeCounts[right];
+		}
+
+		subtreeAmounts[node] = subtreeAmount;
+		subtreeNotionals[node] = subtreeNotional;
+		subtreeCounts[node] = subtreeCount;
+	}
+
+	/**
+	 * updates the aggregates on the path from the given node to the node with the
+	 * given key.
+	 */
+	protected void updateAggregatesOnPath(final int node, final double price, final int orderId) {
+		if (node == NIL) {
+			return;
+		}
+
+		final int comparison = compare(price, orderId, node);
+		if (comparison < 0) {
+			updateAggregatesOnPath(lefts[node], price, orderId);
+		} else if (comparison > 0) {
+			updateAggregatesOnPath(rights[node], price, orderId);
+		}
+		updateAggregates(node);
+	}
+
+	/*
+	 * accessors
+	 */
+
+	public void add(final MarketOrder marketOrder) {
+		assert (!Double.isNaN(marketOrder.getPricePerUnit()));
+		assert (find(marketOrder.getPricePerUnit(), marketOrder.getId()) == NIL);
+
+		final int slot = allocateSlot();
+		amounts[slot] = marketOrder.getAmount();
+		lefts[slot] = NIL;
+		marketOrders[slot] = marketOrder;
+		orderIds[slot] = marketOrder.getId();
+		prices[slot] = marketOrder.getPricePerUnit();
+		priorities[slot] = priority(marketOrder.getId());
+		rights[slot] = NIL;
+		updateAggregates(slot);
+
+		root = insert(root, slot);
+		modificationCount++;
+		version++;
+
+		if (minSlot == NIL || compare(prices[slot], orderIds[slot], minSlot) < 0) {
+			minSlot = slot;
+		}
+	}
+
+	/**
+	 * keeps the amount column in sync with a market order, whose amount has been
+	 * decremented.
+	 */
+	public void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		final int slot = find(marketOrder.getPricePerUnit(), marketOrder.getId());
+		if (slot != NIL) {
+			amounts[slot] -= amount;
+			updateAggregatesOnPath(root, prices[slot], orderIds[slot]);
+			version++;
+		}
+	}
+
+	/**
+	 * @return the total amount offered in this order book, i. e. the market depth.
+	 */
+	public double getAmountSum() {
+		if (root == NIL) {
+			return 0.0;
+		}
+		return subtreeAmounts[root];
+	}
+
+	/**
+	 * @return the average price per unit for buying the given amount, starting
+	 *         with the lowest price, or NaN if the amount is not offered
+	 *         completely.
+	 */
+	public double getAveragePrice(final double atAmount) {
+		if (MathUtil.equal(atAmount, 0.0)) {
+			return getMarginalPrice(atAmount);
+		}
+
+		int node = root;
+		double amountBefore = 0.0;
+		double notionalBefore = 0.0;
+
+		while (node != NIL) {
+			final int left = lefts[node];
+			final double amountBeforeNode = left == NIL ? amountBefore : amountBefore + subtreeAmounts[left];
+
+			if (left != NIL && amountBeforeNode >= atAmount) {
+				node = left;
+			} else {
+				final double notionalBeforeNode = left == NIL ? notionalBefore
+						: notionalBefore + subtreeNotionals[left];
+
+				if (amountBeforeNode + amounts[node] >= atAmount) {
+					return (notionalBeforeNode + (atAmount - amountBeforeNode) * prices[node]) / atAmount;
+				}
+
+				amountBefore = amountBeforeNode + amounts[node];
+				notionalBefore = notionalBeforeNode + prices[node] * amounts[node];
+				node = rights[node];
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return the lowest price per unit in this order book, or NaN if the order
+	 *         book is empty.
+	 */
+	public double getBestPrice() {
+		if (minSlot == NIL) {
+			return Double.NaN;
+		}
+		return prices[minSlot];
+	}
+
+	/**
+	 * @return the price per unit of the market order, which is reached when buying
+	 *         the given amount starting with the lowest price, or NaN if the
+	 *         amount is not offered completely.
+	 */
+	public double getMarginalPrice(final double atAmount) {
+		int node = root;
+		double amountBefore = 0.0;
+
+		while (node != NIL) {
+			final int left = lefts[node];
+			final double amountBeforeNode = left == NIL ? amountBefore : amountBefore + subtreeAmounts[left];
+
+			if (left != NIL && amountBeforeNode >= atAmount) {
+				node = left;
+			} else if (amountBeforeNode + amounts[node] >= atAmount) {
+				return prices[node];
+			} else {
+				amountBefore = amountBeforeNode + amounts[node];
+				node = rights[node];
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return the total notional, i. e. the sum of price times amount, offered in
+	 *         this order book.
+	 */
+	public double getNotionalSum() {
+		if (root == NIL) {
+			return 0.0;
+		}
+		return subtreeNotionals[root];
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return an iterator over the market orders ordered by ascending price. The
+	 *         iterator continues after the key of the last returned market order,
+	 *         so that it tolerates modifications of the order book.
+	 */
+	public Iterator<MarketOrder> iterator() {
+		return new Iterator<MarketOrder>() {
+
+			boolean exhausted = false;
+
+			boolean hasLastKey = false;
+
+			int lastOrderId;
+
+			double lastPrice;
+
+			int nextSlot = NIL;
+
+			int nextSlotModificationCount;
+
+			@Override
+			public boolean hasNext() {
+				// like the iterators of sorted sets, an exhausted iterator stays exhausted
+				if (exhausted) {
+					return false;
+				}
+
+				if (nextSlot == NIL || nextSlotModificationCount != modificationCount) {
+					nextSlot = hasLastKey ? higher(lastPrice, lastOrderId) : minSlot;
+					nextSlotModificationCount = modificationCount;
+				}
+				exhausted = nextSlot == NIL;
+				return nextSlot != NIL;
+			}
+
+			@Override
+			public MarketOrder next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				final MarketOrder marketOrder = marketOrders[nextSlot];
+				lastPrice = prices[nextSlot];
+				lastOrderId = orderIds[nextSlot];
+				hasLastKey = true;
+				nextSlot = NIL;
+				return marketOrder;
+			}
+		};
+	}
+
+	public boolean remove(final MarketOrder marketOrder) {
+		final double price = marketOrder.getPricePerUnit();
+		final int orderId = marketOrder.getId();
+		final int slot = find(price, orderId);
+
+		if (slot == NIL || marketOrders[slot] != marketOrder) {
+			return false;
+		}
+
+		root = remove(root, price, orderId);
+		modificationCount++;
+		version++;
+
+		if (slot == minSlot) {
+			minSlot = leftmost(root);
+		}
+
+		freeSlot(slot);
+		return true;
+	}
+
+	public int size() {
+		if (root == NIL) {
+			return 0;
+		}
+		return subtreeCounts[root];
+	}
+
+	/**
+	 * @return a copy of the market orders ordered by ascending price.
+	 */
+	public List<MarketOrder> toList() {
+		final List<MarketOrder> result = new ArrayList<MarketOrder>(size());
+		final Iterator<MarketOrder> iterator = iterator();
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+}
@@ -33,20 +33,86 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
-
+import io.github.uwol.compecon.math.util.MathUtil;
+
+/**
+ * In-memory market order DAO, which stores each (currency, commodity) market in
+ * a {@link java.util.TreeSet}. The amount, notional (price times amount) and
+ * number of market orders of each market for currencies and good types are
+ * kept as running totals, so that the depth of a market is known without
+ * iterating its market orders.
+ */
 public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketParticipant, MarketOrder>
 		implements MarketOrderDAO {
 
+	protected final double[][] amountSumsForCurrencies = new double[Currency.values().length][Currency
+			.values().length];
+
+	protected final double[][] amountSumsForGoodTypes = new double[Currency.values().length][GoodType
+			.values().length];
+
 	protected Map<Currency, Map<Currency, SortedSet<MarketOrder>>> marketOrdersForCurrencies = new HashMap<Currency, Map<Currency, SortedSet<MarketOrder>>>();
 
 	protected Map<Currency, Map<GoodType, SortedSet<MarketOrder>>> marketOrdersForGoodTypes = new HashMap<Currency, Map<GoodType, SortedSet<MarketOrder>>>();
 
 	protected Map<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>> marketOrdersForPropertyClasses = new HashMap<Currency, Map<Class<? extends Property>, SortedSet<MarketOrder>>>();
 
+	protected final double[][] notionalSumsForCurrencies = new double[Currency.values().length][Currency
+			.values().length];
+
+	protected final double[][] notionalSumsForGoodTypes = new double[Currency.values().length][GoodType
+			.values().length];
+
+	protected final int[][] numbersOfMarketOrdersForCurrencies = new int[Currency.values().length][Currency
+			.values().length];
+
+	protected final int[][] numbersOfMarketOrdersForGoodTypes = new int[Currency.values().length][GoodType
+			.values().length];
+
+	protected final long[][] versionsForCurrencies = new long[Currency.values().length][Currency.values().length];
+
+	protected final long[][] versionsForGoodTypes = new long[Currency.values().length][GoodType.values().length];
+
 	/*
 	 * helpers
 	 */
 
+	/**
+	 * Adds the amount and notional of the market order to the running totals of
+	 * its markets; negative values subtract them.
+	 */
+	private void addToAggregates(final MarketOrder marketOrder, final double amount, final int numberOfMarketOrders) {
+		final int currencyIndex = marketOrder.getCurrency().ordinal();
+		final double notional = marketOrder.getPricePerUnit() * amount;
+
+		if (marketOrder.getGoodType() != null) {
+			final int goodTypeIndex = marketOrder.getGoodType().ordinal();
+			numbersOfMarketOrdersForGoodTypes[currencyIndex][goodTypeIndex] += numberOfMarketOrders;
+
+			// reset rounding errors, when the market is empty
+			if (numbersOfMarketOrdersForGoodTypes[currencyIndex][goodTypeIndex] == 0) {
+				amountSumsForGoodTypes[currencyIndex][goodTypeIndex] = 0.0;
+				notionalSumsForGoodTypes[currencyIndex][goodTypeIndex] = 0.0;
+			} else {
+				amountSumsForGoodTypes[currencyIndex][goodTypeIndex] += amount;
+				notionalSumsForGoodTypes[currencyIndex][goodTypeIndex] += notional;
+			}
+		}
+
+		if (marketOrder.getCommodityCurrency() != null) {
+			final int commodityCurrencyIndex = marketOrder.getCommodityCurrency().ordinal();
+			numbersOfMarketOrdersForCurrencies[currencyIndex][commodityCurrencyIndex] += numberOfMarketOrders;
+
+			if (numbersOfMarketOrdersForCurrencies[currencyIndex][commodityCurrencyIndex] == 0) {
+				amountSumsForCurrencies[currencyIndex][commodityCurrencyIndex] = 0.0;
+				notionalSumsForCurrencies[currencyIndex][commodityCurrencyIndex] = 0.0;
+			} else {
+				amountSumsForCurrencies[currencyIndex][commodityCurrencyIndex] += amount;
+				notionalSumsForCurrencies[currencyIndex][commodityCurrencyIndex] += notional;
+			}
+		}
+	}
+
 	private void assureInitializedDataStructure(final Currency currency) {
 		if (!marketOrdersForGoodTypes.containsKey(currency)) {
 			marketOrdersForGoodTypes.put(currency, new HashMap<GoodType, SortedSet<MarketOrder>>());
@@ -92,22 +158,47 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 	}
 
+	private void incrementVersion(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			versionsForGoodTypes[marketOrder.getCurrency().ordinal()][marketOrder.getGoodType().ordinal()]++;
+		}
+
+		if (marketOrder.getCommodityCurrency() != null) {
+			versionsForCurrencies[marketOrder.getCurrency().ordinal()][marketOrder.getCommodityCurrency()
+					.ordinal()]++;
+		}
+	}
+
 	/*
 	 * get market offers for type
 	 */
 
+	@Override
+	public synchronized void decrementAmount(final MarketOrder marketOrder, final double amount) {
+		// the sort order of the market order sets does not depend on the amount
+		addToAggregates(marketOrder, -amount, 0);
+		marketOrder.decrementAmount(amount);
+		incrementVersion(marketOrder);
+	}
+
 	@Override
 	public synchronized void delete(final MarketOrder marketOrder) {
+		boolean removed = false;
+
 		if (marketOrder.getGoodType() != null) {
 			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(marketOrder.getCurrency(),
 					marketOrder.getGoodType());
-			marketOrders.remove(marketOrder);
+			removed |= marketOrders.remove(marketOrder);
 		}
 
 		if (marketOrder.getCommodityCurrency() != null) {
 			final SortedSet<MarketOrder> marketOrders = this.getMarketOrders(marketOrder.getCurrency(),
 					marketOrder.getCommodityCurrency());
-			marketOrders.remove(marketOrder);
+			removed |= marketOrders.remove(marketOrder);
+		}
+
+		if (removed) {
+			addToAggregates(marketOrder, -marketOrder.getAmount(), -1);
 		}
 
 		if (marketOrder.getProperty() != null) {
@@ -118,6 +209,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 			marketOrders.remove(marketOrder);
 		}
 
+		incrementVersion(marketOrder);
 		super.delete(marketOrder);
 	}
 
@@ -154,6 +246,56 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 	}
 
+	@Override
+	public synchronized double findAveragePrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		final int currencyIndex = currency.ordinal();
+		final int commodityCurrencyIndex = commodityCurrency.ordinal();
+		return findAveragePrice(this.getMarketOrders(currency, commodityCurrency),
+				amountSumsForCurrencies[currencyIndex][commodityCurrencyIndex],
+				notionalSumsForCurrencies[currencyIndex][commodityCurrencyIndex], atAmount);
+	}
+
+	@Override
+	public synchronized double findAveragePrice(final Currency currency, final GoodType goodType,
+			final double atAmount) {
+		final int currencyIndex = currency.ordinal();
+		final int goodTypeIndex = goodType.ordinal();
+		return findAveragePrice(this.getMarketOrders(currency, goodType),
+				amountSumsForGoodTypes[currencyIndex][goodTypeIndex],
+				notionalSumsForGoodTypes[currencyIndex][goodTypeIndex], atAmount);
+	}
+
+	private double findAveragePrice(final SortedSet<MarketOrder> marketOrders, final double totalAmountSum,
+			final double totalNotionalSum, final double atAmount) {
+		if (marketOrders.isEmpty() || MathUtil.greater(atAmount, totalAmountSum)) {
+			return Double.NaN;
+		}
+
+		if (MathUtil.equal(atAmount, 0.0)) {
+			return marketOrders.first().getPricePerUnit();
+		}
+
+		// the whole market is bought, so that the running totals determine the price
+		if (MathUtil.equal(atAmount, totalAmountSum)) {
+			return (totalNotionalSum + (atAmount - totalAmountSum) * marketOrders.last().getPricePerUnit())
+					/ atAmount;
+		}
+
+		final Iterator<MarketOrder> iterator = marketOrders.iterator();
+		double amountSum = 0.0;
+		double priceTimesAmountSum = 0.0;
+		while (iterator.hasNext()) {
+			final MarketOrder marketOrder = iterator.next();
+			if (amountSum + marketOrder.getAmount() >= atAmount) {
+				return (priceTimesAmountSum + (atAmount - amountSum) * marketOrder.getPricePerUnit()) / atAmount;
+			}
+			amountSum += marketOrder.getAmount();
+			priceTimesAmountSum += marketOrder.getPricePerUnit() * marketOrder.getAmount();
+		}
+		return Double.NaN;
+	}
+
 	@Override
 	public synchronized double findMarginalPrice(final Currency currency,
 			final Class<? extends Property> propertyClass) {
@@ -176,6 +318,13 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		return Double.NaN;
 	}
 
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final Currency commodityCurrency,
+			final double atAmount) {
+		return findMarginalPrice(this.getMarketOrders(currency, commodityCurrency),
+				amountSumsForCurrencies[currency.ordinal()][commodityCurrency.ordinal()], atAmount);
+	}
+
 	@Override
 	public synchronized double findMarginalPrice(final Currency currency, final GoodType goodType) {
 		for (final MarketOrder marketOrder : this.getMarketOrders(currency, goodType)) {
@@ -184,6 +333,35 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		return Double.NaN;
 	}
 
+	@Override
+	public synchronized double findMarginalPrice(final Currency currency, final GoodType goodType,
+			final double atAmount) {
+		return findMarginalPrice(this.getMarketOrders(currency, goodType),
+				amountSumsForGoodTypes[currency.ordinal()][goodType.ordinal()], atAmount);
+	}
+
+	private double findMarginalPrice(final SortedSet<MarketOrder> marketOrders, final double totalAmountSum,
+			final double atAmount) {
+		if (marketOrders.isEmpty() || MathUtil.greater(atAmount, totalAmountSum)) {
+			return Double.NaN;
+		}
+
+		if (MathUtil.equal(atAmount, totalAmountSum)) {
+			return marketOrders.last().getPricePerUnit();
+		}
+
+		final Iterator<MarketOrder> iterator = marketOrders.iterator();
+		double amountSum = 0.0;
+		while (iterator.hasNext()) {
+			final MarketOrder marketOrder = iterator.next();
+			if (amountSum + marketOrder.getAmount() >= atAmount) {
+				return marketOrder.getPricePerUnit();
+			}
+			amountSum += marketOrder.getAmount();
+		}
+		return Double.NaN;
+	}
+
 	private SortedSet<MarketOrder> findMarketOrders(final MarketParticipant offeror, final Currency currency,
 			final Class<? extends Property> propertyClass) {
 		final SortedSet<MarketOrder> marketOrders = new TreeSet<MarketOrder>();
@@ -230,22 +408,12 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 
 	@Override
 	public synchronized double getAmountSum(final Currency currency, final Currency commodityCurrency) {
-		final Iterator<MarketOrder> iterator = this.getIterator(currency, commodityCurrency);
-		double totalAmountSum = 0.0;
-		while (iterator.hasNext()) {
-			totalAmountSum += iterator.next().getAmount();
-		}
-		return totalAmountSum;
+		return amountSumsForCurrencies[currency.ordinal()][commodityCurrency.ordinal()];
 	}
 
 	@Override
 	public synchronized double getAmountSum(final Currency currency, final GoodType goodType) {
-		final Iterator<MarketOrder> iterator = this.getIterator(currency, goodType);
-		double totalAmountSum = 0.0;
-		while (iterator.hasNext()) {
-			totalAmountSum += iterator.next().getAmount();
-		}
-		return totalAmountSum;
+		return amountSumsForGoodTypes[currency.ordinal()][goodType.ordinal()];
 	}
 
 	@SuppressWarnings("unchecked")
@@ -299,6 +467,16 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		return new TreeSet<MarketOrder>(this.getMarketOrders(currency, goodType)).iterator();
 	}
 
+	@Override
+	public synchronized long getVersion(final Currency currency, final Currency commodityCurrency) {
+		return versionsForCurrencies[currency.ordinal()][commodityCurrency.ordinal()];
+	}
+
+	@Override
+	public synchronized long getVersion(final Currency currency, final GoodType goodType) {
+		return versionsForGoodTypes[currency.ordinal()][goodType.ordinal()];
+	}
+
 	private SortedSet<MarketOrder> getMarketOrders(final Currency currency,
 			final Class<? extends Property> propertyIndexInterface) {
 		this.assureInitializedDataStructure(currency, propertyIndexInterface);
@@ -320,6 +498,8 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 
 	@Override
 	public synchronized void save(final MarketOrder marketOrder) {
+		addToAggregates(marketOrder, marketOrder.getAmount(), 1);
+
 		if (marketOrder.getGoodType() != null) {
 			this.getMarketOrders(marketOrder.getCurrency(), marketOrder.getGoodType()).add(marketOrder);
 		}
@@ -334,6 +514,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 			this.getMarketOrders(marketOrder.getCurrency(), propertyIndexInterface).add(marketOrder);
 		}
 
+		incrementVersion(marketOrder);
 		super.save(marketOrder.getOfferor(), marketOrder);
 	}
 }
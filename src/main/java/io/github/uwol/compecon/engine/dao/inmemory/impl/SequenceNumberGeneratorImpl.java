@@ -23,8 +23,45 @@ public class SequenceNumberGeneratorImpl {
 
 	protected int lastId = 0;
 
+	protected int lastPartitionId = 0;
+
+	/**
+	 * last id and number of partitions of the partition bound to the current
+	 * thread
+	 */
+	protected final ThreadLocal<int[]> partitionSequences = new ThreadLocal<int[]>();
+
+	/**
+	 * binds the current thread to a partition. The thread then generates the ids
+	 * lastId + partition + 1 + k * numberOfPartitions, so that ids of concurrent
+	 * partitions neither collide nor depend on the interleaving of threads.
+	 */
+	public void bindPartition(final int partition, final int numberOfPartitions) {
+		partitionSequences.set(new int[] { lastId + partition + 1 - numberOfPartitions, numberOfPartitions });
+	}
+
 	public int getNextId() {
+		final int[] partitionSequence = partitionSequences.get();
+		if (partitionSequence != null) {
+			partitionSequence[0] += partitionSequence[1];
+			return partitionSequence[0];
+		}
+
 		lastId++;
 		return lastId;
 	}
+
+	/**
+	 * continues the sequence after the ids generated by all partitions, after the
+	 * partitions have been unbound.
+	 */
+	public synchronized void mergePartitions() {
+		lastId = Math.max(lastId, lastPartitionId);
+	}
+
+	public synchronized void unbindPartition() {
+		final int[] partitionSequence = partitionSequences.get();
+		partitionSequences.remove();
+		lastPartitionId = Math.max(lastPartitionId, partitionSequence[0]);
+	}
 }
@@ -17,19 +17,11 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem;
+package io.github.uwol.compecon.engine.factory;
 
-import java.util.Set;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
 
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+public interface PeriodDataSinkFactory {
 
-public interface Hour {
-
-	public void addEvent(final TimeSystemEvent event);
-
-	public Set<TimeSystemEvent> getEvents();
-
-	public HourType getHourType();
-
-	public void removeEvents(final Set<TimeSystemEvent> events);
+	public PeriodDataSink newInstancePeriodDataSink(final String title, final int numberOfDays);
 }
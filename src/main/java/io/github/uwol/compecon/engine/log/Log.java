@@ -20,7 +20,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.log;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
@@ -52,8 +54,11 @@ public interface Log {
 
 	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet);
 
+	public void bank_onBulkTransfer(final BankAccount from, final List<BankAccount> to, final Currency currency,
+			final double valuePerBankAccount, final Supplier<String> subject);
+
 	public void bank_onTransfer(final BankAccount from, final BankAccount to, final Currency currency,
-			final double value, final String subject);
+			final double value, final Supplier<String> subject);
 
 	public void centralBank_KeyInterestRate(final Currency currency, final double keyInterestRate);
 
@@ -99,12 +104,23 @@ public interface Log {
 
 	public void log(final Agent agent, final String message, final Object... parameters);
 
+	/**
+	 * @param message rendered only, if the agent is selected by the client.
+	 */
+	public void log(final Agent agent, final Supplier<String> message);
+
 	public void log(final BankCustomer bankCustomer, final String message, final Object... parameters);
 
 	public void log(final MarketParticipant marketParticipant, final String message, final Object... parameters);
 
 	public void log(final String message, final Object... parameters);
 
+	/**
+	 * @param message rendered only, if the agent currently active is selected by
+	 *                the client.
+	 */
+	public void log(final Supplier<String> message);
+
 	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final Currency currency,
 			final double amount);
 
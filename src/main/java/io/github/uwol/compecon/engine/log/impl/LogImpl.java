@@ -20,8 +20,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.log.impl;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
@@ -37,6 +39,7 @@ import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
@@ -44,9 +47,17 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public class LogImpl implements Log {
 
-	private Agent agentCurrentlyActive;
+	/**
+	 * agents can be active in several threads at the same time, if the time
+	 * system executes national economies in parallel
+	 */
+	private final ThreadLocal<Agent> agentCurrentlyActive = new ThreadLocal<Agent>();
 
-	private Agent agentSelectedByClient;
+	/**
+	 * volatile, as the agent is selected by the client thread, while the selection
+	 * is checked without synchronization by the simulation threads
+	 */
+	private volatile Agent agentSelectedByClient;
 
 	// --------
 
@@ -61,6 +72,7 @@ public class LogImpl implements Log {
 	@Override
 	public void agent_onCalculateOutputMaximizingInputsIterative(final double budget, final double budgetSpent,
 			final ConvexFunctionTerminationCause terminationCause) {
+		final Agent agentCurrentlyActive = this.agentCurrentlyActive.get();
 		if (agentCurrentlyActive != null) {
 			// TODO temporary assumption
 			assert (agentCurrentlyActive instanceof Household || agentCurrentlyActive instanceof State);
@@ -96,8 +108,8 @@ public class LogImpl implements Log {
 			log(agent, agent + " deconstructed");
 		}
 
-		if (agentCurrentlyActive == agent) {
-			agentCurrentlyActive = null;
+		if (agentCurrentlyActive.get() == agent) {
+			agentCurrentlyActive.remove();
 		}
 
 		if (agentSelectedByClient == agent) {
@@ -156,9 +168,59 @@ public class LogImpl implements Log {
 		}
 	}
 
+	@Override
+	public void bank_onBulkTransfer(final BankAccount from, final List<BankAccount> to, final Currency currency,
+			final double valuePerBankAccount, final Supplier<String> subject) {
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency);
+		final Class<? extends BankCustomer> fromClass = from.getOwner().getClass();
+
+		// the transactions model is updated once per run of recipients with the
+		// same owner class
+		Class<? extends BankCustomer> toClass = null;
+		double valueToClass = 0.0;
+		double value = 0.0;
+
+		for (final BankAccount bankAccount : to) {
+			if (bankAccount != from) {
+				if (from.getOwner() != bankAccount.getOwner()) {
+					if (bankAccount.getOwner().getClass() != toClass) {
+						if (toClass != null) {
+							nationalEconomyModel.monetaryTransactionsModel.bank_onTransfer(fromClass, toClass, currency,
+									valueToClass);
+						}
+
+						toClass = bankAccount.getOwner().getClass();
+						valueToClass = 0.0;
+					}
+
+					valueToClass += valuePerBankAccount;
+					value += valuePerBankAccount;
+				}
+
+				if (isAgentSelectedByClient(bankAccount.getOwner())) {
+					final String message = " <--- " + Currency.formatMoneySum(valuePerBankAccount) + " "
+							+ currency.getIso4217Code() + " --- " + from + ": " + subject.get();
+					logBankAccountEvent(bankAccount, message);
+				}
+			}
+		}
+
+		if (toClass != null) {
+			nationalEconomyModel.monetaryTransactionsModel.bank_onTransfer(fromClass, toClass, currency, valueToClass);
+			nationalEconomyModel.moneyCirculationModel.add(value);
+		}
+
+		if (isAgentSelectedByClient(from.getOwner())) {
+			final String message = " --- " + Currency.formatMoneySum(valuePerBankAccount) + " "
+					+ currency.getIso4217Code() + " ---> " + to.size() + " bank accounts: " + subject.get();
+			logBankAccountEvent(from, message);
+		}
+	}
+
 	@Override
 	public void bank_onTransfer(final BankAccount from, final BankAccount to, final Currency currency,
-			final double value, final String subject) {
+			final double value, final Supplier<String> subject) {
 		// only if this is a transfer between agents; alternatively it could be
 		// a transfer between bank accounts of this agent
 		if (from.getOwner() != to.getOwner()) {
@@ -171,15 +233,13 @@ public class LogImpl implements Log {
 
 		if (isAgentSelectedByClient(from.getOwner())) {
 			final String message = " --- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " ---> "
-					+ to + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), from, message);
+					+ to + ": " + subject.get();
+			logBankAccountEvent(from, message);
 		}
 		if (isAgentSelectedByClient(to.getOwner())) {
 			final String message = " <--- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " --- "
-					+ from + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), to, message);
+					+ from + ": " + subject.get();
+			logBankAccountEvent(to, message);
 		}
 	}
 
@@ -206,6 +266,7 @@ public class LogImpl implements Log {
 	@Override
 	public void factory_onCalculateProfitMaximizingProductionFactorsIterative(final double budget,
 			final double budgetSpent, final ConvexProductionFunctionTerminationCause terminationCause) {
+		final Agent agentCurrentlyActive = this.agentCurrentlyActive.get();
 		if (agentCurrentlyActive != null) {
 			assert (agentCurrentlyActive instanceof Factory);
 
@@ -229,7 +290,7 @@ public class LogImpl implements Log {
 	@Override
 	public void factory_onCapitalDepreciation(final Factory factory, final GoodType capitalGoodType,
 			final double depreciation) {
-		this.log(factory, "depreciation of " + depreciation + " units on capital good " + capitalGoodType);
+		this.log(factory, () -> "depreciation of " + depreciation + " units on capital good " + capitalGoodType);
 		ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
 						.get(capitalGoodType).capitalDepreciationModel.add(depreciation);
@@ -348,44 +409,73 @@ public class LogImpl implements Log {
 	}
 
 	@Override
-	public synchronized void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass,
-			final String message, final Object... parameters) {
+	public void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass, final String message,
+			final Object... parameters) {
 		setAgentCurrentlyActive(agent);
-		log(eventClass.getSimpleName() + ": " + String.format(message, parameters));
+		if (isAgentSelectedByClient(agent)) {
+			logAgentEvent(eventClass.getSimpleName() + ": " + String.format(message, parameters));
+		}
 	}
 
 	// --------
 
 	@Override
-	public synchronized void log(final Agent agent, final String message, final Object... parameters) {
+	public void log(final Agent agent, final String message, final Object... parameters) {
 		setAgentCurrentlyActive(agent);
 		log(message, parameters);
 	}
 
 	@Override
-	public synchronized void log(final BankCustomer bankCustomer, final String message, final Object... parameters) {
+	public void log(final Agent agent, final Supplier<String> message) {
+		setAgentCurrentlyActive(agent);
+		if (isAgentSelectedByClient(agent)) {
+			logAgentEvent(message.get());
+		}
+	}
+
+	@Override
+	public void log(final BankCustomer bankCustomer, final String message, final Object... parameters) {
 		if (bankCustomer instanceof Agent) {
 			log((Agent) bankCustomer, message, parameters);
 		}
 	}
 
 	@Override
-	public synchronized void log(final MarketParticipant marketParticipant, final String message,
-			final Object... parameters) {
+	public void log(final MarketParticipant marketParticipant, final String message, final Object... parameters) {
 		if (marketParticipant instanceof Agent) {
 			log((Agent) marketParticipant, message, parameters);
 		}
 	}
 
+	/**
+	 * the message is formatted only, if the currently active agent is selected by
+	 * the client; synchronization is restricted to this case.
+	 */
 	@Override
 	public void log(final String message, final Object... parameters) {
-		if (agentCurrentlyActive != null && agentSelectedByClient == agentCurrentlyActive) {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logAgentEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(),
-					String.format(message, parameters));
+		if (isAgentSelectedByClient(agentCurrentlyActive.get())) {
+			logAgentEvent(String.format(message, parameters));
 		}
 	}
 
+	@Override
+	public void log(final Supplier<String> message) {
+		if (isAgentSelectedByClient(agentCurrentlyActive.get())) {
+			logAgentEvent(message.get());
+		}
+	}
+
+	private synchronized void logAgentEvent(final String message) {
+		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel()
+				.logAgentEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), message);
+	}
+
+	private synchronized void logBankAccountEvent(final BankAccount bankAccount, final String message) {
+		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel()
+				.logBankAccountEvent(ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), bankAccount,
+						message);
+	}
+
 	@Override
 	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final Currency currency,
 			final double amount) {
@@ -440,7 +530,7 @@ public class LogImpl implements Log {
 
 	@Override
 	public void setAgentCurrentlyActive(final Agent agent) {
-		agentCurrentlyActive = agent;
+		agentCurrentlyActive.set(agent);
 	}
 
 	@Override
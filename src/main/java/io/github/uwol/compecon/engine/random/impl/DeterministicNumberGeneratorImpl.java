@@ -25,7 +25,15 @@ import io.github.uwol.compecon.engine.random.RandomNumberGenerator;
 
 public class DeterministicNumberGeneratorImpl implements RandomNumberGenerator {
 
-	protected Random random = new Random(100);
+	protected Random random;
+
+	public DeterministicNumberGeneratorImpl() {
+		this(100);
+	}
+
+	public DeterministicNumberGeneratorImpl(final long seed) {
+		random = new Random(seed);
+	}
 
 	@Override
 	public Random getRandom() {
@@ -0,0 +1,55 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs simulations for combinations of configuration parameters concurrently
+ * and writes a summary of each simulation as a row of a CSV table.
+ */
+public interface ParameterSweepRunner {
+
+	/**
+	 * adds a configuration property, which is varied over the given grid of
+	 * values.
+	 *
+	 * @param key configuration property, e. g. factory.margin
+	 */
+	public void addParameter(final String key, final String... values);
+
+	/**
+	 * adds a configuration property, which is sampled uniformly from the given
+	 * interval.
+	 *
+	 * @param key configuration property, e. g. centralBank.inflationTarget
+	 */
+	public void addRandomParameter(final String key, final double minValue, final double maxValue);
+
+	/**
+	 * runs a simulation for each combination of grid values and random samples;
+	 * blocks until all simulations have finished.
+	 *
+	 * @throws ExecutionException if a simulation has failed
+	 */
+	public void run(final Writer resultsWriter) throws IOException, InterruptedException, ExecutionException;
+}
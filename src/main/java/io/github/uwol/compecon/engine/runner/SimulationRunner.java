@@ -38,6 +38,13 @@ public interface SimulationRunner {
 	 */
 	public void run(final Date endDate);
 
+	/**
+	 * start the simulation loop
+	 *
+	 * @param numberOfDays number of days to simulate
+	 */
+	public void run(final int numberOfDays);
+
 	public void setMillisecondsToSleepPerHourType(final int millisecondsToSleepPerHourType);
 
 	/**
@@ -0,0 +1,104 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner.impl;
+
+import java.util.Date;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
+
+/**
+ * Runner for simulations without a dashboard. Proceeds in time as fast as
+ * possible; the interactive controls for pausing, single steps and sleeping
+ * are ignored. At the end of each run, the wall clock time and the number of
+ * simulated hours per second are reported.
+ */
+public class BatchSimulationRunnerImpl extends SimulationRunnerImpl {
+
+	protected int numberOfSimulatedHours = 0;
+
+	protected long wallClockTimeInMilliseconds = 0;
+
+	public double getHoursPerSecond() {
+		if (wallClockTimeInMilliseconds == 0) {
+			return Double.NaN;
+		}
+		return numberOfSimulatedHours * 1000.0 / wallClockTimeInMilliseconds;
+	}
+
+	public int getNumberOfSimulatedHours() {
+		return numberOfSimulatedHours;
+	}
+
+	public long getWallClockTimeInMilliseconds() {
+		return wallClockTimeInMilliseconds;
+	}
+
+	@Override
+	protected void run(final Date endDate, final int endHourNumber) {
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final int startHourNumber = timeSystem.getCurrentHourNumber();
+		final long startTime = System.nanoTime();
+
+		while (!killFlag) {
+			if (endDate != null && timeSystem.getCurrentDate().after(endDate)) {
+				break;
+			} else if (endHourNumber >= 0 && timeSystem.getCurrentHourNumber() >= endHourNumber) {
+				break;
+			}
+
+			timeSystem.nextHour();
+		}
+
+		numberOfSimulatedHours = timeSystem.getCurrentHourNumber() - startHourNumber;
+		wallClockTimeInMilliseconds = (System.nanoTime() - startTime) / 1000000;
+
+		System.out.println(String.format("simulated %d hours in %d ms (%.1f hours per second)",
+				numberOfSimulatedHours, wallClockTimeInMilliseconds, getHoursPerSecond()));
+	}
+
+	/**
+	 * no-op, as a batch run does not sleep
+	 */
+	@Override
+	public void setMillisecondsToSleepPerHourType(final int millisecondsToSleepPerHourType) {
+	}
+
+	/**
+	 * no-op, as a batch run cannot be paused
+	 */
+	@Override
+	public void setPaused(final boolean paused) {
+	}
+
+	/**
+	 * no-op, as a batch run does not step
+	 */
+	@Override
+	public void stepSingleDay() {
+	}
+
+	/**
+	 * no-op, as a batch run does not step
+	 */
+	@Override
+	public void stepSingleHour() {
+	}
+}
@@ -0,0 +1,301 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.random.impl.DeterministicNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.runner.ParameterSweepRunner;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
+import io.github.uwol.compecon.engine.statistics.timeseries.AbstractPeriodDataSingleTimeSeriesModel;
+
+/**
+ * Each simulation runs in an application context of its own, which is bound to
+ * a thread of a fixed thread pool, with its own configuration and random seed.
+ * The summary of a simulation is written as soon as the simulation has
+ * finished, and the application context is discarded afterwards, so that at
+ * most one agent graph per thread is held in memory. Rows are written in the
+ * order, in which simulations finish. If a simulation fails, the remaining
+ * simulations are completed, and the failure is rethrown afterwards.
+ */
+public class ParameterSweepRunnerImpl implements ParameterSweepRunner {
+
+	/**
+	 * mean of the values, which a model records at the end of each period of the
+	 * simulation; independent of the capacity of the period data sink and
+	 * excluding the initial value of the sink
+	 */
+	protected class PeriodDataMean implements ModelListener {
+
+		protected int count;
+
+		protected final PeriodDataSink periodDataSink;
+
+		protected double sum;
+
+		public PeriodDataMean(final PeriodDataSink periodDataSink) {
+			this.periodDataSink = periodDataSink;
+		}
+
+		public double getMean() {
+			if (count == 0) {
+				return Double.NaN;
+			}
+
+			return sum / count;
+		}
+
+		@Override
+		public void notifyListener() {
+			sum += periodDataSink.getLatestValue();
+			count++;
+		}
+	}
+
+	protected final String COMMA_DELIMITER = ";";
+
+	protected final String NEW_LINE_SEPARATOR = "\n";
+
+	protected final String configurationPropertiesFilename;
+
+	protected final List<String> gridKeys = new ArrayList<String>();
+
+	protected final List<String[]> gridValues = new ArrayList<String[]>();
+
+	protected final int numberOfDays;
+
+	protected final int numberOfRandomSamples;
+
+	protected final int numberOfThreads;
+
+	protected final List<String> randomKeys = new ArrayList<String>();
+
+	protected final List<Double> randomMaxValues = new ArrayList<Double>();
+
+	protected final List<Double> randomMinValues = new ArrayList<Double>();
+
+	protected final long seed;
+
+	/**
+	 * @param numberOfRandomSamples number of random samples per combination of
+	 *                              grid values
+	 */
+	public ParameterSweepRunnerImpl(final String configurationPropertiesFilename, final int numberOfDays,
+			final int numberOfThreads, final int numberOfRandomSamples, final long seed) {
+		this.configurationPropertiesFilename = configurationPropertiesFilename;
+		this.numberOfDays = numberOfDays;
+		this.numberOfThreads = numberOfThreads;
+		this.numberOfRandomSamples = numberOfRandomSamples;
+		this.seed = seed;
+	}
+
+	@Override
+	public void addParameter(final String key, final String... values) {
+		gridKeys.add(key);
+		gridValues.add(values);
+	}
+
+	@Override
+	public void addRandomParameter(final String key, final double minValue, final double maxValue) {
+		randomKeys.add(key);
+		randomMinValues.add(minValue);
+		randomMaxValues.add(maxValue);
+	}
+
+	/**
+	 * @return parameter values of all simulations, grid values first
+	 */
+	protected List<String[]> createParameterValues(final Random random) {
+		List<String[]> gridPoints = new ArrayList<String[]>();
+		gridPoints.add(new String[0]);
+
+		// cartesian product of grid values
+		for (final String[] values : gridValues) {
+			final List<String[]> extendedGridPoints = new ArrayList<String[]>();
+			for (final String[] gridPoint : gridPoints) {
+				for (final String value : values) {
+					final String[] extendedGridPoint = new String[gridPoint.length + 1];
+					System.arraycopy(gridPoint, 0, extendedGridPoint, 0, gridPoint.length);
+					extendedGridPoint[gridPoint.length] = value;
+					extendedGridPoints.add(extendedGridPoint);
+				}
+			}
+			gridPoints = extendedGridPoints;
+		}
+
+		final int numberOfSamples = randomKeys.isEmpty() ? 1 : numberOfRandomSamples;
+		final List<String[]> parameterValues = new ArrayList<String[]>();
+
+		for (final String[] gridPoint : gridPoints) {
+			for (int i = 0; i < numberOfSamples; i++) {
+				final String[] values = new String[gridKeys.size() + randomKeys.size()];
+				System.arraycopy(gridPoint, 0, values, 0, gridPoint.length);
+
+				for (int j = 0; j < randomKeys.size(); j++) {
+					final double minValue = randomMinValues.get(j);
+					final double maxValue = randomMaxValues.get(j);
+					values[gridPoint.length + j] = Double
+							.toString(minValue + random.nextDouble() * (maxValue - minValue));
+				}
+
+				parameterValues.add(values);
+			}
+		}
+
+		return parameterValues;
+	}
+
+	protected PeriodDataMean registerPeriodDataMean(final AbstractPeriodDataSingleTimeSeriesModel model) {
+		final PeriodDataMean periodDataMean = new PeriodDataMean(model.getPeriodDataSink());
+		model.registerListener(periodDataMean);
+		return periodDataMean;
+	}
+
+	@Override
+	public void run(final Writer resultsWriter) throws IOException, InterruptedException, ExecutionException {
+		final Random random = new Random(seed);
+		final List<String[]> parameterValues = createParameterValues(random);
+
+		final List<String> header = new ArrayList<String>();
+		header.add("run");
+		header.add("seed");
+		header.addAll(gridKeys);
+		header.addAll(randomKeys);
+		for (final Currency currency : Currency.values()) {
+			header.add(currency.getIso4217Code() + ".households");
+			header.add(currency.getIso4217Code() + ".totalUtility");
+			header.add(currency.getIso4217Code() + ".priceIndex");
+			header.add(currency.getIso4217Code() + ".keyInterestRate");
+			header.add(currency.getIso4217Code() + ".moneySupplyM1");
+		}
+		writeCsvLine(resultsWriter, header);
+
+		final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		final List<Future<?>> futures = new ArrayList<Future<?>>();
+
+		for (int i = 0; i < parameterValues.size(); i++) {
+			final int run = i;
+			final long seedOfRun = random.nextLong();
+			final String[] valuesOfRun = parameterValues.get(i);
+
+			futures.add(executorService.submit(() -> {
+				final List<String> row = runSimulation(valuesOfRun, seedOfRun);
+				row.add(0, Integer.toString(run));
+				writeCsvLine(resultsWriter, row);
+				return null;
+			}));
+		}
+
+		executorService.shutdown();
+		executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+		// a failed simulation lacks its row
+		for (final Future<?> future : futures) {
+			future.get();
+		}
+	}
+
+	/**
+	 * @return seed, parameter values and summary of the simulation
+	 */
+	protected List<String> runSimulation(final String[] values, final long seedOfRun) throws IOException {
+		final List<String> row = new ArrayList<String>();
+		row.add(Long.toString(seedOfRun));
+
+		ApplicationContext.bindNewInstance();
+
+		try {
+			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
+			ApplicationContext.getInstance().setRandomNumberGenerator(new DeterministicNumberGeneratorImpl(seedOfRun));
+
+			for (int i = 0; i < values.length; i++) {
+				final String key = i < gridKeys.size() ? gridKeys.get(i) : randomKeys.get(i - gridKeys.size());
+				ApplicationContext.getInstance().getConfiguration().setProperty(key, values[i]);
+				row.add(values[i]);
+			}
+
+			final BatchSimulationRunnerImpl simulationRunner = new BatchSimulationRunnerImpl();
+			ApplicationContext.getInstance().setSimulationRunner(simulationRunner);
+
+			// the period data sinks retain only the latest days -> accumulate the whole run
+			final Map<Currency, PeriodDataMean[]> periodDataMeans = new HashMap<Currency, PeriodDataMean[]>();
+			for (final Currency currency : Currency.values()) {
+				final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency);
+
+				periodDataMeans.put(currency,
+						new PeriodDataMean[] { registerPeriodDataMean(nationalEconomyModel.priceIndexModel),
+								registerPeriodDataMean(nationalEconomyModel.keyInterestRateModel),
+								registerPeriodDataMean(nationalEconomyModel.moneySupplyM1Model) });
+			}
+
+			ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+			simulationRunner.run(numberOfDays);
+
+			for (final Currency currency : Currency.values()) {
+				final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+						.getNationalEconomyModel(currency);
+
+				final List<Household> households = ApplicationContext.getInstance().getAgentService()
+						.findHouseholds(currency);
+
+				row.add(Integer.toString(households == null ? 0 : households.size()));
+				// total utility is accumulated over the whole run
+				row.add(Double.toString(nationalEconomyModel.totalUtilityOutputModel.getValue()));
+
+				for (final PeriodDataMean periodDataMean : periodDataMeans.get(currency)) {
+					row.add(Double.toString(periodDataMean.getMean()));
+				}
+			}
+
+		} finally {
+			// discard the agent graph of this simulation
+			ApplicationContext.getInstance().reset();
+			ApplicationContext.unbindInstance();
+		}
+
+		return row;
+	}
+
+	protected void writeCsvLine(final Writer writer, final List<String> values) throws IOException {
+		synchronized (writer) {
+			writer.append(String.join(COMMA_DELIMITER, values));
+			writer.append(NEW_LINE_SEPARATOR);
+			writer.flush();
+		}
+	}
+}
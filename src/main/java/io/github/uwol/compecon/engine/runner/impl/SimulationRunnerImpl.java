@@ -44,6 +44,13 @@ public class SimulationRunnerImpl implements SimulationRunner {
 
 	@Override
 	public void run(final Date endDate) {
+		run(endDate, -1);
+	}
+
+	/**
+	 * @param endHourNumber -1 for no end hour
+	 */
+	protected void run(final Date endDate, final int endHourNumber) {
 		try {
 			// start simulation
 			while (true) {
@@ -56,11 +63,19 @@ public class SimulationRunnerImpl implements SimulationRunner {
 						&& ApplicationContext.getInstance().getTimeSystem().getCurrentDate().after(endDate)) {
 					break;
 				}
+				// number of days reached
+				else if (endHourNumber >= 0
+						&& ApplicationContext.getInstance().getTimeSystem().getCurrentHourNumber() >= endHourNumber) {
+					break;
+				}
 				// normal mode
 				else if (!paused) {
 					// step hour-wise; triggers events in time system
 					ApplicationContext.getInstance().getTimeSystem().nextHour();
-					Thread.sleep(millisecondsToSleepPerHourType);
+
+					if (millisecondsToSleepPerHourType > 0) {
+						Thread.sleep(millisecondsToSleepPerHourType);
+					}
 				}
 				// paused mode, only proceeding with singleDayStep interaction
 				// by user
@@ -87,6 +102,11 @@ public class SimulationRunnerImpl implements SimulationRunner {
 		}
 	}
 
+	@Override
+	public void run(final int numberOfDays) {
+		run(null, ApplicationContext.getInstance().getTimeSystem().getCurrentHourNumber() + numberOfDays * 24);
+	}
+
 	@Override
 	public void setMillisecondsToSleepPerHourType(final int millisecondsToSleepPerHourType) {
 		this.millisecondsToSleepPerHourType = millisecondsToSleepPerHourType;
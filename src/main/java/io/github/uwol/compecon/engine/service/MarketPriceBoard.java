@@ -0,0 +1,67 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.uwol.compecon.engine.service;
+
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Board of the marginal market prices per currency and good type or commodity
+ * currency. The prices are refreshed lazily, when the version of the
+ * corresponding order book has changed, so that all agents share the same
+ * values within an hour without walking the order books repeatedly.
+ */
+public interface MarketPriceBoard {
+
+	/**
+	 * @return price of the commodity currency in the denominated currency implied
+	 *         by the inverse exchange market, i.e. the reciprocal of the price of
+	 *         the denominated currency in the commodity currency; the marginal
+	 *         price, if there is no inverse market price.
+	 */
+	public double getCalculatoryPrice(final Currency denominatedInCurrency, final Currency commodityCurrency);
+
+	/**
+	 * @return fixed price function at the marginal price; identical instances are
+	 *         returned as long as the marginal price does not change.
+	 */
+	public PriceFunction getFixedPriceFunction(final Currency denominatedInCurrency, final GoodType goodType);
+
+	/**
+	 * @return price of the good type in the origin currency converted into the
+	 *         local currency at the marginal exchange rate, i.e. the price of
+	 *         importing it; NaN, if one of both markets is empty.
+	 */
+	public double getImportPrice(final Currency localCurrency, final Currency originCurrency,
+			final GoodType goodType);
+
+	public double getMarginalPrice(final Currency denominatedInCurrency, final Currency commodityCurrency);
+
+	public double getMarginalPrice(final Currency denominatedInCurrency, final GoodType goodType);
+
+	/**
+	 * @return unmodifiable map of the marginal prices of all good types; identical
+	 *         instances are returned as long as no order book of the currency
+	 *         changes.
+	 */
+	public Map<GoodType, Double> getMarginalPrices(final Currency denominatedInCurrency);
+}
@@ -25,7 +25,10 @@ public interface MarketPriceFunction extends PriceFunction {
 
 	/**
 	 * resets the market order iterator, thus refreshing the market price function
-	 * to new market situations.
+	 * to new market situations. Until then, {@link #getPrice(double)} and
+	 * {@link #getMarginalPrice(double)} answer the market situation of their
+	 * first call; {@link #getAnalyticalPriceFunctionParameters(double)} always
+	 * answers the current market situation.
 	 */
 	public void reset();
 }
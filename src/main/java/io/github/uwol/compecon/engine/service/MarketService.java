@@ -56,6 +56,12 @@ public interface MarketService {
 	public SortedMap<MarketOrder, Double> findBestFulfillmentSet(final Currency denominatedInCurrency,
 			final double maxAmount, final double maxTotalPrice, final double maxPricePerUnit, final GoodType goodType);
 
+	/**
+	 * @see io.github.uwol.compecon.engine.service.MarketPriceBoard#getCalculatoryPrice(Currency,
+	 *      Currency)
+	 */
+	public double getCalculatoryMarketPrice(final Currency denominatedInCurrency, final Currency commodityCurrency);
+
 	public PriceFunction getFixedPriceFunction(final Currency denominatedInCurrency,
 			final Class<? extends Property> propertyClass);
 
@@ -66,6 +72,13 @@ public interface MarketService {
 	public Map<GoodType, PriceFunction> getFixedPriceFunctions(final Currency denominatedInCurrency,
 			final Set<GoodType> goodTypes);
 
+	/**
+	 * @see io.github.uwol.compecon.engine.service.MarketPriceBoard#getImportPrice(Currency,
+	 *      Currency, GoodType)
+	 */
+	public double getMarginalImportPrice(final Currency localCurrency, final Currency originCurrency,
+			final GoodType goodType);
+
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency,
 			final Class<? extends Property> propertyClass);
 
@@ -99,6 +112,8 @@ public interface MarketService {
 	 */
 	public double getMarketDepth(final Currency denominatedInCurrency, final GoodType goodType);
 
+	public MarketPriceBoard getMarketPriceBoard();
+
 	public MarketPriceFunction getMarketPriceFunction(final Currency denominatedInCurrency,
 			final Currency commodityCurrency);
 
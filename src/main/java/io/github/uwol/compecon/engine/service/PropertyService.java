@@ -67,7 +67,8 @@ public interface PropertyService {
 			final Class<? extends Property> propertyClass);
 
 	/**
-	 * returns the amounts of all capital owned by the given property owner.
+	 * returns an unmodifiable view on the amounts of all capital owned by the given
+	 * property owner.
 	 */
 	public Map<GoodType, Double> getCapitalBalances(final PropertyOwner propertyOwner);
 
@@ -77,7 +78,8 @@ public interface PropertyService {
 	public double getGoodTypeBalance(final PropertyOwner propertyOwner, final GoodType goodType);
 
 	/**
-	 * returns the amounts of all good types owned by the given property owner.
+	 * returns an unmodifiable view on the amounts of all good types owned by the
+	 * given property owner.
 	 */
 	public Map<GoodType, Double> getGoodTypeBalances(final PropertyOwner propertyOwner);
 
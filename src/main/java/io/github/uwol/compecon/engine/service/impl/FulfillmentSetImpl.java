@@ -0,0 +1,83 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service.impl;
+
+import java.util.Arrays;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+
+/**
+ * Reusable buffer for the market orders and amounts selected by
+ * {@link MarketServiceImpl#findBestFulfillmentSet}. Fills are stored in
+ * ascending price order in parallel arrays, so that a purchase does not
+ * allocate a map entry and a boxed amount per market order. Instances are
+ * confined to one thread and reused by subsequent purchases.
+ */
+public class FulfillmentSetImpl {
+
+	protected static final int INITIAL_CAPACITY = 16;
+
+	protected double[] amounts = new double[INITIAL_CAPACITY];
+
+	protected boolean inUse = false;
+
+	protected MarketOrder[] marketOrders = new MarketOrder[INITIAL_CAPACITY];
+
+	protected int size = 0;
+
+	public void add(final MarketOrder marketOrder, final double amount) {
+		if (size == marketOrders.length) {
+			amounts = Arrays.copyOf(amounts, size * 2);
+			marketOrders = Arrays.copyOf(marketOrders, size * 2);
+		}
+
+		amounts[size] = amount;
+		marketOrders[size] = marketOrder;
+		size++;
+	}
+
+	/**
+	 * empties the buffer and releases the references to the market orders.
+	 */
+	public void clear() {
+		Arrays.fill(marketOrders, 0, size, null);
+		size = 0;
+	}
+
+	public double getAmount(final int i) {
+		return amounts[i];
+	}
+
+	public MarketOrder getMarketOrder(final int i) {
+		return marketOrders[i];
+	}
+
+	public boolean isInUse() {
+		return inUse;
+	}
+
+	public void setInUse(final boolean inUse) {
+		this.inUse = inUse;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -19,68 +19,114 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.financial.HardCashOwner;
 import io.github.uwol.compecon.engine.service.HardCashService;
 
+/**
+ * Ledger of hard cash, which assigns each owner a dense slot and stores the
+ * balances as balances[slot][Currency.ordinal()]. Slots of deregistered owners
+ * are reused.
+ */
 public class HardCashServiceImpl implements HardCashService {
 
+	protected static final int NUMBER_OF_CURRENCIES = Currency.values().length;
+
 	// TODO Services have to be stateless, move state into DAO / database
-	private final HashMap<HardCashOwner, HashMap<Currency, Double>> balances = new HashMap<HardCashOwner, HashMap<Currency, Double>>();
+	protected double[][] balances = new double[16][NUMBER_OF_CURRENCIES];
+
+	protected int[] freeSlots = new int[0];
+
+	protected int numberOfFreeSlots = 0;
+
+	protected int numberOfSlots = 0;
+
+	protected final Map<HardCashOwner, Integer> slotsOfOwners = new HashMap<HardCashOwner, Integer>();
 
-	private void assureAgentHasBalances(final HardCashOwner owner) {
-		if (!balances.containsKey(owner)) {
-			balances.put(owner, new HashMap<Currency, Double>());
+	/**
+	 * slot of the owner; assigned on the first write
+	 */
+	protected int assureSlot(final HardCashOwner owner) {
+		final Integer slot = slotsOfOwners.get(owner);
+
+		if (slot != null) {
+			return slot;
 		}
+
+		final int newSlot;
+
+		if (numberOfFreeSlots > 0) {
+			newSlot = freeSlots[--numberOfFreeSlots];
+		} else {
+			if (numberOfSlots == balances.length) {
+				balances = Arrays.copyOf(balances, 2 * numberOfSlots);
+
+				for (int i = numberOfSlots; i < balances.length; i++) {
+					balances[i] = new double[NUMBER_OF_CURRENCIES];
+				}
+			}
+
+			newSlot = numberOfSlots++;
+		}
+
+		slotsOfOwners.put(owner, newSlot);
+		return newSlot;
 	}
 
 	@Override
-	public double decrement(final HardCashOwner owner, final Currency currency, final double amount) {
-		assureAgentHasBalances(owner);
-
+	public synchronized double decrement(final HardCashOwner owner, final Currency currency, final double amount) {
 		assert (amount >= 0.0);
 
-		final double oldBalance = getBalance(owner, currency);
+		final double[] balancesOfOwner = balances[assureSlot(owner)];
+		final int i = currency.ordinal();
 
-		assert (oldBalance >= amount);
+		assert (balancesOfOwner[i] >= amount);
 
-		final double newBalance = oldBalance - amount;
-		balances.get(owner).put(currency, newBalance);
-		return newBalance;
+		balancesOfOwner[i] -= amount;
+		return balancesOfOwner[i];
 	}
 
 	/*
 	 * deregister
 	 */
 	@Override
-	public void deregister(final HardCashOwner owner) {
-		balances.remove(owner); // TODO transfer to other agent?
+	public synchronized void deregister(final HardCashOwner owner) {
+		final Integer slot = slotsOfOwners.remove(owner); // TODO transfer to other agent?
+
+		if (slot != null) {
+			Arrays.fill(balances[slot], 0.0);
+
+			if (numberOfFreeSlots == freeSlots.length) {
+				freeSlots = Arrays.copyOf(freeSlots, Math.max(16, 2 * numberOfFreeSlots));
+			}
+
+			freeSlots[numberOfFreeSlots++] = slot;
+		}
 	}
 
 	@Override
-	public double getBalance(final HardCashOwner owner, final Currency currency) {
-		assureAgentHasBalances(owner);
+	public synchronized double getBalance(final HardCashOwner owner, final Currency currency) {
+		final Integer slot = slotsOfOwners.get(owner);
 
-		final HashMap<Currency, Double> balancesForIAgent = balances.get(owner);
-		double balance = 0;
-		if (balancesForIAgent.containsKey(currency)) {
-			balance = balancesForIAgent.get(currency);
+		if (slot == null) {
+			return 0.0;
 		}
 
-		return balance;
+		return balances[slot][currency.ordinal()];
 	}
 
 	@Override
-	public double increment(final HardCashOwner owner, final Currency currency, final double amount) {
-		assureAgentHasBalances(owner);
-
+	public synchronized double increment(final HardCashOwner owner, final Currency currency, final double amount) {
 		assert (amount > 0.0);
 
-		final double oldBalance = getBalance(owner, currency);
-		final double newBalance = oldBalance + amount;
-		balances.get(owner).put(currency, newBalance);
-		return newBalance;
+		final double[] balancesOfOwner = balances[assureSlot(owner)];
+		final int i = currency.ordinal();
+
+		balancesOfOwner[i] += amount;
+		return balancesOfOwner[i];
 	}
 }
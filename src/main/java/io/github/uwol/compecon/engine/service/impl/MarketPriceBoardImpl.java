@@ -0,0 +1,229 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.github.uwol.compecon.engine.service.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.engine.service.MarketPriceBoard;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Array backed price board. Each entry remembers the version of the order book
+ * it has been read from; entries are only refreshed, when the order book
+ * version differs.
+ */
+public class MarketPriceBoardImpl implements MarketPriceBoard {
+
+	protected static final long NO_VERSION = -1;
+
+	/**
+	 * price of the commodity currency implied by the inverse exchange market
+	 */
+	protected final double[][] calculatoryPricesForCurrencies = new double[Currency.values().length][Currency
+			.values().length];
+
+	/**
+	 * sums of the versions of both exchange markets of a currency pair
+	 */
+	protected final long[][] calculatoryPricesVersions = new long[Currency.values().length][Currency
+			.values().length];
+
+	protected final PriceFunction[][] fixedPriceFunctionsForGoodTypes = new PriceFunction[Currency
+			.values().length][GoodType.values().length];
+
+	/**
+	 * landed cost of a good type per local currency, origin currency and good
+	 * type, i.e. its price in the origin currency converted into the local
+	 * currency
+	 */
+	protected final double[][][] importPrices = new double[Currency.values().length][Currency
+			.values().length][GoodType.values().length];
+
+	/**
+	 * sums of the versions of the good market and the exchange market an import
+	 * price has been derived from
+	 */
+	protected final long[][][] importPricesVersions = new long[Currency.values().length][Currency
+			.values().length][GoodType.values().length];
+
+	protected final double[][] marginalPricesForCurrencies = new double[Currency.values().length][Currency
+			.values().length];
+
+	protected final double[][] marginalPricesForGoodTypes = new double[Currency.values().length][GoodType
+			.values().length];
+
+	@SuppressWarnings("unchecked")
+	protected final Map<GoodType, Double>[] marginalPricesMaps = new Map[Currency.values().length];
+
+	/**
+	 * sum of the order book versions of all good types, from which the map with
+	 * the same index has been built; as versions only increase, the sum changes
+	 * iff one of the versions changes.
+	 */
+	protected final long[] marginalPricesMapVersions = new long[Currency.values().length];
+
+	protected final long[][] versionsForCurrencies = new long[Currency.values().length][Currency.values().length];
+
+	protected final long[][] versionsForGoodTypes = new long[Currency.values().length][GoodType.values().length];
+
+	public MarketPriceBoardImpl() {
+		for (final long[] versions : calculatoryPricesVersions) {
+			Arrays.fill(versions, NO_VERSION);
+		}
+		for (final long[][] versionsOfLocalCurrency : importPricesVersions) {
+			for (final long[] versions : versionsOfLocalCurrency) {
+				Arrays.fill(versions, NO_VERSION);
+			}
+		}
+		for (final long[] versions : versionsForCurrencies) {
+			Arrays.fill(versions, NO_VERSION);
+		}
+		for (final long[] versions : versionsForGoodTypes) {
+			Arrays.fill(versions, NO_VERSION);
+		}
+		Arrays.fill(marginalPricesMapVersions, NO_VERSION);
+	}
+
+	@Override
+	public synchronized PriceFunction getFixedPriceFunction(final Currency denominatedInCurrency,
+			final GoodType goodType) {
+		refresh(denominatedInCurrency, goodType);
+		return fixedPriceFunctionsForGoodTypes[denominatedInCurrency.ordinal()][goodType.ordinal()];
+	}
+
+	@Override
+	public synchronized double getCalculatoryPrice(final Currency denominatedInCurrency,
+			final Currency commodityCurrency) {
+		final int i = denominatedInCurrency.ordinal();
+		final int j = commodityCurrency.ordinal();
+		final long versionSum = refresh(denominatedInCurrency, commodityCurrency)
+				+ refresh(commodityCurrency, denominatedInCurrency);
+
+		if (calculatoryPricesVersions[i][j] != versionSum) {
+			final double inversePrice = marginalPricesForCurrencies[j][i];
+
+			if (Double.isNaN(inversePrice)) {
+				calculatoryPricesForCurrencies[i][j] = marginalPricesForCurrencies[i][j];
+			} else if (Double.isNaN(marginalPricesForCurrencies[i][j])) {
+				calculatoryPricesForCurrencies[i][j] = Double.NaN;
+			} else {
+				calculatoryPricesForCurrencies[i][j] = 1.0 / inversePrice;
+			}
+			calculatoryPricesVersions[i][j] = versionSum;
+		}
+		return calculatoryPricesForCurrencies[i][j];
+	}
+
+	@Override
+	public synchronized double getImportPrice(final Currency localCurrency, final Currency originCurrency,
+			final GoodType goodType) {
+		final int i = localCurrency.ordinal();
+		final int j = originCurrency.ordinal();
+		final int k = goodType.ordinal();
+		final long versionSum = refresh(originCurrency, goodType) + refresh(localCurrency, originCurrency);
+
+		if (importPricesVersions[i][j][k] != versionSum) {
+			importPrices[i][j][k] = marginalPricesForGoodTypes[j][k] * marginalPricesForCurrencies[i][j];
+			importPricesVersions[i][j][k] = versionSum;
+		}
+		return importPrices[i][j][k];
+	}
+
+	@Override
+	public synchronized double getMarginalPrice(final Currency denominatedInCurrency,
+			final Currency commodityCurrency) {
+		refresh(denominatedInCurrency, commodityCurrency);
+		return marginalPricesForCurrencies[denominatedInCurrency.ordinal()][commodityCurrency.ordinal()];
+	}
+
+	@Override
+	public synchronized double getMarginalPrice(final Currency denominatedInCurrency, final GoodType goodType) {
+		refresh(denominatedInCurrency, goodType);
+		return marginalPricesForGoodTypes[denominatedInCurrency.ordinal()][goodType.ordinal()];
+	}
+
+	@Override
+	public synchronized Map<GoodType, Double> getMarginalPrices(final Currency denominatedInCurrency) {
+		final int i = denominatedInCurrency.ordinal();
+		long versionSum = 0;
+
+		for (final GoodType goodType : GoodType.values()) {
+			versionSum += refresh(denominatedInCurrency, goodType);
+		}
+
+		if (marginalPricesMapVersions[i] != versionSum) {
+			final Map<GoodType, Double> marginalPrices = new EnumMap<GoodType, Double>(GoodType.class);
+			for (final GoodType goodType : GoodType.values()) {
+				marginalPrices.put(goodType, marginalPricesForGoodTypes[i][goodType.ordinal()]);
+			}
+			marginalPricesMaps[i] = Collections.unmodifiableMap(marginalPrices);
+			marginalPricesMapVersions[i] = versionSum;
+		}
+		return marginalPricesMaps[i];
+	}
+
+	protected MarketOrderDAO getMarketOrderDAO() {
+		return ApplicationContext.getInstance().getMarketOrderDAO();
+	}
+
+	/**
+	 * @return current version of the order book
+	 */
+	protected long refresh(final Currency denominatedInCurrency, final Currency commodityCurrency) {
+		final int i = denominatedInCurrency.ordinal();
+		final int j = commodityCurrency.ordinal();
+		final long version = getMarketOrderDAO().getVersion(denominatedInCurrency, commodityCurrency);
+
+		if (versionsForCurrencies[i][j] != version) {
+			marginalPricesForCurrencies[i][j] = getMarketOrderDAO().findMarginalPrice(denominatedInCurrency,
+					commodityCurrency, 0.0);
+			versionsForCurrencies[i][j] = version;
+		}
+		return version;
+	}
+
+	/**
+	 * @see #refresh(Currency, Currency)
+	 */
+	protected long refresh(final Currency denominatedInCurrency, final GoodType goodType) {
+		final int i = denominatedInCurrency.ordinal();
+		final int j = goodType.ordinal();
+		final long version = getMarketOrderDAO().getVersion(denominatedInCurrency, goodType);
+
+		if (versionsForGoodTypes[i][j] != version) {
+			final double marginalPrice = getMarketOrderDAO().findMarginalPrice(denominatedInCurrency, goodType, 0.0);
+
+			if (fixedPriceFunctionsForGoodTypes[i][j] == null
+					|| Double.compare(marginalPricesForGoodTypes[i][j], marginalPrice) != 0) {
+				fixedPriceFunctionsForGoodTypes[i][j] = new FixedPriceFunctionImpl(marginalPrice);
+			}
+
+			marginalPricesForGoodTypes[i][j] = marginalPrice;
+			versionsForGoodTypes[i][j] = version;
+		}
+		return version;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.math.price.PriceFunction;
+import io.github.uwol.compecon.math.util.MathUtil;
+
+/**
+ * Immutable copy of the step function constituted by the market orders of a
+ * market at a given order book version. Prices are answered by binary search
+ * over the cumulative amounts, so that an unchanged market can be shared by
+ * all agents requesting its price function.
+ */
+public class MarketPriceFunctionSnapshotImpl implements PriceFunction {
+
+	protected static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * amount offered by the market orders up to and including the market order
+	 * with the same index
+	 */
+	protected final double[] cumulativeAmounts;
+
+	/**
+	 * sum of price times amount of the market orders up to and including the
+	 * market order with the same index
+	 */
+	protected final double[] cumulativePriceTimesAmounts;
+
+	protected final double[] pricesPerUnit;
+
+	protected final int size;
+
+	protected final long version;
+
+	public MarketPriceFunctionSnapshotImpl(final Iterator<MarketOrder> marketOrderIterator, final long version) {
+		double[] cumulativeAmounts = new double[INITIAL_CAPACITY];
+		double[] cumulativePriceTimesAmounts = new double[INITIAL_CAPACITY];
+		double[] pricesPerUnit = new double[INITIAL_CAPACITY];
+		int size = 0;
+
+		double amountSum = 0.0;
+		double priceTimesAmountSum = 0.0;
+
+		while (marketOrderIterator.hasNext()) {
+			final MarketOrder marketOrder = marketOrderIterator.next();
+
+			if (size == pricesPerUnit.length) {
+				cumulativeAmounts = Arrays.copyOf(cumulativeAmounts, size * 2);
+				cumulativePriceTimesAmounts = Arrays.copyOf(cumulativePriceTimesAmounts, size * 2);
+				pricesPerUnit = Arrays.copyOf(pricesPerUnit, size * 2);
+			}
+
+			amountSum += marketOrder.getAmount();
+			priceTimesAmountSum += marketOrder.getPricePerUnit() * marketOrder.getAmount();
+
+			cumulativeAmounts[size] = amountSum;
+			cumulativePriceTimesAmounts[size] = priceTimesAmountSum;
+			pricesPerUnit[size] = marketOrder.getPricePerUnit();
+			size++;
+		}
+
+		this.cumulativeAmounts = cumulativeAmounts;
+		this.cumulativePriceTimesAmounts = cumulativePriceTimesAmounts;
+		this.pricesPerUnit = pricesPerUnit;
+		this.size = size;
+		this.version = version;
+	}
+
+	/**
+	 * @return index of the first market order, at which the cumulative amount
+	 *         reaches the given amount, or size if the amount is not offered
+	 *         completely.
+	 */
+	protected int findMarketOrderIndex(final double atAmount) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (cumulativeAmounts[middle] >= atAmount) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @see io.github.uwol.compecon.engine.service.impl.MarketPriceFunctionImpl#getAnalyticalPriceFunctionParameters(double)
+	 */
+	@Override
+	public PriceFunctionConfig[] getAnalyticalPriceFunctionParameters(final double maxBudget) {
+		final List<PriceFunctionConfig> parameterSets = new ArrayList<PriceFunctionConfig>();
+
+		for (int i = 0; i < size; i++) {
+			final double intervalLeftBoundary = i > 0 ? cumulativeAmounts[i - 1] : 0.0;
+			final double sumOfPriceTimesAmount = i > 0 ? cumulativePriceTimesAmounts[i - 1] : 0.0;
+
+			final double coefficientXPower0 = pricesPerUnit[i];
+			final double coefficientXPowerMinus1 = sumOfPriceTimesAmount - pricesPerUnit[i] * intervalLeftBoundary;
+
+			parameterSets.add(new PriceFunctionConfig(intervalLeftBoundary, cumulativeAmounts[i], coefficientXPower0,
+					coefficientXPowerMinus1));
+
+			if (cumulativePriceTimesAmounts[i] > maxBudget) {
+				break;
+			}
+		}
+		return parameterSets.toArray(new PriceFunctionConfig[0]);
+	}
+
+	@Override
+	public double getMarginalPrice(final double atAmount) {
+		final int index = findMarketOrderIndex(atAmount);
+		if (index == size) {
+			return Double.NaN;
+		}
+		return pricesPerUnit[index];
+	}
+
+	@Override
+	public double getPrice(final double atAmount) {
+		// case 1: no market depth -> marginal price is searched
+		if (MathUtil.equal(atAmount, 0.0)) {
+			return getMarginalPrice(atAmount);
+		}
+
+		final int index = findMarketOrderIndex(atAmount);
+
+		// case 3: numberOfGoods is not offered on market, completely
+		if (index == size) {
+			return Double.NaN;
+		}
+
+		// case 2: regular case
+		final double amountUntilMarketOrder = index > 0 ? cumulativeAmounts[index - 1] : 0.0;
+		final double priceTimesAmountUntilMarketOrder = index > 0 ? cumulativePriceTimesAmounts[index - 1] : 0.0;
+		return (priceTimesAmountUntilMarketOrder + (atAmount - amountUntilMarketOrder) * pricesPerUnit[index])
+				/ atAmount;
+	}
+
+	/**
+	 * @return version of the order book, from which this snapshot has been taken.
+	 */
+	public long getVersion() {
+		return version;
+	}
+}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -34,6 +35,7 @@ import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.service.MarketPriceBoard;
 import io.github.uwol.compecon.engine.service.MarketPriceFunction;
 import io.github.uwol.compecon.engine.service.MarketService;
 import io.github.uwol.compecon.math.price.PriceFunction;
@@ -41,10 +43,38 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class MarketServiceImpl implements MarketService {
 
+	protected final MarketPriceBoardImpl marketPriceBoard = new MarketPriceBoardImpl();
+
+	/**
+	 * price function snapshots, which are reused as long as the version of the
+	 * corresponding order book does not change
+	 */
+	protected final MarketPriceFunctionSnapshotImpl[][] marketPriceFunctionSnapshotsForCurrencies = new MarketPriceFunctionSnapshotImpl[Currency
+			.values().length][Currency.values().length];
+
+	protected final MarketPriceFunctionSnapshotImpl[][] marketPriceFunctionSnapshotsForGoodTypes = new MarketPriceFunctionSnapshotImpl[Currency
+			.values().length][GoodType.values().length];
+
+	protected final ThreadLocal<FulfillmentSetImpl> fulfillmentSets = ThreadLocal
+			.withInitial(FulfillmentSetImpl::new);
+
 	/*
 	 * fulfillment
 	 */
 
+	/**
+	 * @return the fulfillment set of the current thread, or a new one, if the
+	 *         fulfillment set of the current thread has not been released, yet.
+	 */
+	protected FulfillmentSetImpl acquireFulfillmentSet() {
+		FulfillmentSetImpl fulfillmentSet = fulfillmentSets.get();
+		if (fulfillmentSet.isInUse()) {
+			fulfillmentSet = new FulfillmentSetImpl();
+		}
+		fulfillmentSet.setInUse(true);
+		return fulfillmentSet;
+	}
+
 	/**
 	 * @return A map of {@link MarketOrder}s conjoint with the amount to take from
 	 *         these orders.
@@ -52,13 +82,36 @@ public abstract class MarketServiceImpl implements MarketService {
 	protected SortedMap<MarketOrder, Double> findBestFulfillmentSet(final Currency denominatedInCurrency,
 			final double maxAmount, final double maxTotalPrice, final double maxPricePerUnit, final boolean wholeNumber,
 			final GoodType goodType, final Currency commodityCurrency, final Class<? extends Property> propertyClass) {
+		final SortedMap<MarketOrder, Double> selectedOffers = new TreeMap<MarketOrder, Double>();
+		final FulfillmentSetImpl fulfillmentSet = acquireFulfillmentSet();
+
+		try {
+			this.findBestFulfillmentSet(denominatedInCurrency, maxAmount, maxTotalPrice, maxPricePerUnit, wholeNumber,
+					goodType, commodityCurrency, propertyClass, fulfillmentSet);
+
+			for (int i = 0; i < fulfillmentSet.size(); i++) {
+				selectedOffers.put(fulfillmentSet.getMarketOrder(i), fulfillmentSet.getAmount(i));
+			}
+		} finally {
+			releaseFulfillmentSet(fulfillmentSet);
+		}
+		return selectedOffers;
+	}
+
+	/**
+	 * fills the given fulfillment set with {@link MarketOrder}s conjoint with the
+	 * amount to take from these orders, ordered by ascending price.
+	 */
+	protected void findBestFulfillmentSet(final Currency denominatedInCurrency, final double maxAmount,
+			final double maxTotalPrice, final double maxPricePerUnit, final boolean wholeNumber,
+			final GoodType goodType, final Currency commodityCurrency, final Class<? extends Property> propertyClass,
+			final FulfillmentSetImpl fulfillmentSet) {
 
 		assert (MathUtil.greaterEqual(maxAmount, 0.0) || Double.isNaN(maxAmount));
 		assert (MathUtil.greaterEqual(maxTotalPrice, 0.0) || Double.isNaN(maxTotalPrice));
 		assert (MathUtil.greaterEqual(maxPricePerUnit, 0.0) || Double.isNaN(maxPricePerUnit));
 
-		// MarketOrder, Amount
-		final SortedMap<MarketOrder, Double> selectedOffers = new TreeMap<MarketOrder, Double>();
+		fulfillmentSet.clear();
 
 		boolean restrictMaxAmount = true;
 		if (Double.isInfinite(maxAmount) || Double.isNaN(maxAmount)) {
@@ -154,7 +207,7 @@ public abstract class MarketServiceImpl implements MarketService {
 			if (amountToTake == 0) {
 				break;
 			} else {
-				selectedOffers.put(marketOrder, amountToTake);
+				fulfillmentSet.add(marketOrder, amountToTake);
 				selectedAmount += amountToTake;
 				spentMoney += totalPrice;
 
@@ -163,7 +216,6 @@ public abstract class MarketServiceImpl implements MarketService {
 						&& (selectedAmount > maxAmount)));
 			}
 		}
-		return selectedOffers;
 	}
 
 	@Override
@@ -189,6 +241,11 @@ public abstract class MarketServiceImpl implements MarketService {
 				goodType.isWholeNumber(), goodType, null, null);
 	}
 
+	protected void releaseFulfillmentSet(final FulfillmentSetImpl fulfillmentSet) {
+		fulfillmentSet.clear();
+		fulfillmentSet.setInUse(false);
+	}
+
 	/*
 	 * fixed price functions
 	 */
@@ -206,15 +263,15 @@ public abstract class MarketServiceImpl implements MarketService {
 
 	@Override
 	public PriceFunction getFixedPriceFunction(final Currency denominatedInCurrency, final GoodType goodType) {
-		return new FixedPriceFunctionImpl(this.getMarginalMarketPrice(denominatedInCurrency, goodType));
+		return marketPriceBoard.getFixedPriceFunction(denominatedInCurrency, goodType);
 	}
 
 	@Override
 	public Map<GoodType, PriceFunction> getFixedPriceFunctions(final Currency denominatedInCurrency,
 			final Set<GoodType> goodTypes) {
-		final Map<GoodType, PriceFunction> priceFunctions = new HashMap<GoodType, PriceFunction>();
+		final Map<GoodType, PriceFunction> priceFunctions = new EnumMap<GoodType, PriceFunction>(GoodType.class);
 		for (final GoodType goodType : goodTypes) {
-			priceFunctions.put(goodType, getFixedPriceFunction(denominatedInCurrency, goodType));
+			priceFunctions.put(goodType, marketPriceBoard.getFixedPriceFunction(denominatedInCurrency, goodType));
 		}
 		return priceFunctions;
 	}
@@ -227,6 +284,17 @@ public abstract class MarketServiceImpl implements MarketService {
 		return ApplicationContext.getInstance().getLog();
 	}
 
+	@Override
+	public double getCalculatoryMarketPrice(final Currency denominatedInCurrency, final Currency commodityCurrency) {
+		return marketPriceBoard.getCalculatoryPrice(denominatedInCurrency, commodityCurrency);
+	}
+
+	@Override
+	public double getMarginalImportPrice(final Currency localCurrency, final Currency originCurrency,
+			final GoodType goodType) {
+		return marketPriceBoard.getImportPrice(localCurrency, originCurrency, goodType);
+	}
+
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency,
 			final Class<? extends Property> propertyClass) {
@@ -236,37 +304,39 @@ public abstract class MarketServiceImpl implements MarketService {
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final Currency commodityCurrency) {
-		return this.getMarginalMarketPrice(denominatedInCurrency, commodityCurrency, 0.0);
+		return marketPriceBoard.getMarginalPrice(denominatedInCurrency, commodityCurrency);
 	}
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final Currency commodityCurrency,
 			final double atAmount) {
-		return this.getMarketPriceFunction(denominatedInCurrency, commodityCurrency).getMarginalPrice(atAmount);
+		return ApplicationContext.getInstance().getMarketOrderDAO().findMarginalPrice(denominatedInCurrency,
+				commodityCurrency, atAmount);
 	}
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final GoodType goodType) {
-		return this.getMarginalMarketPrice(denominatedInCurrency, goodType, 0.0);
+		return marketPriceBoard.getMarginalPrice(denominatedInCurrency, goodType);
 	}
 
 	@Override
 	public double getMarginalMarketPrice(final Currency denominatedInCurrency, final GoodType goodType,
 			final double atAmount) {
-		return this.getMarketPriceFunction(denominatedInCurrency, goodType).getMarginalPrice(atAmount);
+		return ApplicationContext.getInstance().getMarketOrderDAO().findMarginalPrice(denominatedInCurrency, goodType,
+				atAmount);
 	}
 
 	@Override
 	public Map<GoodType, Double> getMarginalMarketPrices(final Currency denominatedInCurrency) {
-		return getMarginalMarketPrices(denominatedInCurrency, GoodType.values());
+		return marketPriceBoard.getMarginalPrices(denominatedInCurrency);
 	}
 
 	@Override
 	public Map<GoodType, Double> getMarginalMarketPrices(final Currency denominatedInCurrency,
 			final GoodType[] goodTypes) {
-		final Map<GoodType, Double> prices = new HashMap<GoodType, Double>();
+		final Map<GoodType, Double> prices = new EnumMap<GoodType, Double>(GoodType.class);
 		for (final GoodType goodType : goodTypes) {
-			prices.put(goodType, getMarginalMarketPrice(denominatedInCurrency, goodType));
+			prices.put(goodType, marketPriceBoard.getMarginalPrice(denominatedInCurrency, goodType));
 		}
 		return prices;
 	}
@@ -278,9 +348,9 @@ public abstract class MarketServiceImpl implements MarketService {
 	@Override
 	public Map<GoodType, Double> getMarginalMarketPrices(final Currency denominatedInCurrency,
 			final Set<GoodType> goodTypes) {
-		final Map<GoodType, Double> prices = new HashMap<GoodType, Double>();
+		final Map<GoodType, Double> prices = new EnumMap<GoodType, Double>(GoodType.class);
 		for (final GoodType goodType : goodTypes) {
-			prices.put(goodType, getMarginalMarketPrice(denominatedInCurrency, goodType));
+			prices.put(goodType, marketPriceBoard.getMarginalPrice(denominatedInCurrency, goodType));
 		}
 		return prices;
 	}
@@ -316,10 +386,52 @@ public abstract class MarketServiceImpl implements MarketService {
 		return ApplicationContext.getInstance().getMarketOrderDAO().getIterator(denominatedInCurrency, goodType);
 	}
 
+	protected MarketPriceFunctionSnapshotImpl getMarketPriceFunctionSnapshot(final Currency denominatedInCurrency,
+			final Class<? extends Property> propertyClass) {
+		// property markets are not versioned
+		return new MarketPriceFunctionSnapshotImpl(getMarketOrderIterator(denominatedInCurrency, propertyClass), 0);
+	}
+
+	protected MarketPriceFunctionSnapshotImpl getMarketPriceFunctionSnapshot(final Currency denominatedInCurrency,
+			final Currency commodityCurrency) {
+		final long version = ApplicationContext.getInstance().getMarketOrderDAO().getVersion(denominatedInCurrency,
+				commodityCurrency);
+		MarketPriceFunctionSnapshotImpl snapshot = marketPriceFunctionSnapshotsForCurrencies[denominatedInCurrency
+				.ordinal()][commodityCurrency.ordinal()];
+
+		if (snapshot == null || snapshot.getVersion() != version) {
+			snapshot = new MarketPriceFunctionSnapshotImpl(
+					getMarketOrderIterator(denominatedInCurrency, commodityCurrency), version);
+			marketPriceFunctionSnapshotsForCurrencies[denominatedInCurrency.ordinal()][commodityCurrency
+					.ordinal()] = snapshot;
+		}
+		return snapshot;
+	}
+
+	protected MarketPriceFunctionSnapshotImpl getMarketPriceFunctionSnapshot(final Currency denominatedInCurrency,
+			final GoodType goodType) {
+		final long version = ApplicationContext.getInstance().getMarketOrderDAO().getVersion(denominatedInCurrency,
+				goodType);
+		MarketPriceFunctionSnapshotImpl snapshot = marketPriceFunctionSnapshotsForGoodTypes[denominatedInCurrency
+				.ordinal()][goodType.ordinal()];
+
+		if (snapshot == null || snapshot.getVersion() != version) {
+			snapshot = new MarketPriceFunctionSnapshotImpl(getMarketOrderIterator(denominatedInCurrency, goodType),
+					version);
+			marketPriceFunctionSnapshotsForGoodTypes[denominatedInCurrency.ordinal()][goodType.ordinal()] = snapshot;
+		}
+		return snapshot;
+	}
+
 	/*
 	 * iterators
 	 */
 
+	@Override
+	public MarketPriceBoard getMarketPriceBoard() {
+		return marketPriceBoard;
+	}
+
 	@Override
 	public MarketPriceFunction getMarketPriceFunction(final Currency denominatedInCurrency,
 			final Currency commodityCurrency) {
@@ -19,10 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -65,13 +63,13 @@ public class PropertyServiceImpl implements PropertyService {
 		assert (amount >= 0.0);
 
 		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		final double oldBalance = goodTypeOwnership.getOwnedGoodTypes().get(goodType);
+		final double oldBalance = goodTypeOwnership.getOwnedAmount(goodType);
 
 		assert (MathUtil.lesserEqual(amount, oldBalance)) : "cannot decrement " + amount + " from " + oldBalance + " "
 				+ goodType;
 
 		final double newBalance = Math.max(oldBalance - amount, 0);
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		goodTypeOwnership.setOwnedAmount(goodType, newBalance);
 
 		HibernateUtil.flushSession();
 
@@ -109,30 +107,17 @@ public class PropertyServiceImpl implements PropertyService {
 
 	@Override
 	public Map<GoodType, Double> getCapitalBalances(final PropertyOwner propertyOwner) {
-		final Map<GoodType, Double> capital = new HashMap<GoodType, Double>();
-		for (final Entry<GoodType, Double> entry : getGoodTypeBalances(propertyOwner).entrySet()) {
-			if (entry.getKey().isDurable()) {
-				capital.put(entry.getKey(), entry.getValue());
-			}
-		}
-		return capital;
+		return assureGoodTypeOwnership(propertyOwner).getOwnedCapitalGoodTypes();
 	}
 
 	@Override
 	public double getGoodTypeBalance(final PropertyOwner propertyOwner, final GoodType goodType) {
-		assureGoodTypeOwnership(propertyOwner);
-
-		final GoodTypeOwnership goodTypeOwnership = ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
-				.findFirstByPropertyOwner(propertyOwner);
-		return goodTypeOwnership.getOwnedGoodTypes().get(goodType);
+		return assureGoodTypeOwnership(propertyOwner).getOwnedAmount(goodType);
 	}
 
 	@Override
 	public Map<GoodType, Double> getGoodTypeBalances(final PropertyOwner propertyOwner) {
-		assureGoodTypeOwnership(propertyOwner);
-
-		return new HashMap<GoodType, Double>(ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
-				.findFirstByPropertyOwner(propertyOwner).getOwnedGoodTypes());
+		return assureGoodTypeOwnership(propertyOwner).getOwnedGoodTypes();
 	}
 
 	@Override
@@ -141,8 +126,8 @@ public class PropertyServiceImpl implements PropertyService {
 		assert (amount >= 0.0);
 
 		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		final double newBalance = goodTypeOwnership.getOwnedGoodTypes().get(goodType) + amount;
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		final double newBalance = goodTypeOwnership.getOwnedAmount(goodType) + amount;
+		goodTypeOwnership.setOwnedAmount(goodType, newBalance);
 
 		HibernateUtil.flushSession();
 
@@ -152,7 +137,7 @@ public class PropertyServiceImpl implements PropertyService {
 	@Override
 	public void resetGoodTypeAmount(final PropertyOwner propertyOwner, final GoodType goodType) {
 		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
-		goodTypeOwnership.getOwnedGoodTypes().put(goodType, 0.0);
+		goodTypeOwnership.setOwnedAmount(goodType, 0.0);
 
 		HibernateUtil.flushSession();
 	}
@@ -179,9 +164,10 @@ public class PropertyServiceImpl implements PropertyService {
 
 			for (final GoodTypeOwnership goodTypeOwnership : ApplicationContext.getInstance().getGoodTypeOwnershipDAO()
 					.findAllByPropertyOwner(oldOwner)) {
-				for (final Entry<GoodType, Double> entry : goodTypeOwnership.getOwnedGoodTypes().entrySet()) {
-					if (!entry.getKey().equals(GoodType.LABOURHOUR)) {
-						transferGoodTypeAmount(entry.getKey(), oldOwner, newOwnerHousehold, entry.getValue());
+				for (final GoodType goodType : GoodType.values()) {
+					if (!GoodType.LABOURHOUR.equals(goodType)) {
+						transferGoodTypeAmount(goodType, oldOwner, newOwnerHousehold,
+								goodTypeOwnership.getOwnedAmount(goodType));
 					}
 				}
 			}
@@ -19,9 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.service.impl;
 
-import java.util.Map.Entry;
-import java.util.SortedMap;
-
 import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
@@ -65,19 +62,40 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 			final BankAccountDelegate buyersBankAccountDelegate,
 			final BankAccountDelegate buyersBankAccountForCommodityCurrencyDelegate) {
 
-		final SortedMap<MarketOrder, Double> marketOffers = this.findBestFulfillmentSet(
-				buyersBankAccountDelegate.getBankAccount().getCurrency(), maxAmount, maxTotalPrice, maxPricePerUnit,
-				wholeNumber, goodType, commodityCurrency, propertyClass);
+		final FulfillmentSetImpl fulfillmentSet = acquireFulfillmentSet();
+
+		try {
+			this.findBestFulfillmentSet(buyersBankAccountDelegate.getBankAccount().getCurrency(), maxAmount,
+					maxTotalPrice, maxPricePerUnit, wholeNumber, goodType, commodityCurrency, propertyClass,
+					fulfillmentSet);
+
+			return this.settle(fulfillmentSet, goodType, commodityCurrency, propertyClass, maxAmount, maxTotalPrice,
+					maxPricePerUnit, buyer, buyersBankAccountDelegate, buyersBankAccountForCommodityCurrencyDelegate);
+		} finally {
+			releaseFulfillmentSet(fulfillmentSet);
+		}
+	}
 
+	/**
+	 * transfers money and commodities for the market orders in the fulfillment
+	 * set.
+	 *
+	 * @return total price and total amount
+	 */
+	protected double[] settle(final FulfillmentSetImpl fulfillmentSet, final GoodType goodType,
+			final Currency commodityCurrency, final Class<? extends Property> propertyClass, final double maxAmount,
+			final double maxTotalPrice, final double maxPricePerUnit, final MarketParticipant buyer,
+			final BankAccountDelegate buyersBankAccountDelegate,
+			final BankAccountDelegate buyersBankAccountForCommodityCurrencyDelegate) {
 		final Bank buyersBank = buyersBankAccountDelegate.getBankAccount().getManagingBank();
 
 		double moneySpentSum = 0;
 		double amountSum = 0;
 		final double[] priceAndAmount = new double[2];
 
-		for (final Entry<MarketOrder, Double> entry : marketOffers.entrySet()) {
-			final MarketOrder marketOrder = entry.getKey();
-			final double amount = entry.getValue();
+		for (int i = 0; i < fulfillmentSet.size(); i++) {
+			final MarketOrder marketOrder = fulfillmentSet.getMarketOrder(i);
+			final double amount = fulfillmentSet.getAmount(i);
 
 			// empty market order should not exist, as they are deleted
 			// after execution in this method
@@ -102,7 +120,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 			buyersBank.transferMoney(buyersBankAccountDelegate.getBankAccount(),
 					marketOrder.getOfferorsBankAcountDelegate().getBankAccount(),
 					amount * marketOrder.getPricePerUnit(),
-					"price for " + MathUtil.round(amount) + " units of " + marketOrder.getCommodity());
+					() -> "price for " + MathUtil.round(amount) + " units of " + marketOrder.getCommodity());
 
 			// transfer ownership
 			switch (marketOrder.getCommodityType()) {
@@ -112,7 +130,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 						marketOrder.getOfferor(), buyer, amount);
 
 				// decrement amount in market order
-				marketOrder.decrementAmount(amount);
+				ApplicationContext.getInstance().getMarketOrderDAO().decrementAmount(marketOrder, amount);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getGoodType(), amount,
@@ -135,11 +153,11 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 				// transfer commodity currency
 				bank.transferMoney(marketOrder.getCommodityCurrencyOfferorsBankAccountDelegate().getBankAccount(),
 						buyersBankAccountForCommodityCurrencyDelegate.getBankAccount(), amount,
-						"transfer of " + Currency.formatMoneySum(amount) + " units of commoditycurrency "
+						() -> "transfer of " + Currency.formatMoneySum(amount) + " units of commoditycurrency "
 								+ marketOrder.getCommodity());
 
 				// decrement amount in market order
-				marketOrder.decrementAmount(amount);
+				ApplicationContext.getInstance().getMarketOrderDAO().decrementAmount(marketOrder, amount);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getCommodityCurrency(), amount,
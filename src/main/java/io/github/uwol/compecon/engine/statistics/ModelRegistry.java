@@ -88,7 +88,8 @@ public class ModelRegistry {
 				governmentTransfersModel = new PeriodDataAccumulatorTimeSeriesModel(
 						currency.getIso4217Code() + " government transfers");
 				incomeModel = new PeriodDataAccumulatorTimeSeriesModel(currency.getIso4217Code() + " income");
-				incomeDistributionModel = new PeriodDataDistributionModel(this.currency);
+				incomeDistributionModel = new PeriodDataDistributionModel(this.currency, ApplicationContext.getInstance()
+						.getConfiguration().dashboardConfig.getIncomeDistributionNumberOfBins());
 				incomeSourceModel = new PeriodDataPercentageTimeSeriesModel<IncomeSource>(IncomeSource.values(),
 						currency.getIso4217Code() + " income source");
 				labourHourCapacityModel = new PeriodDataAccumulatorTimeSeriesModel(
@@ -390,7 +391,8 @@ public class ModelRegistry {
 						currency.getIso4217Code() + " " + agentType.getSimpleName()));
 			}
 
-			pricesModel = new PricesModel();
+			pricesModel = new PricesModel(
+					ApplicationContext.getInstance().getConfiguration().dashboardConfig.getPricesNumberOfDays());
 			marketDepthModel = new MarketDepthModel();
 			keyInterestRateModel = new PeriodDataAccumulatorTimeSeriesModel(
 					currency.getIso4217Code() + " key interest rate");
@@ -455,6 +457,8 @@ public class ModelRegistry {
 
 	protected final Map<Currency, NationalEconomyModel> nationalEconomyModels = new HashMap<Currency, NationalEconomyModel>();
 
+	protected final PeriodModel periodModel = new PeriodModel();
+
 	protected final TimeSystemModel timeSystemModel = new TimeSystemModel();
 
 	/**
@@ -474,6 +478,10 @@ public class ModelRegistry {
 		return nationalEconomyModels.get(currency);
 	}
 
+	public PeriodModel getPeriodModel() {
+		return periodModel;
+	}
+
 	public TimeSystemModel getTimeSystemModel() {
 		return timeSystemModel;
 	}
@@ -488,6 +496,8 @@ public class ModelRegistry {
 		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
 			nationalEconomyModel.nextPeriod();
 		}
+
+		periodModel.nextPeriod();
 	}
 
 }
@@ -19,24 +19,34 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 import org.jfree.data.statistics.HistogramDataset;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
-import com.google.common.primitives.Doubles;
-
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
+/**
+ * Distribution of values added during a period, e.g. household incomes. The
+ * values are buffered in a primitive array and summarized in linear time by a
+ * fixed-bin histogram, which bounds the error of quantiles and sums by the bin
+ * width. Chart datasets are built on request.
+ */
 public class PeriodDataDistributionModel extends NotificationListenerModel {
 
 	public class SummaryStatisticalData {
 
-		public double[] originalValues;
+		protected int[] binCounts;
+
+		protected double[] binSums;
+
+		protected double binWidth;
+
+		protected double minValue;
+
+		public int numberOfValues;
 
 		// median, y-value
 		public double quantil50Percent;
@@ -73,34 +83,140 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 
 		// F(infinite)
 		public double yTotalSum;
+
+		/**
+		 * @return sum of the x smallest values
+		 */
+		protected double getSumOfSmallestValues(final int x) {
+			double sum = 0.0;
+			int count = 0;
+
+			for (int i = 0; i < binCounts.length && count < x; i++) {
+				if (count + binCounts[i] <= x) {
+					sum += binSums[i];
+				} else {
+					sum += (x - count) * binSums[i] / binCounts[i];
+				}
+				count += binCounts[i];
+			}
+
+			return sum;
+		}
+
+		/**
+		 * @return value at position x of the sorted values, interpolated within
+		 *         its bin
+		 */
+		public double getValueAtX(final int x) {
+			assert (x >= 0 && x < numberOfValues);
+
+			int count = 0;
+
+			for (int i = 0; i < binCounts.length; i++) {
+				if (count + binCounts[i] > x) {
+					return minValue + binWidth * (i + (x - count + 0.5) / binCounts[i]);
+				}
+				count += binCounts[i];
+			}
+
+			return minValue + binWidth * binCounts.length;
+		}
+
+		/**
+		 * @return position of the sorted values, at which the sum of values up to
+		 *         and including this position exceeds the given share of the total
+		 *         sum
+		 */
+		protected int getXWithPercentY(final double percent) {
+			final double threshold = yTotalSum * percent;
+			double sum = 0.0;
+			int count = 0;
+
+			for (int i = 0; i < binCounts.length; i++) {
+				if (sum + binSums[i] > threshold) {
+					final int x = count + (int) ((threshold - sum) / (binSums[i] / binCounts[i]));
+					return Math.min(x, count + binCounts[i] - 1);
+				}
+				sum += binSums[i];
+				count += binCounts[i];
+			}
+
+			return 0;
+		}
 	}
 
-	protected HistogramDataset datasetsHistogram = new HistogramDataset();
+	protected HistogramDataset histogramDataset = new HistogramDataset();
 
-	protected XYSeriesCollection datasetsLorenzCurve = new XYSeriesCollection();
+	protected XYSeriesCollection lorenzCurveDataset = new XYSeriesCollection();
 
 	protected final int NUMBER_OF_BINS = 30;
 
+	protected final int numberOfSummaryBins;
+
+	protected int numberOfValues;
+
+	protected int numberOfValuesOfLatestPeriod;
+
 	protected final Currency referenceCurrency;
 
 	protected SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
 
-	protected List<Double> values = new ArrayList<Double>();
+	protected double[] values = new double[16];
+
+	protected double[] valuesOfLatestPeriod = new double[0];
+
+	/**
+	 * the error of quantiles is bounded by the value range of a period divided by
+	 * the number of summary bins
+	 */
+	public PeriodDataDistributionModel(final Currency referenceCurrency, final int numberOfSummaryBins) {
+		assert (numberOfSummaryBins > 0);
 
-	public PeriodDataDistributionModel(final Currency referenceCurrency) {
 		this.referenceCurrency = referenceCurrency;
+		this.numberOfSummaryBins = numberOfSummaryBins;
 	}
 
 	public void add(final double value) {
-		values.add(value);
+		if (numberOfValues == values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+
+		values[numberOfValues++] = value;
 	}
 
-	public HistogramDataset getHistogramDataset() {
-		return datasetsHistogram;
+	public synchronized HistogramDataset getHistogramDataset() {
+		if (histogramDataset == null) {
+			histogramDataset = new HistogramDataset();
+			histogramDataset.addSeries(referenceCurrency.getIso4217Code(),
+					Arrays.copyOf(valuesOfLatestPeriod, numberOfValuesOfLatestPeriod), NUMBER_OF_BINS, 0,
+					summaryStatisticalData.quantil99Percent);
+		}
+
+		return histogramDataset;
 	}
 
-	public XYDataset getLorenzCurveDataset() {
-		return datasetsLorenzCurve;
+	public synchronized XYDataset getLorenzCurveDataset() {
+		if (lorenzCurveDataset == null) {
+			final XYSeries seriesLorenzCurve = new XYSeries(referenceCurrency.getIso4217Code() + " lorenz curve");
+
+			for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
+				final double x = i / (double) summaryStatisticalData.ySumAtPercentOfX.length;
+				final double y = summaryStatisticalData.ySumAtPercentOfX[i] / summaryStatisticalData.yTotalSum;
+				seriesLorenzCurve.add(x, y);
+			}
+
+			seriesLorenzCurve.add(1, 1);
+
+			final XYSeries seriesLine = new XYSeries("line of equality " + referenceCurrency.getIso4217Code());
+			seriesLine.add(0, 0);
+			seriesLine.add(1, 1);
+
+			lorenzCurveDataset = new XYSeriesCollection();
+			lorenzCurveDataset.addSeries(seriesLorenzCurve);
+			lorenzCurveDataset.addSeries(seriesLine);
+		}
+
+		return lorenzCurveDataset;
 	}
 
 	public SummaryStatisticalData getSummaryStatisticalData() {
@@ -108,109 +224,91 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 	}
 
 	public void nextPeriod() {
-		final double[] valuesAsArray = Doubles.toArray(values);
-		values.clear();
-		Arrays.sort(valuesAsArray);
+		final SummaryStatisticalData summaryStatisticalData = summarize(values, numberOfValues);
+
+		synchronized (this) {
+			// the buffer is handed over to the lazily built datasets
+			valuesOfLatestPeriod = values;
+			numberOfValuesOfLatestPeriod = numberOfValues;
+			this.summaryStatisticalData = summaryStatisticalData;
+			histogramDataset = null;
+			lorenzCurveDataset = null;
+		}
 
-		/*
-		 * precalculate summary statistical data
-		 */
-		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
-		this.summaryStatisticalData = summaryStatisticalData;
+		values = new double[Math.max(16, numberOfValues)];
+		numberOfValues = 0;
 
-		summaryStatisticalData.originalValues = valuesAsArray;
+		notifyListeners();
+	}
 
-		if (valuesAsArray.length > 0) {
-			summaryStatisticalData.quantil5Percent = Math.max(0.0, valuesAsArray[(int) (valuesAsArray.length * 0.05)]);
-			summaryStatisticalData.quantil50Percent = Math.max(0.0, valuesAsArray[(int) (valuesAsArray.length * 0.5)]);
-			summaryStatisticalData.quantil95Percent = Math.max(0.0, valuesAsArray[(int) (valuesAsArray.length * 0.95)]);
-			summaryStatisticalData.quantil99Percent = Math.max(0.0, valuesAsArray[(int) (valuesAsArray.length * 0.99)]);
-		}
+	protected SummaryStatisticalData summarize(final double[] values, final int numberOfValues) {
+		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
+		summaryStatisticalData.numberOfValues = numberOfValues;
+		summaryStatisticalData.binCounts = new int[numberOfSummaryBins];
+		summaryStatisticalData.binSums = new double[numberOfSummaryBins];
 
-		for (final double value : valuesAsArray) {
-			summaryStatisticalData.yTotalSum += value;
+		if (numberOfValues == 0) {
+			return summaryStatisticalData;
 		}
 
-		final int bucketWidth = valuesAsArray.length / summaryStatisticalData.ySumAtPercentOfX.length;
+		double minValue = values[0];
+		double maxValue = values[0];
 
-		double sum = 0;
+		for (int i = 0; i < numberOfValues; i++) {
+			minValue = Math.min(minValue, values[i]);
+			maxValue = Math.max(maxValue, values[i]);
+			summaryStatisticalData.yTotalSum += values[i];
+		}
 
-		if (bucketWidth != 0) {
-			for (int i = 0; i < valuesAsArray.length; i++) {
-				/*
-				 * xWith..PercentY
-				 */
-				sum += valuesAsArray[i];
-				if (sum > (summaryStatisticalData.yTotalSum * 0.9) && summaryStatisticalData.xWith90PercentY == 0) {
-					summaryStatisticalData.xWith90PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.8)
-						&& summaryStatisticalData.xWith80PercentY == 0) {
-					summaryStatisticalData.xWith80PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.7)
-						&& summaryStatisticalData.xWith70PercentY == 0) {
-					summaryStatisticalData.xWith70PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.6)
-						&& summaryStatisticalData.xWith60PercentY == 0) {
-					summaryStatisticalData.xWith60PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.5)
-						&& summaryStatisticalData.xWith50PercentY == 0) {
-					summaryStatisticalData.xWith50PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.4)
-						&& summaryStatisticalData.xWith40PercentY == 0) {
-					summaryStatisticalData.xWith40PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.3)
-						&& summaryStatisticalData.xWith30PercentY == 0) {
-					summaryStatisticalData.xWith30PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.2)
-						&& summaryStatisticalData.xWith20PercentY == 0) {
-					summaryStatisticalData.xWith20PercentY = i;
-				} else if (sum > (summaryStatisticalData.yTotalSum * 0.1)
-						&& summaryStatisticalData.xWith10PercentY == 0) {
-					summaryStatisticalData.xWith10PercentY = i;
-				}
+		summaryStatisticalData.minValue = minValue;
+		summaryStatisticalData.binWidth = (maxValue - minValue) / numberOfSummaryBins;
 
-				/*
-				 * ySumAtPercentOfX
-				 */
-				if (i % bucketWidth == 0) {
-					final int position = i / bucketWidth;
-					if (position < summaryStatisticalData.ySumAtPercentOfX.length) {
-						summaryStatisticalData.ySumAtPercentOfX[position] = sum;
-					}
-				}
-			}
+		for (int i = 0; i < numberOfValues; i++) {
+			final int bin = summaryStatisticalData.binWidth > 0.0
+					? Math.min((int) ((values[i] - minValue) / summaryStatisticalData.binWidth),
+							numberOfSummaryBins - 1)
+					: 0;
+			summaryStatisticalData.binCounts[bin]++;
+			summaryStatisticalData.binSums[bin] += values[i];
 		}
 
 		/*
-		 * create dataset for histogram
+		 * quantiles
 		 */
-		final HistogramDataset datasetHistogram = new HistogramDataset();
-		datasetHistogram.addSeries(referenceCurrency.getIso4217Code(), valuesAsArray, NUMBER_OF_BINS, 0,
-				summaryStatisticalData.quantil99Percent);
-		datasetsHistogram = datasetHistogram;
+		summaryStatisticalData.quantil5Percent = Math.max(0.0,
+				summaryStatisticalData.getValueAtX((int) (numberOfValues * 0.05)));
+		summaryStatisticalData.quantil50Percent = Math.max(0.0,
+				summaryStatisticalData.getValueAtX((int) (numberOfValues * 0.5)));
+		summaryStatisticalData.quantil95Percent = Math.max(0.0,
+				summaryStatisticalData.getValueAtX((int) (numberOfValues * 0.95)));
+		summaryStatisticalData.quantil99Percent = Math.max(0.0,
+				summaryStatisticalData.getValueAtX((int) (numberOfValues * 0.99)));
 
-		/*
-		 * create dataset for lorenz curve
-		 */
-		final XYSeries seriesLorenzCurve = new XYSeries(referenceCurrency.getIso4217Code() + " lorenz curve");
+		final int bucketWidth = numberOfValues / summaryStatisticalData.ySumAtPercentOfX.length;
 
-		for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
-			final double x = i / (double) summaryStatisticalData.ySumAtPercentOfX.length;
-			final double y = summaryStatisticalData.ySumAtPercentOfX[i] / summaryStatisticalData.yTotalSum;
-			seriesLorenzCurve.add(x, y);
+		if (bucketWidth != 0) {
+			/*
+			 * xWith..PercentY
+			 */
+			summaryStatisticalData.xWith10PercentY = summaryStatisticalData.getXWithPercentY(0.1);
+			summaryStatisticalData.xWith20PercentY = summaryStatisticalData.getXWithPercentY(0.2);
+			summaryStatisticalData.xWith30PercentY = summaryStatisticalData.getXWithPercentY(0.3);
+			summaryStatisticalData.xWith40PercentY = summaryStatisticalData.getXWithPercentY(0.4);
+			summaryStatisticalData.xWith50PercentY = summaryStatisticalData.getXWithPercentY(0.5);
+			summaryStatisticalData.xWith60PercentY = summaryStatisticalData.getXWithPercentY(0.6);
+			summaryStatisticalData.xWith70PercentY = summaryStatisticalData.getXWithPercentY(0.7);
+			summaryStatisticalData.xWith80PercentY = summaryStatisticalData.getXWithPercentY(0.8);
+			summaryStatisticalData.xWith90PercentY = summaryStatisticalData.getXWithPercentY(0.9);
+
+			/*
+			 * ySumAtPercentOfX
+			 */
+			for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
+				summaryStatisticalData.ySumAtPercentOfX[i] = summaryStatisticalData
+						.getSumOfSmallestValues(i * bucketWidth + 1);
+			}
 		}
 
-		seriesLorenzCurve.add(1, 1);
-
-		final XYSeries seriesLine = new XYSeries("line of equality " + referenceCurrency.getIso4217Code());
-		seriesLine.add(0, 0);
-		seriesLine.add(1, 1);
-
-		final XYSeriesCollection datasetLorenzCurve = datasetsLorenzCurve;
-		datasetLorenzCurve.removeAllSeries();
-		datasetLorenzCurve.addSeries(seriesLorenzCurve);
-		datasetLorenzCurve.addSeries(seriesLine);
-
-		notifyListeners();
+		return summaryStatisticalData;
 	}
 }
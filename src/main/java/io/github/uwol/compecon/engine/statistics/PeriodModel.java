@@ -17,19 +17,15 @@ You should have received a copy of the GNU General Public License
 along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package io.github.uwol.compecon.engine.timesystem;
+package io.github.uwol.compecon.engine.statistics;
 
-import java.util.Set;
-
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
-
-public interface Month {
-
-	public void addEvent(final TimeSystemEvent event, final DayType dayType, HourType hourType);
-
-	public Set<TimeSystemEvent> getEvents(final DayType dayType, final HourType hourType);
+/**
+ * Notifies listeners once per period, after all period data models have
+ * recorded the period.
+ */
+public class PeriodModel extends NotificationListenerModel {
 
-	public MonthType getMonthType();
+	public void nextPeriod() {
+		notifyListeners();
+	}
 }
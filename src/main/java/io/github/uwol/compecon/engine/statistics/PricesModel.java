@@ -19,7 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
-import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,8 +26,6 @@ import java.util.Map;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
 /**
  * Model storing multiple price models for good types and commodity currencies
@@ -37,98 +34,140 @@ import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 public class PricesModel extends NotificationListenerModel {
 
 	/**
-	 * Model storing prices for a good type or commodity currency, denominated in a
-	 * given currency.
+	 * Model storing daily prices for a good type or commodity currency,
+	 * denominated in a given currency. The days are kept in ring buffers, so that
+	 * a new day overwrites the oldest one. Days are read by index, with index 0
+	 * being the oldest day. Other threads than the simulation thread have to
+	 * read a {@link #getSnapshot()}.
 	 */
 	public class PriceModel {
 
-		double[] close = new double[NUMBER_OF_DAYS];
-		Date[] date = new Date[NUMBER_OF_DAYS];
-		double[] high = new double[NUMBER_OF_DAYS];
+		protected final double[] close = new double[numberOfDaysInHistory];
 
-		int i = -1;
-		private DayType lastDate_dayType;
-		private MonthType lastDate_monthType;
-		private int lastDate_year;
-		double[] low = new double[NUMBER_OF_DAYS];
-		double[] open = new double[NUMBER_OF_DAYS];
+		protected final Date[] date = new Date[numberOfDaysInHistory];
 
-		double[] volume = new double[NUMBER_OF_DAYS];
+		protected int dayNumberOfLatestDay = -1;
 
-		public double[] getClose() {
-			return Arrays.copyOf(close, i);
+		protected final double[] high = new double[numberOfDaysInHistory];
+
+		protected int indexOfLatestDay = -1;
+
+		protected final double[] low = new double[numberOfDaysInHistory];
+
+		protected int numberOfDays;
+
+		protected final double[] open = new double[numberOfDaysInHistory];
+
+		protected final double[] volume = new double[numberOfDaysInHistory];
+
+		public double getClose(final int index) {
+			return close[toBufferIndex(index)];
+		}
+
+		public Date getDate(final int index) {
+			return date[toBufferIndex(index)];
+		}
+
+		public double getHigh(final int index) {
+			return high[toBufferIndex(index)];
 		}
 
-		public Date[] getDate() {
-			return Arrays.copyOf(date, i);
+		public double getLow(final int index) {
+			return low[toBufferIndex(index)];
 		}
 
-		public double[] getHigh() {
-			return Arrays.copyOf(high, i);
+		/**
+		 * @return number of days preceding the latest day, which is still open, as
+		 *         long as the market is trading.
+		 */
+		public int getNumberOfCompletedDays() {
+			return Math.max(numberOfDays - 1, 0);
 		}
 
-		public double[] getLow() {
-			return Arrays.copyOf(low, i);
+		/**
+		 * @return number of stored days including the latest day.
+		 */
+		public int getNumberOfDays() {
+			return numberOfDays;
 		}
 
-		public double[] getOpen() {
-			return Arrays.copyOf(open, i);
+		public double getOpen(final int index) {
+			return open[toBufferIndex(index)];
 		}
 
-		public double[] getVolume() {
-			return Arrays.copyOf(volume, i);
+		/**
+		 * @return copy of the days, taken under the lock of the model, which is
+		 *         not modified by the simulation
+		 */
+		public synchronized PriceModel getSnapshot() {
+			final PriceModel snapshot = new PriceModel();
+			System.arraycopy(close, 0, snapshot.close, 0, numberOfDaysInHistory);
+			System.arraycopy(date, 0, snapshot.date, 0, numberOfDaysInHistory);
+			System.arraycopy(high, 0, snapshot.high, 0, numberOfDaysInHistory);
+			System.arraycopy(low, 0, snapshot.low, 0, numberOfDaysInHistory);
+			System.arraycopy(open, 0, snapshot.open, 0, numberOfDaysInHistory);
+			System.arraycopy(volume, 0, snapshot.volume, 0, numberOfDaysInHistory);
+			snapshot.dayNumberOfLatestDay = dayNumberOfLatestDay;
+			snapshot.indexOfLatestDay = indexOfLatestDay;
+			snapshot.numberOfDays = numberOfDays;
+			return snapshot;
+		}
+
+		public double getVolume(final int index) {
+			return volume[toBufferIndex(index)];
 		}
 
 		public boolean hasData() {
-			return i > -1;
+			return numberOfDays > 0;
 		}
 
-		public void tick(final double price, final double volume) {
+		public synchronized void tick(final double price, final double volume) {
+			final int dayNumber = ApplicationContext.getInstance().getTimeSystem().getCurrentDayNumber();
+
 			// current day?
-			if (lastDate_year == ApplicationContext.getInstance().getTimeSystem().getCurrentYear()
-					&& lastDate_monthType == ApplicationContext.getInstance().getTimeSystem().getCurrentMonthType()
-					&& lastDate_dayType == ApplicationContext.getInstance().getTimeSystem().getCurrentDayType()) {
-				this.volume[i] += volume;
+			if (dayNumber == dayNumberOfLatestDay) {
+				this.volume[indexOfLatestDay] += volume;
 
-				if (price > high[i]) {
-					high[i] = price;
+				if (price > high[indexOfLatestDay]) {
+					high[indexOfLatestDay] = price;
 				}
-				if (price < low[i]) {
-					low[i] = price;
-				}
-				close[i] = price;
-			} else { // new day
-				if (i < NUMBER_OF_DAYS - 1) {
-					i++;
-				} else {
-					System.arraycopy(date, 1, date, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(high, 1, high, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(low, 1, low, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(open, 1, open, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(close, 1, close, 0, NUMBER_OF_DAYS - 1);
-					System.arraycopy(this.volume, 1, this.volume, 0, NUMBER_OF_DAYS - 1);
+				if (price < low[indexOfLatestDay]) {
+					low[indexOfLatestDay] = price;
 				}
+				close[indexOfLatestDay] = price;
+			} else { // new day overwrites the oldest day, if the buffers are full
+				indexOfLatestDay = (indexOfLatestDay + 1) % numberOfDaysInHistory;
+				numberOfDays = Math.min(numberOfDays + 1, numberOfDaysInHistory);
+				dayNumberOfLatestDay = dayNumber;
+
+				date[indexOfLatestDay] = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
+				high[indexOfLatestDay] = price;
+				low[indexOfLatestDay] = price;
+				open[indexOfLatestDay] = price;
+				close[indexOfLatestDay] = price;
+				this.volume[indexOfLatestDay] = volume;
+			}
+		}
 
-				date[i] = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
-				high[i] = price;
-				low[i] = price;
-				open[i] = price;
-				close[i] = price;
-				this.volume[i] = volume;
+		protected int toBufferIndex(final int index) {
+			assert (index >= 0 && index < numberOfDays);
 
-				lastDate_year = ApplicationContext.getInstance().getTimeSystem().getCurrentYear();
-				lastDate_monthType = ApplicationContext.getInstance().getTimeSystem().getCurrentMonthType();
-				lastDate_dayType = ApplicationContext.getInstance().getTimeSystem().getCurrentDayType();
-			}
+			return (indexOfLatestDay - numberOfDays + 1 + index + numberOfDaysInHistory) % numberOfDaysInHistory;
 		}
 	}
 
-	private final int NUMBER_OF_DAYS = 180;
+	protected final int numberOfDaysInHistory;
 
 	protected final Map<Currency, PriceModel> priceModelsForCurrencies = new HashMap<Currency, PriceModel>();
 
 	protected final Map<GoodType, PriceModel> priceModelsForGoodTypes = new HashMap<GoodType, PriceModel>();
 
+	public PricesModel(final int numberOfDaysInHistory) {
+		assert (numberOfDaysInHistory > 0);
+
+		this.numberOfDaysInHistory = numberOfDaysInHistory;
+	}
+
 	public Map<Currency, PriceModel> getPriceModelsForCurrencies() {
 		return priceModelsForCurrencies;
 	}
@@ -0,0 +1,49 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink;
+
+import java.util.Date;
+
+/**
+ * Storage for the values, which a time series model records at the end of
+ * each period. Decouples the time series models from JFreeChart, so that only
+ * the dashboard has to maintain chart datasets.
+ */
+public interface PeriodDataSink {
+
+	/**
+	 * records the value of the period at the given date; a value recorded for
+	 * the same day is replaced.
+	 */
+	public void addOrUpdate(final Date date, final double value);
+
+	public int getItemCount();
+
+	/**
+	 * @return latest recorded value
+	 */
+	public double getLatestValue();
+
+	/**
+	 * @return value with the given index, ordered from the oldest to the latest
+	 *         recorded value.
+	 */
+	public double getValue(final int index);
+}
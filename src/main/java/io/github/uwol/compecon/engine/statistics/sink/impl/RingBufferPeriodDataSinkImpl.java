@@ -0,0 +1,79 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
+
+/**
+ * Lean sink for headless runs, which keeps the values of the latest days in a
+ * primitive ring buffer.
+ */
+public class RingBufferPeriodDataSinkImpl implements PeriodDataSink {
+
+	protected final Calendar calendar = Calendar.getInstance();
+
+	protected int dayOfLatestValue;
+
+	protected int indexOfLatestValue = -1;
+
+	protected int numberOfValues;
+
+	protected final double[] values;
+
+	public RingBufferPeriodDataSinkImpl(final int capacity) {
+		assert (capacity > 0);
+
+		values = new double[capacity];
+	}
+
+	@Override
+	public void addOrUpdate(final Date date, final double value) {
+		calendar.setTime(date);
+		final int day = calendar.get(Calendar.YEAR) * 1000 + calendar.get(Calendar.DAY_OF_YEAR);
+
+		if (numberOfValues == 0 || day != dayOfLatestValue) {
+			indexOfLatestValue = (indexOfLatestValue + 1) % values.length;
+			numberOfValues = Math.min(numberOfValues + 1, values.length);
+			dayOfLatestValue = day;
+		}
+
+		values[indexOfLatestValue] = value;
+	}
+
+	@Override
+	public int getItemCount() {
+		return numberOfValues;
+	}
+
+	@Override
+	public double getLatestValue() {
+		return values[indexOfLatestValue];
+	}
+
+	@Override
+	public double getValue(final int index) {
+		assert (index >= 0 && index < numberOfValues);
+
+		return values[(indexOfLatestValue - numberOfValues + 1 + index + values.length) % values.length];
+	}
+}
@@ -0,0 +1,65 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.sink.impl;
+
+import java.util.Date;
+
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeries;
+
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
+
+/**
+ * Sink backed by a JFreeChart time series, which is displayed by the
+ * dashboard.
+ */
+public class TimeSeriesPeriodDataSinkImpl implements PeriodDataSink {
+
+	protected final TimeSeries timeSeries;
+
+	public TimeSeriesPeriodDataSinkImpl(final String title, final int maximumItemAge) {
+		timeSeries = new TimeSeries(title);
+		timeSeries.setMaximumItemAge(maximumItemAge);
+	}
+
+	@Override
+	public void addOrUpdate(final Date date, final double value) {
+		timeSeries.addOrUpdate(new Day(date), value);
+	}
+
+	@Override
+	public int getItemCount() {
+		return timeSeries.getItemCount();
+	}
+
+	@Override
+	public double getLatestValue() {
+		return timeSeries.getValue(timeSeries.getItemCount() - 1).doubleValue();
+	}
+
+	public TimeSeries getTimeSeries() {
+		return timeSeries;
+	}
+
+	@Override
+	public double getValue(final int index) {
+		return timeSeries.getValue(index).doubleValue();
+	}
+}
@@ -22,13 +22,13 @@ package io.github.uwol.compecon.engine.statistics.timeseries;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.jfree.data.time.TimeSeries;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
 
 public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends AbstractPeriodDataTimeSeriesModel {
 
 	protected final I[] indexTypes;
 
-	protected final Map<I, TimeSeries> timeSeries = new HashMap<I, TimeSeries>();
+	protected final Map<I, PeriodDataSink> periodDataSinks = new HashMap<I, PeriodDataSink>();
 
 	protected String titleSuffix;
 
@@ -36,7 +36,7 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends Abstr
 		this.indexTypes = initialIndexTypes;
 
 		for (final I indexType : this.indexTypes) {
-			this.timeSeries.put(indexType, createTimeSeries(indexType + " " + title));
+			this.periodDataSinks.put(indexType, createPeriodDataSink(indexType + " " + title));
 		}
 	}
 
@@ -44,7 +44,7 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends Abstr
 		return this.indexTypes;
 	}
 
-	public TimeSeries getTimeSeries(final I indexType) {
-		return this.timeSeries.get(indexType);
+	public PeriodDataSink getPeriodDataSink(final I indexType) {
+		return this.periodDataSinks.get(indexType);
 	}
 }
@@ -19,19 +19,19 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.TimeSeries;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
 
 public abstract class AbstractPeriodDataSingleTimeSeriesModel extends AbstractPeriodDataTimeSeriesModel {
 
-	protected final TimeSeries timeSeries;
+	protected final PeriodDataSink periodDataSink;
 
 	protected String titleSuffix;
 
 	public AbstractPeriodDataSingleTimeSeriesModel(final String title) {
-		timeSeries = createTimeSeries(title);
+		periodDataSink = createPeriodDataSink(title);
 	}
 
-	public TimeSeries getTimeSeries() {
-		return timeSeries;
+	public PeriodDataSink getPeriodDataSink() {
+		return periodDataSink;
 	}
 }
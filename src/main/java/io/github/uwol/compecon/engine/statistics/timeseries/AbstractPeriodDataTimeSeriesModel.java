@@ -19,20 +19,24 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-import org.jfree.data.time.TimeSeries;
-
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel;
+import io.github.uwol.compecon.engine.statistics.sink.PeriodDataSink;
 
-public abstract class AbstractPeriodDataTimeSeriesModel {
+/**
+ * Records the values of periods into sinks provided by the
+ * {@link io.github.uwol.compecon.engine.factory.PeriodDataSinkFactory}; listeners
+ * are notified after each period.
+ */
+public abstract class AbstractPeriodDataTimeSeriesModel extends NotificationListenerModel {
 
 	protected final int NUMBER_OF_DAYS = 180;
 
-	protected TimeSeries createTimeSeries(final String title) {
-		final TimeSeries timeSeries = new TimeSeries(title);
-		timeSeries.setMaximumItemAge(NUMBER_OF_DAYS);
-		timeSeries.add(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), 0);
-		return timeSeries;
+	protected PeriodDataSink createPeriodDataSink(final String title) {
+		final PeriodDataSink periodDataSink = ApplicationContext.getInstance().getPeriodDataSinkFactory()
+				.newInstancePeriodDataSink(title, NUMBER_OF_DAYS);
+		periodDataSink.addOrUpdate(ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), 0);
+		return periodDataSink;
 	}
 
 	public abstract void nextPeriod();
@@ -19,8 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
@@ -42,8 +40,9 @@ public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSing
 
 	@Override
 	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
+		periodDataSink.addOrUpdate(ApplicationContext.getInstance().getTimeSystem().getCurrentDate(),
 				periodDataAccumulator.getAmount());
+		notifyListeners();
 		periodDataAccumulator.reset();
 	}
 }
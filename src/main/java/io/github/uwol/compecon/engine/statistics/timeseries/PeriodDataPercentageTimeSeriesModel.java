@@ -23,8 +23,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.jfree.data.time.Day;
-
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
@@ -56,11 +54,13 @@ public class PeriodDataPercentageTimeSeriesModel<I> extends AbstractPeriodDataMu
 		}
 
 		for (final Entry<I, PeriodDataAccumulator> entry : this.periodDataAccumulator.entrySet()) {
-			// write into time series
-			timeSeries.get(entry.getKey()).addOrUpdate(
-					new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
+			// write into sink
+			periodDataSinks.get(entry.getKey()).addOrUpdate(
+					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(),
 					entry.getValue().getAmount() / sum);
 			entry.getValue();
 		}
+
+		notifyListeners();
 	}
 }
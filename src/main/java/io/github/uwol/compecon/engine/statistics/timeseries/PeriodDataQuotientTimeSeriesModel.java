@@ -19,8 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
@@ -50,7 +48,8 @@ public class PeriodDataQuotientTimeSeriesModel extends AbstractPeriodDataSingleT
 
 	@Override
 	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), getValue());
+		periodDataSink.addOrUpdate(ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), getValue());
+		notifyListeners();
 
 		periodDataDividendModel.reset();
 		periodDataDivisorModel.reset();
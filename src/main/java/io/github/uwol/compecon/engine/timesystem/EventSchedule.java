@@ -25,12 +25,23 @@ import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
-public interface Year {
+/**
+ * registry of the points in time, at which events are triggered
+ */
+public interface EventSchedule {
 
-	public void addEvent(final TimeSystemEvent event, final MonthType monthType, final DayType dayType,
+	/**
+	 * @param year -1 for every year
+	 */
+	public void addEvent(final TimeSystemEvent event, final int year, final MonthType monthType, final DayType dayType,
 			final HourType hourType);
 
-	public Set<TimeSystemEvent> getEvents(final MonthType monthType, final DayType dayType, final HourType hourType);
+	/**
+	 * @return events to be triggered at the given point in time; the returned
+	 *         array is owned by the schedule and must not be modified.
+	 */
+	public TimeSystemEvent[] getEvents(final int dayNumber, final int year, final MonthType monthType,
+			final DayType dayType, final HourType hourType);
 
 	public void removeEvents(final Set<TimeSystemEvent> events);
 }
@@ -19,18 +19,14 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.timesystem;
 
-import java.util.Set;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
 
-import io.github.uwol.compecon.engine.timesystem.impl.DayType;
-import io.github.uwol.compecon.engine.timesystem.impl.HourType;
-
-public interface Day {
-
-	public void addEvent(final TimeSystemEvent event, final HourType hourType);
-
-	public DayType getDayType();
-
-	public Set<TimeSystemEvent> getEvents(final HourType hourType);
+/**
+ * an event that only affects agents, bank accounts and markets of the national
+ * economy of its currency; in parallel execution mode, such events of different
+ * national economies are executed concurrently
+ */
+public interface NationalEconomyTimeSystemEvent extends TimeSystemEvent {
 
-	public void removeEvents(final Set<TimeSystemEvent> events);
+	public Currency getCurrency();
 }
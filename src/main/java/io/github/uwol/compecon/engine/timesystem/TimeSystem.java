@@ -40,16 +40,40 @@ public interface TimeSystem {
 
 	public void addEventForEveryHour(final TimeSystemEvent event);
 
+	/**
+	 * registers an event, which is executed at the end of every hour, after all
+	 * other events of the hour, e. g. for settling the transactions of the hour.
+	 */
+	public void addEventForEndOfEveryHour(final TimeSystemEvent event);
+
 	public void addEventForEveryMorning(final TimeSystemEvent event);
 
 	public void addExternalEvent(final TimeSystemEvent timeSystemEvent);
 
+	/**
+	 * executes the given action, which e. g. constructs or deconstructs agents,
+	 * immediately; if called from an event executed in parallel, the action is
+	 * deferred until all events executed in parallel for the current hour have
+	 * finished, and then executed in a deterministic order.
+	 */
+	public void executeSerially(final Runnable action);
+
 	public Date getCurrentDate();
 
+	/**
+	 * @return number of days since the start of the simulation
+	 */
+	public int getCurrentDayNumber();
+
 	public int getCurrentDayNumberInMonth();
 
 	public DayType getCurrentDayType();
 
+	/**
+	 * @return number of hours since the start of the simulation
+	 */
+	public int getCurrentHourNumber();
+
 	public HourType getCurrentHourType();
 
 	public int getCurrentMonthNumberInYear();
@@ -66,6 +90,12 @@ public interface TimeSystem {
 
 	public void removeEvents(final Set<TimeSystemEvent> events);
 
+	/**
+	 * releases the threads executing events in parallel; the time system must not
+	 * proceed afterwards.
+	 */
+	public void shutdown();
+
 	public HourType suggestRandomHourType();
 
 	public HourType suggestRandomHourType(final HourType minHourType, final HourType maxHourType);
@@ -0,0 +1,175 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.uwol.compecon.engine.timesystem.EventSchedule;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * Events are registered in slots, which are identified by year, month type,
+ * day type and hour type, each of which may be a wildcard. For each hour of
+ * the day, the events of all matching slots are compiled into an array, which
+ * is reused until events are added to or removed from a slot of this hour, or,
+ * if there are slots for specific dates, the day changes. <br />
+ * <br />
+ * The slots of each event are indexed, so that removing events does not
+ * require a scan of all slots.
+ */
+public class EventScheduleImpl implements EventSchedule {
+
+	private static final TimeSystemEvent[] NO_EVENTS = new TimeSystemEvent[0];
+
+	/**
+	 * day number, for which the events of each hour have been compiled
+	 */
+	private final int[] dayNumbersOfCompiledEvents = new int[24];
+
+	/**
+	 * compiled events of each hour; null, if the events have to be compiled
+	 */
+	private final TimeSystemEvent[][] eventsOfHours = new TimeSystemEvent[24][];
+
+	private final Map<Long, Set<TimeSystemEvent>> eventsOfSlots = new HashMap<Long, Set<TimeSystemEvent>>();
+
+	/**
+	 * number of slots for specific years, months or days
+	 */
+	private int numberOfDatedSlots = 0;
+
+	private final Map<TimeSystemEvent, List<Long>> slotsOfEvents = new HashMap<TimeSystemEvent, List<Long>>();
+
+	@Override
+	public void addEvent(final TimeSystemEvent event, final int year, final MonthType monthType, final DayType dayType,
+			final HourType hourType) {
+		final long slot = getSlot(year, monthType, dayType, hourType);
+
+		Set<TimeSystemEvent> eventsOfSlot = eventsOfSlots.get(slot);
+		if (eventsOfSlot == null) {
+			eventsOfSlot = new LinkedHashSet<TimeSystemEvent>();
+			eventsOfSlots.put(slot, eventsOfSlot);
+
+			if (isDated(slot)) {
+				numberOfDatedSlots++;
+			}
+		}
+
+		if (eventsOfSlot.add(event)) {
+			List<Long> slotsOfEvent = slotsOfEvents.get(event);
+			if (slotsOfEvent == null) {
+				slotsOfEvent = new ArrayList<Long>(1);
+				slotsOfEvents.put(event, slotsOfEvent);
+			}
+			slotsOfEvent.add(slot);
+			invalidate(hourType);
+		}
+	}
+
+	private void addEventsOfSlot(final Set<TimeSystemEvent> events, final int year, final MonthType monthType,
+			final DayType dayType, final HourType hourType) {
+		final Set<TimeSystemEvent> eventsOfSlot = eventsOfSlots.get(getSlot(year, monthType, dayType, hourType));
+		if (eventsOfSlot != null) {
+			events.addAll(eventsOfSlot);
+		}
+	}
+
+	private TimeSystemEvent[] compileEvents(final int year, final MonthType monthType, final DayType dayType,
+			final HourType hourType) {
+		final Set<TimeSystemEvent> events = new LinkedHashSet<TimeSystemEvent>();
+
+		for (final int yearOfSlot : new int[] { year, -1 }) {
+			for (final MonthType monthTypeOfSlot : new MonthType[] { monthType, MonthType.EVERY }) {
+				for (final DayType dayTypeOfSlot : new DayType[] { dayType, DayType.EVERY }) {
+					addEventsOfSlot(events, yearOfSlot, monthTypeOfSlot, dayTypeOfSlot, hourType);
+					addEventsOfSlot(events, yearOfSlot, monthTypeOfSlot, dayTypeOfSlot, HourType.EVERY);
+				}
+			}
+		}
+
+		return events.isEmpty() ? NO_EVENTS : events.toArray(new TimeSystemEvent[events.size()]);
+	}
+
+	@Override
+	public TimeSystemEvent[] getEvents(final int dayNumber, final int year, final MonthType monthType,
+			final DayType dayType, final HourType hourType) {
+		final int hourNumber = hourType.getHourNumber();
+
+		if (eventsOfHours[hourNumber] == null
+				|| (numberOfDatedSlots > 0 && dayNumbersOfCompiledEvents[hourNumber] != dayNumber)) {
+			eventsOfHours[hourNumber] = compileEvents(year, monthType, dayType, hourType);
+			dayNumbersOfCompiledEvents[hourNumber] = dayNumber;
+		}
+
+		return eventsOfHours[hourNumber];
+	}
+
+	private static HourType getHourType(final long slot) {
+		return HourType.values()[(int) (slot & 0xFF)];
+	}
+
+	private static long getSlot(final int year, final MonthType monthType, final DayType dayType,
+			final HourType hourType) {
+		return ((long) year << 24) | (monthType.ordinal() << 16) | (dayType.ordinal() << 8) | hourType.ordinal();
+	}
+
+	private void invalidate(final HourType hourType) {
+		if (HourType.EVERY.equals(hourType)) {
+			for (int i = 0; i < eventsOfHours.length; i++) {
+				eventsOfHours[i] = null;
+			}
+		} else {
+			eventsOfHours[hourType.getHourNumber()] = null;
+		}
+	}
+
+	private static boolean isDated(final long slot) {
+		return slot >> 8 != getSlot(-1, MonthType.EVERY, DayType.EVERY, HourType.EVERY) >> 8;
+	}
+
+	@Override
+	public void removeEvents(final Set<TimeSystemEvent> events) {
+		for (final TimeSystemEvent event : events) {
+			final List<Long> slotsOfEvent = slotsOfEvents.remove(event);
+
+			if (slotsOfEvent != null) {
+				for (final long slot : slotsOfEvent) {
+					final Set<TimeSystemEvent> eventsOfSlot = eventsOfSlots.get(slot);
+					eventsOfSlot.remove(event);
+
+					if (eventsOfSlot.isEmpty()) {
+						eventsOfSlots.remove(slot);
+
+						if (isDated(slot)) {
+							numberOfDatedSlots--;
+						}
+					}
+
+					invalidate(getHourType(slot));
+				}
+			}
+		}
+	}
+}
@@ -21,42 +21,102 @@ package io.github.uwol.compecon.engine.timesystem.impl;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.random.RandomNumberGenerator;
+import io.github.uwol.compecon.engine.random.impl.DeterministicNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.timesystem.EventSchedule;
+import io.github.uwol.compecon.engine.timesystem.NationalEconomyTimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
 
 /**
  * Agents register their actions as events in the time system (observer
- * pattern).
+ * pattern). <br />
+ * <br />
+ * Time proceeds as an integer number of hours since the start of the
+ * simulation; year, month and day of each day are looked up in tables, which
+ * are extended year by year, so that proceeding in time does not require
+ * calendar arithmetic. Dates are created only on request. <br />
+ * <br />
+ * If partitioned execution is configured, the events of an hour are executed in
+ * two phases: first, the {@link NationalEconomyTimeSystemEvent}s of each
+ * national economy are executed, each national economy with its own random
+ * number generator and id sequence; if more than one thread is configured,
+ * national economies are executed in parallel on a fork join pool. Then, the
+ * remaining events, which may affect several national economies, are executed
+ * serially. As markets and bank accounts are partitioned by currency, no
+ * market is accessed by two threads at the same time, and results neither
+ * depend on thread scheduling nor on the number of threads.
  */
 public class TimeSystemImpl implements TimeSystem {
 
 	private final SimpleDateFormat dayFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm");
 
-	private int dayNumber = 0;
+	private DayType[] dayTypesOfDays = new DayType[0];
+
+	/**
+	 * actions deferred by the partition, which is executed by the current thread
+	 */
+	private final ThreadLocal<List<Runnable>> deferredActions = new ThreadLocal<List<Runnable>>();
+
+	/**
+	 * executed after all other events of each hour in the order of registration
+	 */
+	private final List<TimeSystemEvent> endOfHourEvents = new ArrayList<TimeSystemEvent>();
+
+	private final EventSchedule eventSchedule = new EventScheduleImpl();
+
+	/**
+	 * reused for shuffling the events of each hour
+	 */
+	private final List<TimeSystemEvent> eventsBuffer = new ArrayList<TimeSystemEvent>();
 
 	private final List<TimeSystemEvent> externalEvents = new ArrayList<TimeSystemEvent>();
 
-	private GregorianCalendar gregorianCalendar = new GregorianCalendar();
+	private ForkJoinPool forkJoinPool;
+
+	private int hourNumber = 0;
+
+	private final HourType[] hourTypes = new HourType[24];
+
+	private MonthType[] monthTypesOfDays = new MonthType[0];
+
+	/**
+	 * calendar positioned at the first day not yet contained in the tables
+	 */
+	private final GregorianCalendar nextDayOfTables;
 
 	private final int startYear;
 
-	private final Map<Integer, YearImpl> years = new HashMap<Integer, YearImpl>();
+	/**
+	 * time in milliseconds at the beginning of each day
+	 */
+	private long[] timesOfDays = new long[0];
+
+	private int[] yearsOfDays = new int[0];
 
 	public TimeSystemImpl(final int year) {
-		gregorianCalendar = new GregorianCalendar(year, MonthType.JANUARY.getMonthNumber(),
+		nextDayOfTables = new GregorianCalendar(year, MonthType.JANUARY.getMonthNumber(),
 				DayType.DAY_01.getDayNumber());
 		startYear = year;
+
+		for (int i = 0; i < hourTypes.length; i++) {
+			hourTypes[i] = HourType.getHourType(i);
+		}
+
+		extendTables();
 	}
 
 	/**
@@ -65,11 +125,13 @@ public class TimeSystemImpl implements TimeSystem {
 	@Override
 	public void addEvent(final TimeSystemEvent event, final int year, final MonthType monthType, final DayType dayType,
 			final HourType hourType) {
-		if (!years.containsKey(year)) {
-			years.put(year, new YearImpl());
+		final List<Runnable> deferredActionsOfThread = deferredActions.get();
+		if (deferredActionsOfThread != null) {
+			deferredActionsOfThread.add(() -> addEvent(event, year, monthType, dayType, hourType));
+			return;
 		}
 
-		years.get(year).addEvent(event, monthType, dayType, hourType);
+		eventSchedule.addEvent(event, year, monthType, dayType, hourType);
 	}
 
 	/**
@@ -80,13 +142,15 @@ public class TimeSystemImpl implements TimeSystem {
 			final DayType dayType, final HourType exceptHourType) {
 		assert (exceptHourType != null);
 
-		if (!years.containsKey(year)) {
-			years.put(year, new YearImpl());
+		final List<Runnable> deferredActionsOfThread = deferredActions.get();
+		if (deferredActionsOfThread != null) {
+			deferredActionsOfThread.add(() -> addEventEvery(event, year, monthType, dayType, exceptHourType));
+			return;
 		}
 
 		for (final HourType hourType : HourType.values()) {
 			if (!HourType.EVERY.equals(hourType) && !exceptHourType.equals(hourType)) {
-				years.get(year).addEvent(event, monthType, dayType, hourType);
+				eventSchedule.addEvent(event, year, monthType, dayType, hourType);
 			}
 		}
 	}
@@ -106,6 +170,17 @@ public class TimeSystemImpl implements TimeSystem {
 		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.EVERY);
 	}
 
+	@Override
+	public void addEventForEndOfEveryHour(final TimeSystemEvent event) {
+		final List<Runnable> deferredActionsOfThread = deferredActions.get();
+		if (deferredActionsOfThread != null) {
+			deferredActionsOfThread.add(() -> addEventForEndOfEveryHour(event));
+			return;
+		}
+
+		endOfHourEvents.add(event);
+	}
+
 	@Override
 	public void addEventForEveryMorning(final TimeSystemEvent event) {
 		addEvent(event, -1, MonthType.EVERY, DayType.EVERY, HourType.HOUR_07);
@@ -116,24 +191,104 @@ public class TimeSystemImpl implements TimeSystem {
 		externalEvents.add(timeSystemEvent);
 	}
 
+	private void executeEvents(final List<TimeSystemEvent> events) {
+		for (final TimeSystemEvent event : events) {
+			try {
+				/*
+				 * it may happen, that an event deconstructs an agent, and that agent has
+				 * registered other events for the same point in time -> they are contained in
+				 * the events-list -> check for deconstruction
+				 */
+				if (!event.isDeconstructed()) {
+					event.onEvent();
+				}
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void executePartition(final ApplicationContext applicationContext, final int partition,
+			final int numberOfPartitions, final List<TimeSystemEvent> events, final long seed,
+			final List<Runnable> deferredActionsOfPartition) {
+		final RandomNumberGenerator randomNumberGenerator = new DeterministicNumberGeneratorImpl(seed);
+
+		// the worker thread has to see the application context of the simulation
+		ApplicationContext.bindInstance(applicationContext);
+		ApplicationContext.getInstance().bindRandomNumberGenerator(randomNumberGenerator);
+		ApplicationContext.getInstance().getSequenceNumberGenerator().bindPartition(partition, numberOfPartitions);
+		deferredActions.set(deferredActionsOfPartition);
+
+		try {
+			Collections.shuffle(events, randomNumberGenerator.getRandom());
+			executeEvents(events);
+		} finally {
+			deferredActions.remove();
+			ApplicationContext.getInstance().getSequenceNumberGenerator().unbindPartition();
+			ApplicationContext.getInstance().unbindRandomNumberGenerator();
+			ApplicationContext.unbindInstance();
+		}
+	}
+
+	@Override
+	public void executeSerially(final Runnable action) {
+		final List<Runnable> deferredActionsOfThread = deferredActions.get();
+		if (deferredActionsOfThread != null) {
+			deferredActionsOfThread.add(action);
+		} else {
+			action.run();
+		}
+	}
+
+	/**
+	 * extends the tables by the days of one year
+	 */
+	private void extendTables() {
+		final int numberOfDays = nextDayOfTables.getActualMaximum(GregorianCalendar.DAY_OF_YEAR);
+		final int offset = dayTypesOfDays.length;
+
+		dayTypesOfDays = Arrays.copyOf(dayTypesOfDays, offset + numberOfDays);
+		monthTypesOfDays = Arrays.copyOf(monthTypesOfDays, offset + numberOfDays);
+		timesOfDays = Arrays.copyOf(timesOfDays, offset + numberOfDays);
+		yearsOfDays = Arrays.copyOf(yearsOfDays, offset + numberOfDays);
+
+		for (int i = offset; i < offset + numberOfDays; i++) {
+			dayTypesOfDays[i] = DayType.getDayType(nextDayOfTables.get(GregorianCalendar.DAY_OF_MONTH));
+			monthTypesOfDays[i] = MonthType.getMonthType(nextDayOfTables.get(GregorianCalendar.MONTH));
+			timesOfDays[i] = nextDayOfTables.getTimeInMillis();
+			yearsOfDays[i] = nextDayOfTables.get(GregorianCalendar.YEAR);
+			nextDayOfTables.add(GregorianCalendar.DAY_OF_MONTH, 1);
+		}
+	}
+
 	@Override
 	public Date getCurrentDate() {
-		return gregorianCalendar.getTime();
+		return new Date(timesOfDays[getCurrentDayNumber()] + (hourNumber % 24) * 3600000L);
+	}
+
+	@Override
+	public int getCurrentDayNumber() {
+		return hourNumber / 24;
 	}
 
 	@Override
 	public int getCurrentDayNumberInMonth() {
-		return gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH);
+		return dayTypesOfDays[getCurrentDayNumber()].getDayNumber();
 	}
 
 	@Override
 	public DayType getCurrentDayType() {
-		return DayType.getDayType(gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH));
+		return dayTypesOfDays[getCurrentDayNumber()];
+	}
+
+	@Override
+	public int getCurrentHourNumber() {
+		return hourNumber;
 	}
 
 	@Override
 	public HourType getCurrentHourType() {
-		return HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY));
+		return hourTypes[hourNumber % 24];
 	}
 
 	/*
@@ -142,17 +297,25 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public int getCurrentMonthNumberInYear() {
-		return gregorianCalendar.get(GregorianCalendar.MONTH) + 1;
+		return monthTypesOfDays[getCurrentDayNumber()].getMonthNumber() + 1;
 	}
 
 	@Override
 	public MonthType getCurrentMonthType() {
-		return MonthType.getMonthType(gregorianCalendar.get(GregorianCalendar.MONTH));
+		return monthTypesOfDays[getCurrentDayNumber()];
 	}
 
 	@Override
 	public int getCurrentYear() {
-		return gregorianCalendar.get(GregorianCalendar.YEAR);
+		return yearsOfDays[getCurrentDayNumber()];
+	}
+
+	private ForkJoinPool getForkJoinPool() {
+		if (forkJoinPool == null) {
+			forkJoinPool = new ForkJoinPool(
+					ApplicationContext.getInstance().getConfiguration().timeSystemConfig.getNumberOfThreads());
+		}
+		return forkJoinPool;
 	}
 
 	@Override
@@ -162,18 +325,28 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public boolean isInitializationPhase() {
-		return dayNumber < ApplicationContext.getInstance().getConfiguration().timeSystemConfig
+		return getCurrentDayNumber() < ApplicationContext.getInstance().getConfiguration().timeSystemConfig
 				.getInitializationPhaseInDays();
 	}
 
+	private boolean isPartitionedExecution() {
+		// the Hibernate session is bound to one thread
+		return ApplicationContext.getInstance().getConfiguration().timeSystemConfig.getPartitionedExecution()
+				&& !HibernateUtil.isActive();
+	}
+
 	@Override
 	public void nextHour() {
-		gregorianCalendar.add(GregorianCalendar.HOUR_OF_DAY, 1);
+		hourNumber++;
+
+		if (getCurrentDayNumber() >= dayTypesOfDays.length) {
+			extendTables();
+		}
+
 		ApplicationContext.getInstance().getLog().notifyTimeSystem_nextHour(getCurrentDate());
 
-		if (HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY)) == HourType.HOUR_00) {
+		if (getCurrentHourType() == HourType.HOUR_00) {
 			ApplicationContext.getInstance().getLog().notifyTimeSystem_nextDay(getCurrentDate());
-			dayNumber++;
 		}
 
 		triggerEvents();
@@ -185,15 +358,28 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public void removeEvents(final Set<TimeSystemEvent> events) {
-		for (final YearImpl year : years.values()) {
-			year.removeEvents(events);
+		final List<Runnable> deferredActionsOfThread = deferredActions.get();
+		if (deferredActionsOfThread != null) {
+			deferredActionsOfThread.add(() -> removeEvents(events));
+			return;
 		}
+
+		eventSchedule.removeEvents(events);
+		endOfHourEvents.removeAll(events);
 	}
 
 	/*
 	 * methods for removing ITimeSystemEvents
 	 */
 
+	@Override
+	public synchronized void shutdown() {
+		if (forkJoinPool != null) {
+			forkJoinPool.shutdown();
+			forkJoinPool = null;
+		}
+	}
+
 	@Override
 	public HourType suggestRandomHourType() {
 		// HourType.HOUR_23 and HourType.HOUR_00 are reserved for balance sheet
@@ -214,49 +400,29 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public String toString() {
-		return dayFormat.format(gregorianCalendar.getTime());
+		return dayFormat.format(getCurrentDate());
 	}
 
 	private synchronized void triggerEvents() {
-		// determine current date
-		final YearImpl yearExact = years.get(getCurrentYear());
-		final YearImpl yearEvery = years.get(-1);
-
-		final MonthType currentMonthType = getCurrentMonthType();
-		final DayType currentDayType = getCurrentDayType();
 		final HourType currentHourType = getCurrentHourType();
 
 		// select events for this date
-		final List<TimeSystemEvent> events = new ArrayList<TimeSystemEvent>();
-
-		if (yearExact != null) {
-			events.addAll(yearExact.getEvents(currentMonthType, currentDayType, currentHourType));
-		}
-
-		if (yearEvery != null) {
-			events.addAll(yearEvery.getEvents(currentMonthType, currentDayType, currentHourType));
-		}
+		final List<TimeSystemEvent> events = eventsBuffer;
+		events.clear();
+		Collections.addAll(events, eventSchedule.getEvents(getCurrentDayNumber(), getCurrentYear(),
+				getCurrentMonthType(), getCurrentDayType(), currentHourType));
 
 		/*
 		 * important: every time this method is called, events have to be shuffled, so
 		 * that each day gives each agent a new chance of being first
 		 */
 		final Random random = ApplicationContext.getInstance().getRandomNumberGenerator().getRandom();
-		Collections.shuffle(events, random);
 
-		for (final TimeSystemEvent event : events) {
-			try {
-				/*
-				 * it may happen, that an event deconstructs an agent, and that agent has
-				 * registered other events for the same point in time -> they are contained in
-				 * the events-list -> check for deconstruction
-				 */
-				if (!event.isDeconstructed()) {
-					event.onEvent();
-				}
-			} catch (final Exception e) {
-				e.printStackTrace();
-			}
+		if (isPartitionedExecution()) {
+			triggerEventsPartitioned(events, random);
+		} else {
+			Collections.shuffle(events, random);
+			executeEvents(events);
 		}
 
 		if (HourType.HOUR_00.equals(currentHourType)) {
@@ -271,7 +437,84 @@ public class TimeSystemImpl implements TimeSystem {
 			externalEvents.clear();
 		}
 
+		// settle the transactions of the hour
+		executeEvents(new ArrayList<TimeSystemEvent>(endOfHourEvents));
+
 		// flush state to database
 		HibernateUtil.flushSession();
 	}
+
+	private void triggerEventsPartitioned(final List<TimeSystemEvent> events, final Random random) {
+		final int numberOfPartitions = Currency.values().length;
+
+		/*
+		 * partition events by national economy; events, which may affect several
+		 * national economies, are executed serially
+		 */
+		final List<List<TimeSystemEvent>> partitions = new ArrayList<List<TimeSystemEvent>>();
+		final List<List<Runnable>> deferredActionsOfPartitions = new ArrayList<List<Runnable>>();
+		final List<TimeSystemEvent> serialEvents = new ArrayList<TimeSystemEvent>();
+
+		for (int i = 0; i < numberOfPartitions; i++) {
+			partitions.add(new ArrayList<TimeSystemEvent>());
+			deferredActionsOfPartitions.add(new ArrayList<Runnable>());
+		}
+
+		for (final TimeSystemEvent event : events) {
+			if (event instanceof NationalEconomyTimeSystemEvent) {
+				partitions.get(((NationalEconomyTimeSystemEvent) event).getCurrency().ordinal()).add(event);
+			} else {
+				serialEvents.add(event);
+			}
+		}
+
+		/*
+		 * seeds are drawn in the order of the partitions, so that each partition is
+		 * reproducible independent of thread scheduling
+		 */
+		final long[] seeds = new long[numberOfPartitions];
+		for (int i = 0; i < numberOfPartitions; i++) {
+			seeds[i] = random.nextLong();
+		}
+
+		final ApplicationContext applicationContext = ApplicationContext.getInstance();
+		final boolean parallel = applicationContext.getConfiguration().timeSystemConfig.getNumberOfThreads() > 1;
+		final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+		for (int i = 0; i < numberOfPartitions; i++) {
+			if (!partitions.get(i).isEmpty()) {
+				final int partition = i;
+				final Runnable task = () -> executePartition(applicationContext, partition, numberOfPartitions,
+						partitions.get(partition), seeds[partition], deferredActionsOfPartitions.get(partition));
+
+				if (parallel) {
+					tasks.add(getForkJoinPool().submit(task));
+				} else {
+					task.run();
+				}
+			}
+		}
+
+		for (final ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+
+		ApplicationContext.getInstance().getSequenceNumberGenerator().mergePartitions();
+
+		/*
+		 * execute actions deferred by the partitions, e. g. construction and
+		 * deconstruction of agents, in the order of the partitions
+		 */
+		for (final List<Runnable> deferredActionsOfPartition : deferredActionsOfPartitions) {
+			for (final Runnable action : deferredActionsOfPartition) {
+				try {
+					action.run();
+				} catch (final Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		Collections.shuffle(serialEvents, random);
+		executeEvents(serialEvents);
+	}
 }
\ No newline at end of file
@@ -21,6 +21,10 @@ package io.github.uwol.compecon.math;
 
 public interface ConvexFunction<T> extends Function<T> {
 
+	public enum ConvexFunctionSolver {
+		ITERATIVE, LAGRANGE_MULTIPLIER;
+	}
+
 	public enum ConvexFunctionTerminationCause {
 		BUDGET_PLANNED, INPUT_FACTOR_UNAVAILABLE, NO_INPUT_AVAILABLE;
 	}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,8 +33,28 @@ public interface Function<T> {
 	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget);
 
+	/**
+	 * @param bundleOfInputs amounts of the input types in the order of
+	 *                       {@link #getIndexedInputTypes()}.
+	 */
+	public double f(final double[] bundleOfInputs);
+
 	public double f(final Map<T, Double> bundleOfInputs);
 
+	/**
+	 * Array based variant of
+	 * {@link #findHighestPartialDerivatePerPrice(Map, Map, Map)}; all arrays are
+	 * indexed in the order of {@link #getIndexedInputTypes()}.
+	 *
+	 * @param inventory          null allowed.
+	 * @param partialDerivatives buffer for the partial derivatives, which is
+	 *                           overwritten.
+	 * @return -1, if markets are sold out.
+	 */
+	public int findHighestPartialDerivatePerPrice(final double[] bundleOfInputs,
+			final PriceFunction[] priceFunctionsOfInputTypes, final double[] inventory,
+			final double[] partialDerivatives);
+
 	/**
 	 * @param bundleOfInputs             has to contain all elements from
 	 *                                   {@link #getInputTypes()} as keys.
@@ -47,11 +68,25 @@ public interface Function<T> {
 
 	public T findLargestPartialDerivate(final Map<T, Double> forBundleOfInputs);
 
+	/**
+	 * @return the input types in the order, in which they are indexed by the array
+	 *         based methods.
+	 */
+	public List<T> getIndexedInputTypes();
+
 	public Set<T> getInputTypes();
 
 	public boolean getNeedsAllInputFactorsNonZeroForPartialDerivate();
 
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex);
+
 	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInput);
 
+	/**
+	 * writes the partial derivatives with respect to all input types into the
+	 * given array.
+	 */
+	public void partialDerivatives(final double[] forBundleOfInputs, final double[] partialDerivatives);
+
 	public Map<T, Double> partialDerivatives(final Map<T, Double> forBundleOfInputs);
 }
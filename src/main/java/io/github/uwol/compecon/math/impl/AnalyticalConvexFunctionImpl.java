@@ -20,18 +20,98 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.impl;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.price.PriceFunction.PriceFunctionConfig;
+import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl<T> {
 
+	protected static final int NUMBER_OF_BISECTIONS = 100;
+
 	protected AnalyticalConvexFunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
 		super(needsAllInputFactorsNonZeroForPartialDerivate);
 	}
 
+	/**
+	 * @return the amount of the input type, which is optimal for the given
+	 *         multiplier, i. e. the inverse of the marginal weight at marginal
+	 *         price / multiplier, restricted to the step of the price function,
+	 *         at which the marginal weight per marginal price crosses the
+	 *         multiplier.
+	 */
+	protected double calculateAmountForMultiplier(final int inputIndex, final PriceFunctionConfig[] priceFunctionConfigs,
+			final double multiplier) {
+		if (priceFunctionConfigs.length == 0 || multiplier <= 0.0) {
+			return 0.0;
+		}
+
+		// find the first step, at whose right boundary the marginal weight per
+		// marginal price does not exceed the multiplier; the marginal weight
+		// per marginal price decreases with the steps
+		int low = 0;
+		int high = priceFunctionConfigs.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			final PriceFunctionConfig priceFunctionConfig = priceFunctionConfigs[middle];
+			if (multiplier * marginalWeight(inputIndex,
+					priceFunctionConfig.intervalRightBoundary) <= priceFunctionConfig.coefficientXPower0) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+
+		// the markets are sold out before the multiplier is reached
+		if (low == priceFunctionConfigs.length) {
+			return priceFunctionConfigs[priceFunctionConfigs.length - 1].intervalRightBoundary;
+		}
+
+		final PriceFunctionConfig priceFunctionConfig = priceFunctionConfigs[low];
+		final double amount = inverseMarginalWeight(inputIndex, priceFunctionConfig.coefficientXPower0 / multiplier);
+		return Math.min(Math.max(amount, priceFunctionConfig.intervalLeftBoundary),
+				priceFunctionConfig.intervalRightBoundary);
+	}
+
+	/**
+	 * @return the total price of the given amount, i. e. the integral of the
+	 *         marginal prices.
+	 */
+	protected double calculateCosts(final PriceFunctionConfig[] priceFunctionConfigs, final double amount) {
+		if (amount <= 0.0) {
+			return 0.0;
+		}
+
+		for (final PriceFunctionConfig priceFunctionConfig : priceFunctionConfigs) {
+			if (amount <= priceFunctionConfig.intervalRightBoundary) {
+				return priceFunctionConfig.coefficientXPower0 * amount + priceFunctionConfig.coefficientXPowerMinus1;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return the sum of the costs of the amounts, which are optimal for the given
+	 *         multiplier; these amounts are written into bundleOfInputs.
+	 */
+	protected double calculateCostsForMultiplier(final PriceFunctionConfig[][] priceFunctionConfigsOfInputs,
+			final double multiplier, final double[] bundleOfInputs) {
+		double costs = 0.0;
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			bundleOfInputs[i] = calculateAmountForMultiplier(i, priceFunctionConfigsOfInputs[i], multiplier);
+			costs += calculateCosts(priceFunctionConfigsOfInputs[i], bundleOfInputs[i]);
+		}
+
+		return costs;
+	}
+
 	// commented out for performance reasons: TODO find optimal number and
 	// market depth of price functions for
 	// calculateOutputMaximizingInputsAnalyticalWithPriceFunctions to be
@@ -53,6 +133,16 @@ public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl
 	// }
 	// }
 
+	@Override
+	public Map<T, Double> calculateOutputMaximizingInputs(final Map<T, PriceFunction> priceFunctionsOfInputTypes,
+			final double budget) {
+		if (ConvexFunctionSolver.LAGRANGE_MULTIPLIER.equals(
+				ApplicationContext.getInstance().getConfiguration().mathConfig.getConvexFunctionSolver())) {
+			return this.calculateOutputMaximizingInputsByLagrangeMultiplier(priceFunctionsOfInputTypes, budget);
+		}
+		return super.calculateOutputMaximizingInputs(priceFunctionsOfInputTypes, budget);
+	}
+
 	/**
 	 * finds the optimal bundle of inputs under budget constraints and a step price
 	 * function. premise for calculation of a solution is that the marginal output
@@ -85,9 +175,123 @@ public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl
 				validPriceFunctionConfigConstellation, budget);
 	}
 
+	/**
+	 * finds the optimal bundle of inputs under budget constraints and step price
+	 * functions by bisection over the lagrange multiplier. For the functions
+	 * implemented here each partial derivative factors into a term shared by all
+	 * input types and a marginal weight depending only on the amount of the
+	 * differentiated input type. In the optimum the marginal weight per marginal
+	 * price is equal for all input types; for a given multiplier the optimal
+	 * amount of each input type can hence be calculated in closed form per step
+	 * of its price function, and the costs of the resulting bundle increase
+	 * monotonically with the multiplier. <br />
+	 * <br />
+	 * In contrast to
+	 * {@link #calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(Map, double)}
+	 * optima at the boundaries of price steps are found as well, and in contrast
+	 * to the iterative calculation the work does not grow with the precision.
+	 */
+	public Map<T, Double> calculateOutputMaximizingInputsByLagrangeMultiplier(
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget) {
+		final List<T> inputTypes = getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
+		final double[] bundleOfInputs = new double[numberOfInputTypes];
+
+		// special case: check for budget
+		if (MathUtil.lesserEqual(budget, 0.0)) {
+			getLog().log("budget is %s -> no calculation", budget);
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
+					ConvexFunctionTerminationCause.BUDGET_PLANNED);
+			return toLinkedMap(bundleOfInputs);
+		}
+
+		/*
+		 * retrieve parameters/configs of price step functions; steps with NaN prices
+		 * are not available
+		 */
+		final PriceFunctionConfig[][] priceFunctionConfigsOfInputs = new PriceFunctionConfig[numberOfInputTypes][];
+		boolean inputsAreUnavailable = false;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			final PriceFunctionConfig[] priceFunctionConfigs = priceFunctionsOfInputTypes.get(inputTypes.get(i))
+					.getAnalyticalPriceFunctionParameters(budget);
+
+			if (priceFunctionConfigs.length == 0 || Double.isNaN(priceFunctionConfigs[0].coefficientXPower0)) {
+				priceFunctionConfigsOfInputs[i] = new PriceFunctionConfig[0];
+				inputsAreUnavailable = true;
+			} else {
+				priceFunctionConfigsOfInputs[i] = priceFunctionConfigs;
+			}
+		}
+
+		// special case: if some prices are NaN, then not all inputs can be set.
+		// This becomes a problem, if all inputs have to be set -> return zero
+		// input
+		if (inputsAreUnavailable && needsAllInputFactorsNonZeroForPartialDerivate) {
+			getLog().log(
+					"at least one of the prices is Double.NaN, but the function needs all inputs set -> no calculation");
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
+					ConvexFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
+			return toLinkedMap(bundleOfInputs);
+		}
+
+		/*
+		 * bracket the multiplier, at which the budget is spent
+		 */
+		double lowerMultiplier = 0.0;
+		double upperMultiplier = 1.0;
+		double costs = calculateCostsForMultiplier(priceFunctionConfigsOfInputs, upperMultiplier, bundleOfInputs);
+		double previousCosts = Double.NaN;
+
+		while (costs < budget && costs != previousCosts && !Double.isInfinite(upperMultiplier)) {
+			lowerMultiplier = upperMultiplier;
+			upperMultiplier *= 2.0;
+			previousCosts = costs;
+			costs = calculateCostsForMultiplier(priceFunctionConfigsOfInputs, upperMultiplier, bundleOfInputs);
+		}
+
+		// no optimal input type could be found, i. e. markets are sold out
+		if (costs < budget) {
+			getLog().log("markets sold out -> terminating");
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, costs,
+					ConvexFunctionTerminationCause.NO_INPUT_AVAILABLE);
+			return toLinkedMap(bundleOfInputs);
+		}
+
+		/*
+		 * bisection over the multiplier
+		 */
+		for (int i = 0; i < NUMBER_OF_BISECTIONS && lowerMultiplier < upperMultiplier; i++) {
+			final double multiplier = lowerMultiplier + (upperMultiplier - lowerMultiplier) / 2.0;
+
+			if (multiplier <= lowerMultiplier || multiplier >= upperMultiplier) {
+				break;
+			}
+
+			if (calculateCostsForMultiplier(priceFunctionConfigsOfInputs, multiplier, bundleOfInputs) <= budget) {
+				lowerMultiplier = multiplier;
+			} else {
+				upperMultiplier = multiplier;
+			}
+		}
+
+		// the lower multiplier never exceeds the budget
+		costs = calculateCostsForMultiplier(priceFunctionConfigsOfInputs, lowerMultiplier, bundleOfInputs);
+
+		getLog().log("budget planned completely");
+		getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, costs,
+				ConvexFunctionTerminationCause.BUDGET_PLANNED);
+
+		return toLinkedMap(bundleOfInputs);
+	}
+
 	protected abstract Map<T, Double> calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(
 			Map<T, PriceFunctionConfig> priceFunctionConfigs, double budget);
 
+	private Log getLog() {
+		return ApplicationContext.getInstance().getLog();
+	}
+
 	private T identifyNextUnsetInputType(final Map<T, PriceFunctionConfig> priceFunctionConfigs) {
 		for (final T inputType : getInputTypes()) {
 			if (!priceFunctionConfigs.containsKey(inputType)) {
@@ -98,6 +302,20 @@ public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl
 		return null;
 	}
 
+	/**
+	 * @return the amount of the input type with the given index, at which the
+	 *         marginal weight equals the given value.
+	 * @see #marginalWeight(int, double)
+	 */
+	protected abstract double inverseMarginalWeight(int inputIndex, double marginalWeight);
+
+	/**
+	 * @return the factor of the partial derivative with respect to the input type
+	 *         with the given index, which depends only on the amount of this input
+	 *         type; decreasing in the amount.
+	 */
+	protected abstract double marginalWeight(int inputIndex, double amount);
+
 	/**
 	 * @see #calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(Map,
 	 *      double)
@@ -155,4 +373,13 @@ public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl
 			return validPriceFunctionConfigConstellation;
 		}
 	}
+
+	protected Map<T, Double> toLinkedMap(final double[] bundleOfInputs) {
+		final Map<T, Double> amounts = new LinkedHashMap<T, Double>();
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			amounts.put(getIndexedInputTypes().get(i), bundleOfInputs[i]);
+		}
+		return amounts;
+	}
 }
@@ -36,6 +36,11 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 
 	protected final double homogenityFactor;
 
+	/**
+	 * coefficients in the order of {@link #getIndexedInputTypes()}
+	 */
+	protected double[] indexedCoefficients;
+
 	protected double mainCoefficient;
 
 	protected final double substitutionFactor;
@@ -270,6 +275,35 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return bundleOfInputs;
 	}
 
+	/**
+	 * dy/d(x_1) = [(-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r -
+	 * 1)]
+	 */
+	protected double exteriorDerivative(final double[] forBundleOfInputs) {
+		final double[] coefficients = getIndexedCoefficients();
+		double sum = 0.0;
+
+		for (int i = 0; i < coefficients.length; i++) {
+			sum += coefficients[i] * Math.pow(forBundleOfInputs[i], -1.0 * this.substitutionFactor);
+		}
+
+		final double exponent = (-1.0 * this.homogenityFactor / this.substitutionFactor) - 1.0;
+		return (-1.0 * this.homogenityFactor / this.substitutionFactor) * this.mainCoefficient
+				* Math.pow(sum, exponent);
+	}
+
+	@Override
+	public double f(final double[] bundleOfInputs) {
+		final double[] coefficients = getIndexedCoefficients();
+		double sum = 0.0;
+
+		for (int i = 0; i < coefficients.length; i++) {
+			sum += coefficients[i] * Math.pow(bundleOfInputs[i], -this.substitutionFactor);
+		}
+
+		return this.mainCoefficient * Math.pow(sum, (-1.0 * this.homogenityFactor) / this.substitutionFactor);
+	}
+
 	/**
 	 * y = a * [c_1 * (x_1)^(-r) + ... + c_n * (x_n)^(r)]^(-h/r)
 	 */
@@ -292,10 +326,66 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return this.coefficients.keySet();
 	}
 
+	protected double[] getIndexedCoefficients() {
+		if (indexedCoefficients == null) {
+			final double[] coefficients = new double[getIndexedInputTypes().size()];
+			for (int i = 0; i < coefficients.length; i++) {
+				coefficients[i] = this.coefficients.get(getIndexedInputTypes().get(i));
+			}
+			indexedCoefficients = coefficients;
+		}
+		return indexedCoefficients;
+	}
+
 	public double getMainCoefficient() {
 		return this.mainCoefficient;
 	}
 
+	/**
+	 * x_1 = (w / c_1)^(1/(-r-1))
+	 */
+	@Override
+	protected double inverseMarginalWeight(final int inputIndex, final double marginalWeight) {
+		return Math.pow(marginalWeight / getIndexedCoefficients()[inputIndex],
+				1.0 / ((-1.0 * this.substitutionFactor) - 1.0));
+	}
+
+	/**
+	 * w_1 = c_1 * (x_1)^(-r-1), as the remaining factors of dy/d(x_1) are equal
+	 * for all input types
+	 */
+	@Override
+	protected double marginalWeight(final int inputIndex, final double amount) {
+		return getIndexedCoefficients()[inputIndex] * Math.pow(amount, (-1.0 * this.substitutionFactor) - 1.0);
+	}
+
+	/**
+	 * dy/d(x_1) = [(-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r -
+	 * 1)] * [-r * c_1 * (x_1)^(-r-1)]
+	 */
+	protected double partialDerivative(final double exteriorDerivative, final double coefficient,
+			final double differentialInput) {
+		final double interiorDerivative = -1.0 * this.substitutionFactor * coefficient
+				* Math.pow(differentialInput, (-1.0 * this.substitutionFactor) - 1.0);
+
+		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
+		if (exteriorDerivative == 0.0 && Double.isInfinite(interiorDerivative)) {
+			return 0.0;
+		}
+
+		if (interiorDerivative == 0.0 && Double.isInfinite(exteriorDerivative)) {
+			return 0.0;
+		}
+
+		return exteriorDerivative * interiorDerivative;
+	}
+
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		return partialDerivative(exteriorDerivative(forBundleOfInputs),
+				getIndexedCoefficients()[withRespectToInputIndex], forBundleOfInputs[withRespectToInputIndex]);
+	}
+
 	/**
 	 * dy/d(x_1) = [(-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r -
 	 * 1)] * [-r * c_1 * (x_1)^(-r-1)]
@@ -321,21 +411,22 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		/*
 		 * interior derivative
 		 */
-		final double coefficient = this.coefficients.get(withRespectToInputType);
-		final double differentialInput = forBundleOfInputs.get(withRespectToInputType);
-		final double interiorDerivative = -1.0 * this.substitutionFactor * coefficient
-				* Math.pow(differentialInput, (-1.0 * this.substitutionFactor) - 1.0);
+		return partialDerivative(exteriorDerivative, this.coefficients.get(withRespectToInputType),
+				forBundleOfInputs.get(withRespectToInputType));
+	}
 
-		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
-		if (exteriorDerivative == 0.0 && Double.isInfinite(interiorDerivative)) {
-			return 0.0;
-		}
+	/**
+	 * the exterior derivative is shared by all partial derivatives and hence
+	 * calculated only once.
+	 */
+	@Override
+	public void partialDerivatives(final double[] forBundleOfInputs, final double[] partialDerivatives) {
+		final double[] coefficients = getIndexedCoefficients();
+		final double exteriorDerivative = exteriorDerivative(forBundleOfInputs);
 
-		if (interiorDerivative == 0.0 && Double.isInfinite(exteriorDerivative)) {
-			return 0.0;
+		for (int i = 0; i < coefficients.length; i++) {
+			partialDerivatives[i] = partialDerivative(exteriorDerivative, coefficients[i], forBundleOfInputs[i]);
 		}
-
-		return exteriorDerivative * interiorDerivative;
 	}
 
 	public void setMainCoefficient(final double mainCoefficient) {
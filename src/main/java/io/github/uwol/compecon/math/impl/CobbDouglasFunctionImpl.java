@@ -36,6 +36,11 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 
 	protected final Map<T, Double> exponents;
 
+	/**
+	 * exponents in the order of {@link #getIndexedInputTypes()}
+	 */
+	protected double[] indexedExponents;
+
 	public CobbDouglasFunctionImpl(final double coefficient, final Map<T, Double> exponents) {
 		super(true);
 
@@ -302,6 +307,18 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return bundleOfInputs;
 	}
 
+	@Override
+	public double f(final double[] bundleOfInputs) {
+		final double[] exponents = getIndexedExponents();
+		double output = this.coefficient;
+
+		for (int i = 0; i < exponents.length; i++) {
+			output = output * Math.pow(bundleOfInputs[i], exponents[i]);
+		}
+
+		return output;
+	}
+
 	/**
 	 * y = (x_1)^(e_1) * (x_2)^(e_2) * ... * (x_n)^(e_n) <br />
 	 * | e_1 + e_2 + ... + e_n = 1
@@ -327,11 +344,69 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return this.exponents;
 	}
 
+	protected double[] getIndexedExponents() {
+		if (indexedExponents == null) {
+			final double[] exponents = new double[getIndexedInputTypes().size()];
+			for (int i = 0; i < exponents.length; i++) {
+				exponents[i] = this.exponents.get(getIndexedInputTypes().get(i));
+			}
+			indexedExponents = exponents;
+		}
+		return indexedExponents;
+	}
+
 	@Override
 	public Set<T> getInputTypes() {
 		return this.exponents.keySet();
 	}
 
+	/**
+	 * x_1 = e_1 / w_1
+	 */
+	@Override
+	protected double inverseMarginalWeight(final int inputIndex, final double marginalWeight) {
+		return getIndexedExponents()[inputIndex] / marginalWeight;
+	}
+
+	/**
+	 * w_1 = e_1 / x_1, as dy/d(x_1) = y * e_1 / x_1
+	 */
+	@Override
+	protected double marginalWeight(final int inputIndex, final double amount) {
+		return getIndexedExponents()[inputIndex] / amount;
+	}
+
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		final double[] exponents = getIndexedExponents();
+
+		/*
+		 * constant
+		 */
+		double constant = this.coefficient;
+
+		for (int i = 0; i < exponents.length; i++) {
+			if (i != withRespectToInputIndex) {
+				constant = constant * Math.pow(forBundleOfInputs[i], exponents[i]);
+			}
+		}
+
+		/*
+		 * differential factor
+		 */
+		final double differentialInput = forBundleOfInputs[withRespectToInputIndex];
+		final double differentialExponent = exponents[withRespectToInputIndex] - 1.0;
+		final double differentialCoefficient = exponents[withRespectToInputIndex];
+		final double differentialFactor = differentialCoefficient * Math.pow(differentialInput, differentialExponent);
+
+		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
+		if (constant == 0.0 && Double.isInfinite(differentialFactor)) {
+			return 0.0;
+		}
+
+		return constant * differentialFactor;
+	}
+
 	/**
 	 * dy/d(x_1) = e_1 * (x_1)^(e_1 - 1) * (x_2)^(e_2) * ... * (x_n)^(e_n) <br />
 	 * | e_1 + e_2 + ... + e_n = 1
@@ -19,8 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
@@ -65,22 +65,23 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 
 		// ------ preparation -----------------------------------------
 
-		// initialize inventory
-		final Map<T, Double> inventoryNullSafe = new HashMap<T, Double>();
+		// map input types to dense indices
+		final List<T> inputTypes = getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
+		final PriceFunction[] priceFunctions = toPriceFunctionArray(priceFunctionsOfInputTypes);
 
-		for (final T inputType : getInputTypes()) {
-			inventoryNullSafe.put(inputType, 0.0);
-		}
+		// initialize inventory
+		final double[] inventoryNullSafe = new double[numberOfInputTypes];
 
 		// check, whether inputs have NaN prices
 		boolean inputsAreUnavailable = false;
 
-		for (final T inputType : getInputTypes()) {
-			final double inventoryAmount = inventoryNullSafe.get(inputType);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			final double inventoryAmount = inventoryNullSafe[i];
 			// if the input type is not available in the inventory
 			if (inventoryAmount <= 0.0) {
 				// if the good type is not available on markets
-				if (Double.isNaN(priceFunctionsOfInputTypes.get(inputType).getPrice(0.0))) {
+				if (Double.isNaN(priceFunctions[i].getPrice(0.0))) {
 					inputsAreUnavailable = true;
 					break;
 				}
@@ -127,7 +128,8 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		/*
 		 * initialization
 		 */
-		final Map<T, Double> bundleOfInputs = new HashMap<T, Double>(inventoryNullSafe);
+		final double[] bundleOfInputs = inventoryNullSafe.clone();
+		final double[] partialDerivatives = new double[numberOfInputTypes];
 
 		// determine initialization value
 		final double initializationValueForInputs;
@@ -139,9 +141,8 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		}
 
 		// set initialization value
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType,
-					MathUtil.nullSafeValue(bundleOfInputs.get(inputType)) + initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputs[i] += initializationValueForInputs;
 		}
 
 		// ------ calculation -----------------------------------------
@@ -152,7 +153,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		double budgetSpent = 0.0;
 
 		// maximize output
-		final int NUMBER_OF_ITERATIONS = bundleOfInputs.size() * numberOfIterations;
+		final int NUMBER_OF_ITERATIONS = numberOfInputTypes * numberOfIterations;
 		final double budgetPerIteration = budget / NUMBER_OF_ITERATIONS;
 
 		while (true) {
@@ -164,20 +165,20 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				break;
 			}
 
-			final T optimalInputType = findHighestPartialDerivatePerPrice(bundleOfInputs, priceFunctionsOfInputTypes,
-					inventoryNullSafe);
+			final int optimalInputIndex = findHighestPartialDerivatePerPrice(bundleOfInputs, priceFunctions,
+					inventoryNullSafe, partialDerivatives);
 
 			// no optimal input type could be found, i. e. markets are sold out
-			if (optimalInputType == null) {
+			if (optimalInputIndex == -1) {
 				getLog().log("no optimal input found -> terminating");
 				getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, budgetSpent,
 						ConvexFunctionTerminationCause.NO_INPUT_AVAILABLE);
 				break;
 			} else {
-				final double oldAmountOfOptimalInputType = bundleOfInputs.get(optimalInputType);
+				final double oldAmountOfOptimalInputType = bundleOfInputs[optimalInputIndex];
 				final double priceRelevantAmountOfOptimalInputType = Math
-						.max(bundleOfInputs.get(optimalInputType) - inventoryNullSafe.get(optimalInputType), 0.0);
-				final double marginalPriceOfOptimalInputType = priceFunctionsOfInputTypes.get(optimalInputType)
+						.max(bundleOfInputs[optimalInputIndex] - inventoryNullSafe[optimalInputIndex], 0.0);
+				final double marginalPriceOfOptimalInputType = priceFunctions[optimalInputIndex]
 						.getMarginalPrice(priceRelevantAmountOfOptimalInputType);
 
 				// additional amounts have to grow slowly, so that the solution
@@ -185,7 +186,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				final double additionalAmountOfInputType = Math.min(
 						budgetPerIteration / marginalPriceOfOptimalInputType,
 						Math.max(priceRelevantAmountOfOptimalInputType, initializationValue));
-				bundleOfInputs.put(optimalInputType, oldAmountOfOptimalInputType + additionalAmountOfInputType);
+				bundleOfInputs[optimalInputIndex] = oldAmountOfOptimalInputType + additionalAmountOfInputType;
 
 				// constraints
 
@@ -196,11 +197,11 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		// ------ cleanup -----------------------------------------
 
 		// reset initialization values
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType, bundleOfInputs.get(inputType) - initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputs[i] -= initializationValueForInputs;
 		}
 
-		return bundleOfInputs;
+		return toMap(bundleOfInputs);
 	}
 
 	private Log getLog() {
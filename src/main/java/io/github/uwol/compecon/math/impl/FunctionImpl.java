@@ -19,7 +19,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.github.uwol.compecon.math.Function;
@@ -28,6 +31,13 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class FunctionImpl<T> implements Function<T> {
 
+	/**
+	 * input types in a fixed order, which maps them to the indices of the array
+	 * based methods; initialized lazily, as subclasses set their input types in
+	 * their constructors.
+	 */
+	protected List<T> indexedInputTypes;
+
 	protected final boolean needsAllInputFactorsNonZeroForPartialDerivate;
 
 	public FunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
@@ -132,29 +142,54 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		}
 	}
 
+	/**
+	 * default implementation based on {@link #f(Map)}; overwritten by functions
+	 * with an array based kernel.
+	 */
 	@Override
-	public T findHighestPartialDerivatePerPrice(final Map<T, Double> bundleOfInputs,
-			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final Map<T, Double> inventory) {
-		T optimalInputType = null;
+	public double f(final double[] bundleOfInputs) {
+		return f(toMap(bundleOfInputs));
+	}
+
+	@Override
+	public int findHighestPartialDerivatePerPrice(final double[] bundleOfInputs,
+			final PriceFunction[] priceFunctionsOfInputTypes, final double[] inventory,
+			final double[] partialDerivatives) {
+		partialDerivatives(bundleOfInputs, partialDerivatives);
+
+		int optimalInputIndex = -1;
 		double highestPartialDerivatePerPrice = 0.0;
 
-		for (final T inputType : getInputTypes()) {
-			final double partialDerivative = partialDerivative(bundleOfInputs, inputType);
-			final double amountToBuy = Math.max(bundleOfInputs.get(inputType) - inventory.get(inputType), 0.0);
-			final double marginalPrice = priceFunctionsOfInputTypes.get(inputType).getMarginalPrice(amountToBuy);
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			final double inventoryAmount = inventory == null ? 0.0 : inventory[i];
+			final double amountToBuy = Math.max(bundleOfInputs[i] - inventoryAmount, 0.0);
+			final double marginalPrice = priceFunctionsOfInputTypes[i].getMarginalPrice(amountToBuy);
 			if (!Double.isNaN(marginalPrice)) {
-				final double partialDerivativePerPrice = partialDerivative / marginalPrice;
+				final double partialDerivativePerPrice = partialDerivatives[i] / marginalPrice;
 
 				assert (!Double.isNaN(partialDerivativePerPrice));
 
 				if (partialDerivativePerPrice > highestPartialDerivatePerPrice) {
-					optimalInputType = inputType;
+					optimalInputIndex = i;
 					highestPartialDerivatePerPrice = partialDerivativePerPrice;
 				}
 			}
 		}
 
-		return optimalInputType;
+		return optimalInputIndex;
+	}
+
+	@Override
+	public T findHighestPartialDerivatePerPrice(final Map<T, Double> bundleOfInputs,
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final Map<T, Double> inventory) {
+		final int optimalInputIndex = findHighestPartialDerivatePerPrice(toArray(bundleOfInputs),
+				toPriceFunctionArray(priceFunctionsOfInputTypes), inventory == null ? null : toArray(inventory),
+				new double[getIndexedInputTypes().size()]);
+
+		if (optimalInputIndex == -1) {
+			return null;
+		}
+		return getIndexedInputTypes().get(optimalInputIndex);
 	}
 
 	@Override
@@ -174,6 +209,14 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return optimalInputType;
 	}
 
+	@Override
+	public List<T> getIndexedInputTypes() {
+		if (indexedInputTypes == null) {
+			indexedInputTypes = Collections.unmodifiableList(new ArrayList<T>(getInputTypes()));
+		}
+		return indexedInputTypes;
+	}
+
 	@Override
 	public boolean getNeedsAllInputFactorsNonZeroForPartialDerivate() {
 		return this.needsAllInputFactorsNonZeroForPartialDerivate;
@@ -189,6 +232,22 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return null;
 	}
 
+	/**
+	 * default implementation based on {@link #partialDerivative(Map, Object)};
+	 * overwritten by functions with an array based kernel.
+	 */
+	@Override
+	public double partialDerivative(final double[] forBundleOfInputs, final int withRespectToInputIndex) {
+		return partialDerivative(toMap(forBundleOfInputs), getIndexedInputTypes().get(withRespectToInputIndex));
+	}
+
+	@Override
+	public void partialDerivatives(final double[] forBundleOfInputs, final double[] partialDerivatives) {
+		for (int i = 0; i < forBundleOfInputs.length; i++) {
+			partialDerivatives[i] = partialDerivative(forBundleOfInputs, i);
+		}
+	}
+
 	@Override
 	public Map<T, Double> partialDerivatives(final Map<T, Double> forBundleOfInputs) {
 		final Map<T, Double> partialDerivatives = new HashMap<T, Double>();
@@ -199,4 +258,38 @@ public abstract class FunctionImpl<T> implements Function<T> {
 
 		return partialDerivatives;
 	}
+
+	/**
+	 * @return amounts of the input types in the order of
+	 *         {@link #getIndexedInputTypes()}; missing amounts are 0.0.
+	 */
+	protected double[] toArray(final Map<T, Double> bundleOfInputs) {
+		final List<T> inputTypes = getIndexedInputTypes();
+		final double[] amounts = new double[inputTypes.size()];
+
+		for (int i = 0; i < amounts.length; i++) {
+			amounts[i] = MathUtil.nullSafeValue(bundleOfInputs.get(inputTypes.get(i)));
+		}
+		return amounts;
+	}
+
+	protected Map<T, Double> toMap(final double[] bundleOfInputs) {
+		final List<T> inputTypes = getIndexedInputTypes();
+		final Map<T, Double> amounts = new HashMap<T, Double>();
+
+		for (int i = 0; i < bundleOfInputs.length; i++) {
+			amounts.put(inputTypes.get(i), bundleOfInputs[i]);
+		}
+		return amounts;
+	}
+
+	protected PriceFunction[] toPriceFunctionArray(final Map<T, PriceFunction> priceFunctionsOfInputTypes) {
+		final List<T> inputTypes = getIndexedInputTypes();
+		final PriceFunction[] priceFunctions = new PriceFunction[inputTypes.size()];
+
+		for (int i = 0; i < priceFunctions.length; i++) {
+			priceFunctions[i] = priceFunctionsOfInputTypes.get(inputTypes.get(i));
+		}
+		return priceFunctions;
+	}
 }
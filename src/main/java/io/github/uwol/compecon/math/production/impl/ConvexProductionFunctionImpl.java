@@ -19,8 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.production.impl;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -79,24 +79,30 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 
 		// ------ preparation -----------------------------------------
 
+		// map input types to dense indices
+		final List<GoodType> inputTypes = delegate.getIndexedInputTypes();
+		final int numberOfInputTypes = inputTypes.size();
+		final PriceFunction[] priceFunctions = new PriceFunction[numberOfInputTypes];
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			priceFunctions[i] = priceFunctionsOfInputTypes.get(inputTypes.get(i));
+		}
+
 		// initialize capital
-		final Map<GoodType, Double> capitalNullSafe = new HashMap<GoodType, Double>();
-		for (final GoodType inputType : getInputGoodTypes()) {
-			if (capital != null) {
-				capitalNullSafe.put(inputType, MathUtil.nullSafeValue(capital.get(inputType)));
-			} else {
-				capitalNullSafe.put(inputType, 0.0);
+		final double[] capitalNullSafe = new double[numberOfInputTypes];
+		if (capital != null) {
+			for (int i = 0; i < numberOfInputTypes; i++) {
+				capitalNullSafe[i] = MathUtil.nullSafeValue(capital.get(inputTypes.get(i)));
 			}
 		}
 
 		// check, whether inputs have NaN prices
 		boolean inputsAreUnavailable = false;
-		for (final GoodType inputType : getInputGoodTypes()) {
-			final double capitalAmount = capitalNullSafe.get(inputType);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			final double capitalAmount = capitalNullSafe[i];
 			// if the good type is not available as capital
 			if (capitalAmount <= 0.0) {
 				// if the good type is not available on markets
-				if (Double.isNaN(priceFunctionsOfInputTypes.get(inputType).getPrice(0.0))) {
+				if (Double.isNaN(priceFunctions[i].getPrice(0.0))) {
 					inputsAreUnavailable = true;
 					break;
 				}
@@ -168,7 +174,8 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		/*
 		 * initialization
 		 */
-		final Map<GoodType, Double> bundleOfInputFactors = new HashMap<GoodType, Double>(capitalNullSafe);
+		final double[] bundleOfInputFactors = capitalNullSafe.clone();
+		final double[] partialDerivatives = new double[numberOfInputTypes];
 
 		// determine initialization value
 		final double initializationValueForInputs;
@@ -179,9 +186,8 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		}
 
 		// set initialization value
-		for (final GoodType inputType : getInputGoodTypes()) {
-			bundleOfInputFactors.put(inputType,
-					MathUtil.nullSafeValue(bundleOfInputFactors.get(inputType)) + initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputFactors[i] += initializationValueForInputs;
 		}
 
 		// ------ calculation -----------------------------------------
@@ -192,7 +198,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		double budgetSpent = 0.0;
 
 		// maximize profit
-		final int NUMBER_OF_ITERATIONS = getInputGoodTypes().size() * numberOfIterations;
+		final int NUMBER_OF_ITERATIONS = numberOfInputTypes * numberOfIterations;
 		final double budgetPerIteration = budget / NUMBER_OF_ITERATIONS;
 
 		while (true) {
@@ -204,20 +210,20 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 				break;
 			}
 
-			final GoodType optimalInputType = selectProductionFactorWithHighestMarginalOutputPerPrice(
-					bundleOfInputFactors, priceFunctionsOfInputTypes, capitalNullSafe);
+			final int optimalInputIndex = delegate.findHighestPartialDerivatePerPrice(bundleOfInputFactors,
+					priceFunctions, capitalNullSafe, partialDerivatives);
 
 			// no optimal input type could be found, i. e. markets are sold out
-			if (optimalInputType == null) {
+			if (optimalInputIndex == -1) {
 				getLog().log("no optimal input found -> terminating");
 				getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
 						ConvexProductionFunctionTerminationCause.NO_INPUT_AVAILABLE);
 				break;
 			} else {
-				final double oldAmountOfOptimalInputType = bundleOfInputFactors.get(optimalInputType);
+				final double oldAmountOfOptimalInputType = bundleOfInputFactors[optimalInputIndex];
 				final double priceRelevantAmountOfOptimalInputType = Math
-						.max(bundleOfInputFactors.get(optimalInputType) - capitalNullSafe.get(optimalInputType), 0.0);
-				final double marginalPriceOfOptimalInputType = priceFunctionsOfInputTypes.get(optimalInputType)
+						.max(bundleOfInputFactors[optimalInputIndex] - capitalNullSafe[optimalInputIndex], 0.0);
+				final double marginalPriceOfOptimalInputType = priceFunctions[optimalInputIndex]
 						.getMarginalPrice(priceRelevantAmountOfOptimalInputType);
 
 				// additional amounts have to grow slowly, so that the solution
@@ -225,12 +231,12 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 				final double additionalAmountOfInputType = Math.min(
 						budgetPerIteration / marginalPriceOfOptimalInputType,
 						Math.max(priceRelevantAmountOfOptimalInputType, initializationValue));
-				bundleOfInputFactors.put(optimalInputType, oldAmountOfOptimalInputType + additionalAmountOfInputType);
+				bundleOfInputFactors[optimalInputIndex] = oldAmountOfOptimalInputType + additionalAmountOfInputType;
 
 				{
 					final double estimatedMarginalRevenueOfGoodType = priceOfProducedGoodType / (1.0 + margin);
-					final double marginalOutputOfOptimalInputType = calculateMarginalOutput(bundleOfInputFactors,
-							optimalInputType);
+					final double marginalOutputOfOptimalInputType = delegate.partialDerivative(bundleOfInputFactors,
+							optimalInputIndex);
 					final double marginalPriceOfOptimalInputTypePerOutput = marginalPriceOfOptimalInputType
 							/ marginalOutputOfOptimalInputType;
 
@@ -247,11 +253,12 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 								marginalPriceOfOptimalInputTypePerOutput)) {
 							// revert amount of optimal good type
 							// important (see above)
-							bundleOfInputFactors.put(optimalInputType, oldAmountOfOptimalInputType);
-							getLog().log("%s estimatedMarginalRevenue < %s currentMarginalPriceOfInputPerOutput -> %s",
+							bundleOfInputFactors[optimalInputIndex] = oldAmountOfOptimalInputType;
+							getLog().log(() -> String.format(
+									"%s estimatedMarginalRevenue < %s currentMarginalPriceOfInputPerOutput -> %s",
 									MathUtil.round(estimatedMarginalRevenueOfGoodType),
 									MathUtil.round(marginalPriceOfOptimalInputTypePerOutput),
-									bundleOfInputFactors.entrySet().toString());
+									toMap(bundleOfInputFactors).entrySet().toString()));
 							getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
 									ConvexProductionFunctionTerminationCause.MARGINAL_REVENUE_EXCEEDED);
 							break;
@@ -261,13 +268,13 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 
 				{
 					// check maxOutput
-					final double newOutput = calculateOutput(bundleOfInputFactors);
+					final double newOutput = delegate.f(bundleOfInputFactors);
 					if (!Double.isNaN(maxOutput) && MathUtil.greater(newOutput, maxOutput)) {
 						// revert amount of optimal good type
 						// important (see above)
-						bundleOfInputFactors.put(optimalInputType, oldAmountOfOptimalInputType);
-						getLog().log("output %s > maxOutput %s -> %s", newOutput, maxOutput,
-								bundleOfInputFactors.entrySet().toString());
+						bundleOfInputFactors[optimalInputIndex] = oldAmountOfOptimalInputType;
+						getLog().log(() -> String.format("output %s > maxOutput %s -> %s", newOutput, maxOutput,
+								toMap(bundleOfInputFactors).entrySet().toString()));
 						getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
 								ConvexProductionFunctionTerminationCause.MAX_OUTPUT_EXCEEDED);
 						break;
@@ -281,11 +288,11 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		// ------ cleanup -----------------------------------------
 
 		// reset initialization values
-		for (final GoodType inputType : getInputGoodTypes()) {
-			bundleOfInputFactors.put(inputType, bundleOfInputFactors.get(inputType) - initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			bundleOfInputFactors[i] -= initializationValueForInputs;
 		}
 
-		return bundleOfInputFactors;
+		return toMap(bundleOfInputFactors);
 	}
 
 	private Log getLog() {
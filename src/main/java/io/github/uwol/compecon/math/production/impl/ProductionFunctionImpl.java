@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.production.impl;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,4 +61,18 @@ public abstract class ProductionFunctionImpl implements ProductionFunction {
 			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods, final Map<GoodType, Double> capital) {
 		return delegate.findHighestPartialDerivatePerPrice(bundleOfInputGoods, priceFunctionsOfInputGoods, capital);
 	}
+
+	/**
+	 * @return bundle of production factors for amounts in the order of
+	 *         {@link Function#getIndexedInputTypes()}
+	 */
+	protected Map<GoodType, Double> toMap(final double[] bundleOfProductionFactors) {
+		final List<GoodType> inputTypes = delegate.getIndexedInputTypes();
+		final Map<GoodType, Double> amounts = new HashMap<GoodType, Double>();
+
+		for (int i = 0; i < bundleOfProductionFactors.length; i++) {
+			amounts.put(inputTypes.get(i), bundleOfProductionFactors[i]);
+		}
+		return amounts;
+	}
 }
@@ -19,8 +19,15 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.utility.impl;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
+import io.github.uwol.compecon.math.price.PriceFunction;
 
 /**
  * A convex function -> any local optimum must be a global optimum<br />
@@ -28,7 +35,74 @@ import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
  */
 public abstract class ConvexUtilityFunctionImpl extends UtilityFunctionImpl {
 
+	/**
+	 * fixed price functions of the indexed input types, for which the unit budget
+	 * bundle has been calculated. Compared by identity, as the market price board
+	 * returns identical instances as long as the prices do not change.
+	 */
+	protected PriceFunction[] memoizedPriceFunctions;
+
+	/**
+	 * utility maximizing bundle for a budget of 1.0 at the memoized prices
+	 */
+	protected double[] memoizedUnitBudgetBundle;
+
 	protected ConvexUtilityFunctionImpl(final ConvexFunctionImpl<GoodType> delegate) {
 		super(delegate);
 	}
+
+	/**
+	 * Under fixed prices the demand of CES and Cobb-Douglas functions is
+	 * homogeneous of degree one in the budget. Hence, the bundle for a unit budget
+	 * is calculated once per constellation of prices and scaled by the budget of
+	 * each household sharing this utility function.
+	 */
+	@Override
+	public Map<GoodType, Double> calculateUtilityMaximizingInputs(
+			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods, final double budget) {
+		for (final Entry<GoodType, PriceFunction> priceFunctionEntry : priceFunctionsOfInputGoods.entrySet()) {
+			if (!(priceFunctionEntry.getValue() instanceof FixedPriceFunctionImpl)) {
+				return super.calculateUtilityMaximizingInputs(priceFunctionsOfInputGoods, budget);
+			}
+		}
+
+		final List<GoodType> inputGoodTypes = delegate.getIndexedInputTypes();
+		final double[] unitBudgetBundle = getUnitBudgetBundle(priceFunctionsOfInputGoods);
+		final Map<GoodType, Double> bundleOfInputGoods = new LinkedHashMap<GoodType, Double>();
+
+		for (int i = 0; i < unitBudgetBundle.length; i++) {
+			bundleOfInputGoods.put(inputGoodTypes.get(i), unitBudgetBundle[i] * budget);
+		}
+
+		return bundleOfInputGoods;
+	}
+
+	protected synchronized double[] getUnitBudgetBundle(
+			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods) {
+		final List<GoodType> inputGoodTypes = delegate.getIndexedInputTypes();
+		final int numberOfInputGoodTypes = inputGoodTypes.size();
+
+		boolean isMemoized = memoizedPriceFunctions != null;
+		for (int i = 0; isMemoized && i < numberOfInputGoodTypes; i++) {
+			isMemoized = memoizedPriceFunctions[i] == priceFunctionsOfInputGoods.get(inputGoodTypes.get(i));
+		}
+
+		if (!isMemoized) {
+			final Map<GoodType, Double> unitBudgetBundle = super.calculateUtilityMaximizingInputs(
+					priceFunctionsOfInputGoods, 1.0);
+			final PriceFunction[] priceFunctions = new PriceFunction[numberOfInputGoodTypes];
+			final double[] amounts = new double[numberOfInputGoodTypes];
+
+			for (int i = 0; i < numberOfInputGoodTypes; i++) {
+				final GoodType inputGoodType = inputGoodTypes.get(i);
+				priceFunctions[i] = priceFunctionsOfInputGoods.get(inputGoodType);
+				amounts[i] = unitBudgetBundle.get(inputGoodType);
+			}
+
+			memoizedPriceFunctions = priceFunctions;
+			memoizedUnitBudgetBundle = amounts;
+		}
+
+		return memoizedUnitBudgetBundle;
+	}
 }
@@ -0,0 +1,79 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.impl;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.runner.impl.BatchSimulationRunnerImpl;
+import io.github.uwol.compecon.engine.util.HibernateUtil;
+
+/**
+ * This is a main method for running a simulation without a dashboard as fast
+ * as possible, e. g. on a server. The simulation stops after the number of
+ * days given by the system property simulation.days, or, if given, at the date
+ * in the system property simulation.endDate (yyyy-MM-dd).
+ */
+public class BatchSimulationImpl {
+
+	public static void main(final String[] args) throws IOException, ParseException {
+		/*
+		 * setup
+		 */
+		final String configurationPropertiesFilename = System.getProperty("configuration.properties",
+				"interdependencies.configuration.properties");
+		final int days = Integer.parseInt(System.getProperty("simulation.days", "365"));
+		final String endDate = System.getProperty("simulation.endDate");
+
+		if (HibernateUtil.isActive()) {
+			ApplicationContextFactory.configureHibernateApplicationContext(configurationPropertiesFilename);
+		} else {
+			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
+		}
+
+		ApplicationContext.getInstance().setSimulationRunner(new BatchSimulationRunnerImpl());
+
+		HibernateUtil.openSession();
+
+		/*
+		 * run simulation
+		 */
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+
+		if (endDate != null) {
+			ApplicationContext.getInstance().getSimulationRunner()
+					.run(new SimpleDateFormat("yyyy-MM-dd").parse(endDate));
+		} else {
+			ApplicationContext.getInstance().getSimulationRunner().run(days);
+		}
+
+		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+
+		/*
+		 * tear down
+		 */
+		HibernateUtil.flushSession();
+		HibernateUtil.closeSession();
+		ApplicationContext.getInstance().reset();
+	}
+}
@@ -45,6 +45,8 @@ public class DashboardSimulationImpl {
 			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 		}
 
+		ApplicationContextFactory.configureDashboardModelRegistry();
+
 		new Dashboard();
 
 		HibernateUtil.openSession();
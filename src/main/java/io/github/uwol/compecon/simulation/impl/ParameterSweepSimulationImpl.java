@@ -0,0 +1,60 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.impl;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ExecutionException;
+
+import io.github.uwol.compecon.engine.runner.impl.ParameterSweepRunnerImpl;
+
+/**
+ * This is a main method for running a parameter sweep without a dashboard.
+ * Simulations run concurrently; their summaries are written to
+ * csv/parameter_sweep.csv.
+ */
+public class ParameterSweepSimulationImpl {
+
+	public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException {
+		/*
+		 * setup
+		 */
+		final String configurationPropertiesFilename = System.getProperty("configuration.properties",
+				"interdependencies.configuration.properties");
+		final int days = Integer.parseInt(System.getProperty("simulation.days", "365"));
+		final int numberOfThreads = Integer.parseInt(System.getProperty("simulation.numberOfThreads",
+				Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+		final ParameterSweepRunnerImpl parameterSweepRunner = new ParameterSweepRunnerImpl(
+				configurationPropertiesFilename, days, numberOfThreads, 4, 100);
+
+		parameterSweepRunner.addParameter("factory.margin", "0.05", "0.1", "0.2");
+		parameterSweepRunner.addParameter("household.requiredUtilityPerDay", "0.5", "1.0");
+		parameterSweepRunner.addRandomParameter("centralBank.inflationTarget", 0.0, 0.05);
+
+		/*
+		 * run simulations
+		 */
+		try (final Writer writer = new FileWriter("csv/parameter_sweep.csv")) {
+			parameterSweepRunner.run(writer);
+		}
+	}
+}
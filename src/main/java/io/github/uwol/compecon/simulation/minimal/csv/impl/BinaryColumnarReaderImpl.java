@@ -0,0 +1,97 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-maps a file written by {@link BinaryColumnarWriterImpl}; the columns
+ * are read as views on the mapped file without copying.
+ */
+public class BinaryColumnarReaderImpl {
+
+	protected final String[] columnNames;
+
+	protected final int[] columnPositions;
+
+	protected final MappedByteBuffer mappedByteBuffer;
+
+	protected final int numberOfRows;
+
+	public BinaryColumnarReaderImpl(final String fileName) throws IOException {
+		try (final FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			mappedByteBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (mappedByteBuffer.getInt() != BinaryColumnarWriterImpl.MAGIC_NUMBER) {
+			throw new IOException(fileName + " is not a binary columnar file");
+		}
+
+		final int numberOfColumns = mappedByteBuffer.getInt();
+		numberOfRows = mappedByteBuffer.getInt();
+		columnNames = new String[numberOfColumns];
+		columnPositions = new int[numberOfColumns];
+
+		for (int i = 0; i < numberOfColumns; i++) {
+			final byte[] encodedColumnName = new byte[mappedByteBuffer.getInt()];
+			mappedByteBuffer.get(encodedColumnName);
+			columnNames[i] = new String(encodedColumnName, StandardCharsets.UTF_8);
+		}
+
+		for (int i = 0; i < numberOfColumns; i++) {
+			columnPositions[i] = mappedByteBuffer.position() + i * numberOfRows * Double.BYTES;
+		}
+	}
+
+	public DoubleBuffer getColumn(final int columnIndex) {
+		final ByteBuffer column = mappedByteBuffer.duplicate();
+		column.position(columnPositions[columnIndex]);
+		column.limit(columnPositions[columnIndex] + numberOfRows * Double.BYTES);
+		return column.slice().asDoubleBuffer();
+	}
+
+	/**
+	 * @return column with the given name, or null
+	 */
+	public DoubleBuffer getColumn(final String columnName) {
+		for (int i = 0; i < columnNames.length; i++) {
+			if (columnNames[i].equals(columnName)) {
+				return getColumn(i);
+			}
+		}
+
+		return null;
+	}
+
+	public String[] getColumnNames() {
+		return columnNames;
+	}
+
+	public int getNumberOfRows() {
+		return numberOfRows;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes rows of doubles into a compact columnar file: a header with the
+ * column names and the number of rows, followed by the values of each column
+ * in one contiguous block. Rows are collected in memory per column and written
+ * on {@link #close()}; see {@link BinaryColumnarReaderImpl}.
+ */
+public class BinaryColumnarWriterImpl {
+
+	public static final int MAGIC_NUMBER = 0x43454331;
+
+	protected final String[] columnNames;
+
+	protected final double[][] columns;
+
+	protected final String fileName;
+
+	protected int numberOfRows;
+
+	public BinaryColumnarWriterImpl(final String fileName, final String... columnNames) {
+		this.fileName = fileName;
+		this.columnNames = columnNames;
+		this.columns = new double[columnNames.length][64];
+	}
+
+	public void close() {
+		final byte[][] encodedColumnNames = new byte[columnNames.length][];
+		int headerSize = 3 * Integer.BYTES;
+
+		for (int i = 0; i < columnNames.length; i++) {
+			encodedColumnNames[i] = columnNames[i].getBytes(StandardCharsets.UTF_8);
+			headerSize += Integer.BYTES + encodedColumnNames[i].length;
+		}
+
+		final ByteBuffer buffer = ByteBuffer
+				.allocate(headerSize + columnNames.length * numberOfRows * Double.BYTES);
+		buffer.putInt(MAGIC_NUMBER);
+		buffer.putInt(columnNames.length);
+		buffer.putInt(numberOfRows);
+
+		for (final byte[] encodedColumnName : encodedColumnNames) {
+			buffer.putInt(encodedColumnName.length);
+			buffer.put(encodedColumnName);
+		}
+
+		for (final double[] column : columns) {
+			buffer.asDoubleBuffer().put(column, 0, numberOfRows);
+			buffer.position(buffer.position() + numberOfRows * Double.BYTES);
+		}
+
+		buffer.flip();
+
+		try (final FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	public void writeRow(final double... values) {
+		assert (values.length == columnNames.length);
+
+		if (numberOfRows == columns[0].length) {
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], numberOfRows * 2);
+			}
+		}
+
+		for (int i = 0; i < columns.length; i++) {
+			columns[i][numberOfRows] = values[i];
+		}
+
+		numberOfRows++;
+	}
+}
@@ -27,6 +27,14 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 
 public abstract class CsvPeriodWriterImpl extends CsvWriterImpl {
 
+	protected final Calendar calendar = Calendar.getInstance();
+
+	protected final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+	protected final SimpleDateFormat monthFormat = new SimpleDateFormat("yyyy-MM");
+
+	protected final SimpleDateFormat weekFormat = new SimpleDateFormat("yyyy-ww");
+
 	public CsvPeriodWriterImpl(final String csvFileName) {
 		super(csvFileName);
 	}
@@ -37,18 +45,12 @@ public abstract class CsvPeriodWriterImpl extends CsvWriterImpl {
 	}
 
 	private String getDateString() {
-		final Date currentDate = getCurrentDate();
-
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-		return dateFormat.format(currentDate);
+		return dateFormat.format(getCurrentDate());
 	}
 
 	@SuppressWarnings("unused")
 	private String getMonthString() {
-		final Date currentDate = getCurrentDate();
-
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM");
-		return dateFormat.format(currentDate);
+		return monthFormat.format(getCurrentDate());
 	}
 
 	protected String getPeriodLabel() {
@@ -57,18 +59,12 @@ public abstract class CsvPeriodWriterImpl extends CsvWriterImpl {
 
 	@SuppressWarnings("unused")
 	private String getWeekString() {
-		final Date currentDate = getCurrentDate();
-
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-ww");
-		return dateFormat.format(currentDate);
+		return weekFormat.format(getCurrentDate());
 	}
 
 	@SuppressWarnings("unused")
 	private boolean isEndOfMonth() {
-		final Date currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
-
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(currentDate);
+		calendar.setTime(getCurrentDate());
 
 		final int maxDayInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
 		final int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
@@ -78,10 +74,7 @@ public abstract class CsvPeriodWriterImpl extends CsvWriterImpl {
 	}
 
 	private boolean isEndOfWeek() {
-		final Date currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
-
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(currentDate);
+		calendar.setTime(getCurrentDate());
 
 		final int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
 		final boolean result = dayOfWeek == Calendar.SUNDAY;
@@ -19,8 +19,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 public abstract class CsvWriterImpl {
 
@@ -28,11 +30,12 @@ public abstract class CsvWriterImpl {
 
 	protected final String NEW_LINE_SEPARATOR = "\n";
 
-	protected FileWriter writer;
+	protected Writer writer;
 
 	public CsvWriterImpl(final String csvFileName) {
 		try {
-			writer = new FileWriter(csvFileName);
+			// lines are buffered and flushed in blocks to the file channel
+			writer = Files.newBufferedWriter(Paths.get(csvFileName));
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
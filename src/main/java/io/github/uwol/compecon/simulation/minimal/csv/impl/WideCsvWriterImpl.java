@@ -0,0 +1,138 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
+
+/**
+ * Exports several metrics as columns of one wide row per period. Registered
+ * once with the period model of the model registry, the columns are sampled
+ * after all models recorded the day and averaged over the period. Optionally,
+ * the rows are also written into a binary columnar file.
+ */
+public class WideCsvWriterImpl extends CsvPeriodWriterImpl implements ModelListener {
+
+	protected final List<PeriodDataQuotientAccumulator> accumulators = new ArrayList<PeriodDataQuotientAccumulator>();
+
+	protected BinaryColumnarWriterImpl binaryColumnarWriter;
+
+	protected String binaryColumnarFileName;
+
+	protected final List<String> columnNames = new ArrayList<String>();
+
+	protected final List<DoubleSupplier> columnValues = new ArrayList<DoubleSupplier>();
+
+	protected boolean hasHeader;
+
+	public WideCsvWriterImpl(final String csvFileName) {
+		super(csvFileName);
+	}
+
+	/**
+	 * the column value is sampled once per day; NaN marks a day without value
+	 */
+	public void addColumn(final String columnName, final DoubleSupplier columnValue) {
+		assert (!hasHeader);
+
+		accumulators.add(new PeriodDataQuotientAccumulator());
+		columnNames.add(columnName);
+		columnValues.add(columnValue);
+	}
+
+	@Override
+	public void close() {
+		super.close();
+
+		if (binaryColumnarWriter != null) {
+			binaryColumnarWriter.close();
+		}
+	}
+
+	@Override
+	public void notifyListener() {
+		for (int i = 0; i < columnValues.size(); i++) {
+			final double value = columnValues.get(i).getAsDouble();
+
+			if (!Double.isNaN(value)) {
+				accumulators.get(i).add(value, 1);
+			}
+		}
+
+		if (isPeriodEnd()) {
+			if (!hasHeader) {
+				writeHeader();
+			}
+
+			writeRow();
+		}
+	}
+
+	/**
+	 * additionally writes the rows into a binary columnar file, with the date of
+	 * the period end in milliseconds as first column
+	 */
+	public void setBinaryColumnarFileName(final String binaryColumnarFileName) {
+		this.binaryColumnarFileName = binaryColumnarFileName;
+	}
+
+	protected void writeHeader() {
+		final String[] header = new String[columnNames.size() + 1];
+		header[0] = "period";
+
+		for (int i = 0; i < columnNames.size(); i++) {
+			header[i + 1] = columnNames.get(i);
+		}
+
+		writeCsvLine(header);
+
+		if (binaryColumnarFileName != null) {
+			binaryColumnarWriter = new BinaryColumnarWriterImpl(binaryColumnarFileName, header);
+		}
+
+		hasHeader = true;
+	}
+
+	protected void writeRow() {
+		final String[] row = new String[accumulators.size() + 1];
+		final double[] binaryRow = new double[accumulators.size() + 1];
+
+		row[0] = getPeriodLabel();
+		binaryRow[0] = ApplicationContext.getInstance().getTimeSystem().getCurrentDate().getTime();
+
+		for (int i = 0; i < accumulators.size(); i++) {
+			final double amount = accumulators.get(i).getAmount();
+			row[i + 1] = Double.toString(amount);
+			binaryRow[i + 1] = amount;
+			accumulators.get(i).reset();
+		}
+
+		writeCsvLine(row);
+
+		if (binaryColumnarWriter != null) {
+			binaryColumnarWriter.writeRow(binaryRow);
+		}
+	}
+}
@@ -26,20 +26,17 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.PricingBehaviourModel;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.UtilityModel;
 import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.OutputCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.PriceCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.SoldCsvWriterImpl;
-import io.github.uwol.compecon.simulation.minimal.csv.impl.UtilityCsvWriterImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.WideCsvWriterImpl;
 
 public class EvaluationSimulationImpl {
 
@@ -48,62 +45,48 @@ public class EvaluationSimulationImpl {
 		runSimulationIteration(2, 1);
 	}
 
-	protected static M1CsvWriterImpl registerM1FileWriter(final int scenario, final int iteration) {
-		final PeriodDataAccumulatorTimeSeriesModel m1Model = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).moneySupplyM1Model;
-		final String csvFileName = String.format("csv/%s_%s_m1.csv", scenario, iteration);
-		final M1CsvWriterImpl m1FileWriter = new M1CsvWriterImpl(csvFileName, m1Model);
-
-		m1Model.getTimeSeries().addChangeListener(m1FileWriter);
-
-		return m1FileWriter;
-	}
-
-	protected static OutputCsvWriterImpl registerOutputFileWriter(final int scenario, final int iteration,
+	protected static void addPriceColumn(final WideCsvWriterImpl writer, final PricesModel pricesModel,
 			final GoodType goodType) {
-		final IndustryModel industryModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).industryModels.get(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_output.csv", scenario, iteration, goodType);
-		final OutputCsvWriterImpl outputFileWriter = new OutputCsvWriterImpl(csvFileName, industryModel, goodType);
+		writer.addColumn(goodType + " price", () -> {
+			final PriceModel priceModel = pricesModel.getPriceModelsForGoodTypes().get(goodType);
 
-		industryModel.outputModel.getTimeSeries().addChangeListener(outputFileWriter);
+			if (priceModel == null || priceModel.getNumberOfCompletedDays() == 0) {
+				return Double.NaN;
+			}
 
-		return outputFileWriter;
+			return priceModel.getClose(priceModel.getNumberOfCompletedDays() - 1);
+		});
 	}
 
-	protected static PriceCsvWriterImpl registerPriceFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
-		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).pricesModel;
-		final String csvFileName = String.format("csv/%s_%s_%s_prices.csv", scenario, iteration, goodType);
-		final PriceCsvWriterImpl priceFileWriter = new PriceCsvWriterImpl(csvFileName, pricesModel, goodType);
-
-		pricesModel.registerListener(priceFileWriter);
-
-		return priceFileWriter;
-	}
+	protected static WideCsvWriterImpl registerFileWriter(final int scenario, final int iteration) {
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+		final WideCsvWriterImpl writer = new WideCsvWriterImpl(
+				String.format("csv/%s_%s_evaluation.csv", scenario, iteration));
+		writer.setBinaryColumnarFileName(String.format("csv/%s_%s_evaluation.bin", scenario, iteration));
 
-	protected static SoldCsvWriterImpl registerSoldFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
-		final PricingBehaviourModel pricingBehaviourModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).getPricingBehaviourModel(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_sold.csv", scenario, iteration, goodType);
-		final SoldCsvWriterImpl soldFileWriter = new SoldCsvWriterImpl(csvFileName, pricingBehaviourModel, goodType);
+		for (final GoodType goodType : new GoodType[] { GoodType.COAL, GoodType.WHEAT, GoodType.LABOURHOUR }) {
+			addPriceColumn(writer, nationalEconomyModel.pricesModel, goodType);
+		}
 
-		pricingBehaviourModel.soldModel.getTimeSeries().addChangeListener(soldFileWriter);
+		for (final GoodType goodType : new GoodType[] { GoodType.COAL, GoodType.WHEAT }) {
+			final IndustryModel industryModel = nationalEconomyModel.industryModels.get(goodType);
+			writer.addColumn(goodType + " output", industryModel.outputModel.getPeriodDataSink()::getLatestValue);
+		}
 
-		return soldFileWriter;
-	}
+		for (final GoodType goodType : new GoodType[] { GoodType.COAL, GoodType.WHEAT, GoodType.LABOURHOUR }) {
+			final PricingBehaviourModel pricingBehaviourModel = nationalEconomyModel
+					.getPricingBehaviourModel(goodType);
+			writer.addColumn(goodType + " sold", pricingBehaviourModel.soldModel.getPeriodDataSink()::getLatestValue);
+		}
 
-	protected static UtilityCsvWriterImpl registerUtilityFileWriter(final int scenario, final int iteration) {
-		final UtilityModel utilityModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(Currency.EURO).householdsModel.utilityModel;
-		final String csvFileName = String.format("csv/%s_%s_utility.csv", scenario, iteration);
-		final UtilityCsvWriterImpl utilityFileWriter = new UtilityCsvWriterImpl(csvFileName, utilityModel);
+		final UtilityModel utilityModel = nationalEconomyModel.householdsModel.utilityModel;
+		writer.addColumn("utility", utilityModel.utilityOutputModel.getPeriodDataSink()::getLatestValue);
+		writer.addColumn("M1", nationalEconomyModel.moneySupplyM1Model.getPeriodDataSink()::getLatestValue);
 
-		utilityModel.utilityOutputModel.getTimeSeries().addChangeListener(utilityFileWriter);
+		ApplicationContext.getInstance().getModelRegistry().getPeriodModel().registerListener(writer);
 
-		return utilityFileWriter;
+		return writer;
 	}
 
 	protected static void runSimulationIteration(final int scenario, final int iteration) throws IOException {
@@ -122,23 +105,9 @@ public class EvaluationSimulationImpl {
 		}
 
 		/*
-		 * register model listeners
+		 * register model listener
 		 */
-		final PriceCsvWriterImpl coalPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.COAL);
-		final PriceCsvWriterImpl wheatPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.WHEAT);
-		final PriceCsvWriterImpl labourHourPriceWriter = registerPriceFileWriter(scenario, iteration,
-				GoodType.LABOURHOUR);
-
-		final OutputCsvWriterImpl coalOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.COAL);
-		final OutputCsvWriterImpl wheatOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.WHEAT);
-
-		final SoldCsvWriterImpl coalSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.COAL);
-		final SoldCsvWriterImpl wheatSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.WHEAT);
-		final SoldCsvWriterImpl labourHourSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.LABOURHOUR);
-
-		final UtilityCsvWriterImpl utilityWriter = registerUtilityFileWriter(scenario, iteration);
-
-		final M1CsvWriterImpl m1Writer = registerM1FileWriter(scenario, iteration);
+		final WideCsvWriterImpl writer = registerFileWriter(scenario, iteration);
 
 		/*
 		 * register exogenous shock
@@ -156,21 +125,9 @@ public class EvaluationSimulationImpl {
 		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
 
 		/*
-		 * close writers
+		 * close writer
 		 */
-		coalPriceWriter.close();
-		wheatPriceWriter.close();
-		labourHourPriceWriter.close();
-
-		coalSoldWriter.close();
-		wheatSoldWriter.close();
-		labourHourSoldWriter.close();
-
-		coalOutputWriter.close();
-		wheatOutputWriter.close();
-
-		m1Writer.close();
-		utilityWriter.close();
+		writer.close();
 
 		/*
 		 * reset application context
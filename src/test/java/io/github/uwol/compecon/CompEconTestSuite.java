@@ -26,28 +26,41 @@ import org.junit.runners.Suite.SuiteClasses;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBankTest;
 import io.github.uwol.compecon.economy.sectors.household.HouseholdImplTest;
 import io.github.uwol.compecon.economy.sectors.industry.FactoryImplTest;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextTest;
 import io.github.uwol.compecon.engine.applicationcontext.InterdependenciesConfigurationTest;
 import io.github.uwol.compecon.engine.applicationcontext.NoDependenciesConfigurationTest;
 import io.github.uwol.compecon.engine.applicationcontext.TestingConfigurationTest;
 import io.github.uwol.compecon.engine.dao.BankAccountDAOTest;
 import io.github.uwol.compecon.engine.dao.HouseholdDAOTest;
 import io.github.uwol.compecon.engine.dao.PropertyDAOTest;
+import io.github.uwol.compecon.engine.runner.BatchSimulationRunnerTest;
+import io.github.uwol.compecon.engine.runner.ParameterSweepRunnerTest;
 import io.github.uwol.compecon.engine.service.AgentServiceTest;
+import io.github.uwol.compecon.engine.service.HardCashServiceTest;
+import io.github.uwol.compecon.engine.service.MarketServiceOrderBookTest;
 import io.github.uwol.compecon.engine.service.MarketServiceTest;
 import io.github.uwol.compecon.engine.service.PropertyServiceTest;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModelTest;
+import io.github.uwol.compecon.engine.statistics.PricesModelTest;
+import io.github.uwol.compecon.engine.statistics.RingBufferPeriodDataSinkTest;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemTest;
 import io.github.uwol.compecon.math.CESFunctionTest;
 import io.github.uwol.compecon.math.CobbDouglasFunctionTest;
 import io.github.uwol.compecon.math.intertemporal.ModiglianiIntertemporalConsumptionFunctionTest;
 import io.github.uwol.compecon.math.production.CobbDouglasProductionFunctionTest;
 import io.github.uwol.compecon.math.util.MathUtilTest;
 import io.github.uwol.compecon.math.utility.CobbDouglasUtilityFunctionTest;
+import io.github.uwol.compecon.simulation.minimal.csv.BinaryColumnarWriterTest;
 
 @RunWith(Suite.class)
 @SuiteClasses({ MathUtilTest.class, InterdependenciesConfigurationTest.class, NoDependenciesConfigurationTest.class,
 		TestingConfigurationTest.class, BankAccountDAOTest.class, HouseholdDAOTest.class, PropertyDAOTest.class,
-		AgentServiceTest.class, MarketServiceTest.class, PropertyServiceTest.class, CreditBankTest.class,
+		AgentServiceTest.class, MarketServiceTest.class, MarketServiceOrderBookTest.class, PropertyServiceTest.class, CreditBankTest.class,
 		HouseholdImplTest.class, FactoryImplTest.class, ModiglianiIntertemporalConsumptionFunctionTest.class,
 		CobbDouglasFunctionTest.class, CobbDouglasUtilityFunctionTest.class, CobbDouglasProductionFunctionTest.class,
-		CESFunctionTest.class })
+		CESFunctionTest.class, TimeSystemTest.class, BatchSimulationRunnerTest.class,
+		ApplicationContextTest.class, ParameterSweepRunnerTest.class, RingBufferPeriodDataSinkTest.class,
+		PricesModelTest.class, PeriodDataDistributionModelTest.class, BinaryColumnarWriterTest.class,
+		HardCashServiceTest.class })
 public class CompEconTestSuite {
 }
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -40,6 +41,30 @@ public abstract class CompEconTestSupport {
 
 	protected final String testConfigurationPropertiesFilename = "testing.configuration.properties";
 
+	/**
+	 * check that the array based kernel of the function answers the same values
+	 * as the map based one.
+	 */
+	protected void assertArrayBasedKernelEqualsMapBasedKernel(final FunctionImpl<GoodType> function,
+			final Map<GoodType, Double> bundleOfInputs) {
+		final List<GoodType> inputTypes = function.getIndexedInputTypes();
+		final double[] bundleOfInputsArray = new double[inputTypes.size()];
+		for (int i = 0; i < bundleOfInputsArray.length; i++) {
+			bundleOfInputsArray[i] = bundleOfInputs.get(inputTypes.get(i));
+		}
+
+		assertEquals(function.f(bundleOfInputs), function.f(bundleOfInputsArray), 0.0);
+
+		final double[] partialDerivatives = new double[inputTypes.size()];
+		function.partialDerivatives(bundleOfInputsArray, partialDerivatives);
+
+		for (int i = 0; i < bundleOfInputsArray.length; i++) {
+			final double partialDerivative = function.partialDerivative(bundleOfInputs, inputTypes.get(i));
+			assertEquals(partialDerivative, function.partialDerivative(bundleOfInputsArray, i), 0.0);
+			assertEquals(partialDerivative, partialDerivatives[i], 0.0);
+		}
+	}
+
 	protected void assertOutputIsOptimalUnderBudget(final FunctionImpl<GoodType> function,
 			final double budgetRestriction, final Map<GoodType, PriceFunction> priceFunctions,
 			final Map<GoodType, Double> referenceBundleOfInputs) {
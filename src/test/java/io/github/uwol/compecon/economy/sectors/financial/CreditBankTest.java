@@ -23,22 +23,182 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.economy.sectors.financial.impl.CentralBankImpl;
+import io.github.uwol.compecon.economy.sectors.financial.impl.CreditBankImpl;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.math.util.MathUtil;
 
 public class CreditBankTest extends CompEconTestSupport {
 
+	/**
+	 * transfers money in bulk in a new application context, in which interbank
+	 * transfers are cleared or settled gross
+	 */
+	protected void assertTransferMoneyInBulk(final boolean interbankClearing) throws IOException {
+		final Currency currency = Currency.EURO;
+
+		setUpInterbankClearing(interbankClearing);
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final BankAccount bankAccount1_EUR = openBankAccount(creditBank1_EUR, currency, 0);
+		final BankAccount bankAccount2_EUR = openBankAccount(creditBank1_EUR, currency, 0);
+		final CreditBank creditBank2_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(1);
+		final BankAccount bankAccount3_EUR = openBankAccount(creditBank2_EUR, currency, 1);
+		final BankAccount bankAccount4_EUR = openBankAccount(creditBank2_EUR, currency, 1);
+
+		final CentralBankImpl centralBank_EUR = (CentralBankImpl) ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(currency);
+		final BankAccount centralBankTransactions1_EUR = creditBank1_EUR
+				.getBankAccountCentralBankTransactionsDelegate().getBankAccount();
+		final BankAccount centralBankTransactions2_EUR = creditBank2_EUR
+				.getBankAccountCentralBankTransactionsDelegate().getBankAccount();
+		final BankAccount moneyReserves1_EUR = creditBank1_EUR.getBankAccountCentralBankMoneyReservesDelegate()
+				.getBankAccount();
+		final BankAccount moneyReserves2_EUR = creditBank2_EUR.getBankAccountCentralBankMoneyReservesDelegate()
+				.getBankAccount();
+		final double centralBankTransactions1Before = centralBankTransactions1_EUR.getBalance();
+		final double centralBankTransactions2Before = centralBankTransactions2_EUR.getBalance();
+		final double moneyReserves1Before = moneyReserves1_EUR.getBalance();
+		final double moneyReserves2Before = moneyReserves2_EUR.getBalance();
+
+		final double depositsBefore = getSumOfDeposits(currency);
+
+		// one debit, many credits; the sender itself is skipped
+		creditBank1_EUR.transferMoneyInBulk(bankAccount1_EUR,
+				Arrays.asList(bankAccount1_EUR, bankAccount2_EUR, bankAccount3_EUR, bankAccount4_EUR), 10,
+				() -> "Transaction");
+
+		assertEquals(-30.0, bankAccount1_EUR.getBalance(), epsilon);
+		assertEquals(10.0, bankAccount2_EUR.getBalance(), epsilon);
+		assertEquals(10.0, bankAccount3_EUR.getBalance(), epsilon);
+		assertEquals(10.0, bankAccount4_EUR.getBalance(), epsilon);
+		assertEquals(depositsBefore, getSumOfDeposits(currency), epsilon);
+		assertEquals(centralBankTransactions1Before, centralBankTransactions1_EUR.getBalance(), epsilon);
+		assertEquals(centralBankTransactions2Before, centralBankTransactions2_EUR.getBalance(), epsilon);
+
+		// the recipients at the other credit bank are settled with one movement
+		centralBank_EUR.new InterbankSettlementEvent().onEvent();
+
+		final double settledAmount = interbankClearing ? 20.0 : 0.0;
+		assertEquals(moneyReserves1Before - settledAmount, moneyReserves1_EUR.getBalance(), epsilon);
+		assertEquals(moneyReserves2Before + settledAmount, moneyReserves2_EUR.getBalance(), epsilon);
+
+		// recipients at the central bank are credited as well
+		creditBank1_EUR.transferMoneyInBulk(bankAccount1_EUR,
+				Arrays.asList(bankAccount2_EUR, centralBankTransactions2_EUR), 5, () -> "Transaction");
+
+		assertEquals(-40.0, bankAccount1_EUR.getBalance(), epsilon);
+		assertEquals(15.0, bankAccount2_EUR.getBalance(), epsilon);
+		assertEquals(centralBankTransactions1Before, centralBankTransactions1_EUR.getBalance(), epsilon);
+		assertEquals(centralBankTransactions2Before + 5.0, centralBankTransactions2_EUR.getBalance(), epsilon);
+	}
+
+	/**
+	 * sum of the positive and negative deposits at credit banks, i.e. money
+	 * supply M2 without hard cash
+	 */
+	protected double getSumOfDeposits(final Currency currency) {
+		double sumOfDeposits = 0.0;
+
+		for (final CreditBank creditBank : ApplicationContext.getInstance().getAgentService()
+				.findCreditBanks(currency)) {
+			for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
+					.findAllBankAccountsManagedByBank(creditBank)) {
+				if (MoneyType.DEPOSITS.equals(bankAccount.getMoneyType())) {
+					sumOfDeposits += bankAccount.getBalance();
+				}
+			}
+		}
+		return sumOfDeposits;
+	}
+
+	/**
+	 * opens a transactions bank account for the household with the given index
+	 * at the credit bank
+	 */
+	protected BankAccount openBankAccount(final CreditBank creditBank, final Currency currency,
+			final int householdIndex) {
+		final Household household = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(householdIndex);
+		return creditBank.openBankAccount(household, currency, true, "transactions", TermType.SHORT_TERM,
+				MoneyType.DEPOSITS);
+	}
+
+	/**
+	 * sets up a new application context, in which interbank transfers are cleared
+	 * or settled gross, instead of the one of {@link #setup()}
+	 */
+	protected void setUpInterbankClearing(final boolean interbankClearing) throws IOException {
+		super.tearDown();
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().setProperty("centralBank.interbankClearing",
+				Boolean.toString(interbankClearing));
+		super.setUpTestAgents();
+	}
+
+	/**
+	 * transfers money between customers of two credit banks in a new application
+	 * context and returns the money supply M0, M1 and M2 of the balance sheets
+	 * published afterwards
+	 */
+	protected double[] transferMoneyAndPublishBalanceSheets(final Currency currency,
+			final boolean interbankClearing) throws IOException {
+		setUpInterbankClearing(interbankClearing);
+
+		final CreditBank creditBank1 = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final BankAccount bankAccount1 = openBankAccount(creditBank1, currency, 0);
+		final CreditBank creditBank2 = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(1);
+		final BankAccount bankAccount2 = openBankAccount(creditBank2, currency, 1);
+
+		final CentralBankImpl centralBank = (CentralBankImpl) ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(currency);
+
+		creditBank1.transferMoney(bankAccount1, bankAccount2, 10, "Transaction");
+		creditBank2.transferMoney(bankAccount2, bankAccount1, 4, "Transaction");
+		centralBank.new InterbankSettlementEvent().onEvent();
+
+		final List<Agent> agents = new ArrayList<Agent>();
+		agents.add(centralBank);
+		agents.addAll(ApplicationContext.getInstance().getAgentService().findCreditBanks(currency));
+		agents.addAll(ApplicationContext.getInstance().getAgentService().findFactories(currency));
+		agents.addAll(ApplicationContext.getInstance().getAgentService().findHouseholds(currency));
+		agents.add(ApplicationContext.getInstance().getAgentService().findState(currency));
+		agents.addAll(ApplicationContext.getInstance().getAgentService().findTraders(currency));
+
+		for (final Agent agent : agents) {
+			((AgentImpl) agent).new BalanceSheetPublicationEvent().onEvent();
+		}
+
+		final NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(currency);
+		return new double[] { nationalEconomyModel.moneySupplyM0Model.getValue(),
+				nationalEconomyModel.moneySupplyM1Model.getValue(),
+				nationalEconomyModel.moneySupplyM2Model.getValue() };
+	}
+
 	@Before
 	public void setup() throws IOException {
 		super.setUpApplicationContext(testConfigurationPropertiesFilename);
@@ -107,6 +267,131 @@ public class CreditBankTest extends CompEconTestSupport {
 		assertEquals(0.0, household2_EUR.getBankAccountTransactionsDelegate().getBankAccount().getBalance(), epsilon);
 	}
 
+	@Test
+	public void testDailyInterestCalculation() {
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(1);
+		final BankAccount bankAccount1_EUR = household1_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount2_EUR = household2_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+		final CreditBankImpl creditBank = (CreditBankImpl) bankAccount1_EUR.getManagingBank();
+		assertSame(creditBank, bankAccount2_EUR.getManagingBank());
+
+		creditBank.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 100.0, "Transaction");
+
+		final double dailyInterestRate = MathUtil.calculateMonthlyNominalInterestRate(ApplicationContext
+				.getInstance().getAgentService().findCentralBank(currency).getEffectiveKeyInterestRate()) / 30.0;
+		final double expectedBalance1 = -100.0 + -100.0 * dailyInterestRate * 1.5;
+		final double expectedBalance2 = 100.0 + 100.0 * dailyInterestRate;
+
+		creditBank.new DailyInterestCalculationEvent().onEvent();
+
+		// customer balances equal those of individual interest transfers
+		assertEquals(expectedBalance1, bankAccount1_EUR.getBalance(), 0.0);
+		assertEquals(expectedBalance2, bankAccount2_EUR.getBalance(), 0.0);
+
+		// the interest bank account received the net interest
+		double sumOfBalances = 0.0;
+		for (final BankAccount bankAccount : ApplicationContext.getInstance().getBankAccountDAO()
+				.findAllBankAccountsManagedByBank(creditBank)) {
+			sumOfBalances += bankAccount.getBalance();
+		}
+		assertEquals(0.0, sumOfBalances, epsilon);
+
+		// the accrual is repeatable with reused buffers
+		creditBank.new DailyInterestCalculationEvent().onEvent();
+		assertEquals(expectedBalance1 + expectedBalance1 * dailyInterestRate * 1.5, bankAccount1_EUR.getBalance(),
+				epsilon);
+	}
+
+	@Test
+	public void testInterbankClearing() throws IOException {
+		final Currency currency = Currency.EURO;
+
+		setUpInterbankClearing(true);
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final BankAccount bankAccount1_EUR = openBankAccount(creditBank1_EUR, currency, 0);
+		final CreditBank creditBank2_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(1);
+		final BankAccount bankAccount2_EUR = openBankAccount(creditBank2_EUR, currency, 1);
+
+		final CentralBankImpl centralBank_EUR = (CentralBankImpl) ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(currency);
+		final BankAccount moneyReserves1_EUR = creditBank1_EUR.getBankAccountCentralBankMoneyReservesDelegate()
+				.getBankAccount();
+		final BankAccount moneyReserves2_EUR = creditBank2_EUR.getBankAccountCentralBankMoneyReservesDelegate()
+				.getBankAccount();
+		final double moneyReserves1Before = moneyReserves1_EUR.getBalance();
+		final double moneyReserves2Before = moneyReserves2_EUR.getBalance();
+
+		// cleared transfer settles customer bank accounts immediately
+		creditBank1_EUR.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 10, "Transaction");
+
+		assertEquals(-10.0, bankAccount1_EUR.getBalance(), epsilon);
+		assertEquals(10.0, bankAccount2_EUR.getBalance(), epsilon);
+		assertEquals(moneyReserves1Before, moneyReserves1_EUR.getBalance(), epsilon);
+		assertEquals(moneyReserves2Before, moneyReserves2_EUR.getBalance(), epsilon);
+
+		// net position is settled in central bank money
+		creditBank2_EUR.transferMoney(bankAccount2_EUR, bankAccount1_EUR, 4, "Transaction");
+		centralBank_EUR.new InterbankSettlementEvent().onEvent();
+
+		assertEquals(-6.0, bankAccount1_EUR.getBalance(), epsilon);
+		assertEquals(6.0, bankAccount2_EUR.getBalance(), epsilon);
+		assertEquals(moneyReserves1Before - 6.0, moneyReserves1_EUR.getBalance(), epsilon);
+		assertEquals(moneyReserves2Before + 6.0, moneyReserves2_EUR.getBalance(), epsilon);
+	}
+
+	@Test
+	public void testInterbankClearingMoneySupply() throws IOException {
+		final Currency currency = Currency.EURO;
+
+		final double[] moneySupplyCleared = transferMoneyAndPublishBalanceSheets(currency, true);
+		final double[] moneySupplyGross = transferMoneyAndPublishBalanceSheets(currency, false);
+
+		// M0, M1 and M2 equal those of gross settlement
+		assertEquals(moneySupplyGross[0], moneySupplyCleared[0], epsilon);
+		assertEquals(moneySupplyGross[1], moneySupplyCleared[1], epsilon);
+		assertEquals(moneySupplyGross[2], moneySupplyCleared[2], epsilon);
+	}
+
+	@Test
+	public void testInterbankClearingOnCreditBankDeconstruction() throws IOException {
+		final Currency currency = Currency.EURO;
+
+		setUpInterbankClearing(true);
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final BankAccount bankAccount1_EUR = openBankAccount(creditBank1_EUR, currency, 0);
+		final CreditBank creditBank2_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(1);
+		final BankAccount bankAccount2_EUR = openBankAccount(creditBank2_EUR, currency, 1);
+
+		final CentralBankImpl centralBank_EUR = (CentralBankImpl) ApplicationContext.getInstance().getAgentService()
+				.findCentralBank(currency);
+		final BankAccount moneyReserves1_EUR = creditBank1_EUR.getBankAccountCentralBankMoneyReservesDelegate()
+				.getBankAccount();
+		final double moneyReserves1Before = moneyReserves1_EUR.getBalance();
+
+		creditBank1_EUR.transferMoney(bankAccount1_EUR, bankAccount2_EUR, 10, "Transaction");
+
+		// the obligation to credit bank 2 is settled before its deconstruction
+		creditBank2_EUR.deconstruct();
+
+		assertEquals(moneyReserves1Before - 10.0, moneyReserves1_EUR.getBalance(), epsilon);
+
+		// the hourly settlement finds no open positions of credit bank 2
+		centralBank_EUR.new InterbankSettlementEvent().onEvent();
+
+		assertEquals(moneyReserves1Before - 10.0, moneyReserves1_EUR.getBalance(), epsilon);
+	}
+
 	@Test
 	public void testTransferMoney() {
 		final Currency currency = Currency.EURO;
@@ -132,4 +417,10 @@ public class CreditBankTest extends CompEconTestSupport {
 					epsilon);
 		}
 	}
+
+	@Test
+	public void testTransferMoneyInBulk() throws IOException {
+		assertTransferMoneyInBulk(true);
+		assertTransferMoneyInBulk(false);
+	}
 }
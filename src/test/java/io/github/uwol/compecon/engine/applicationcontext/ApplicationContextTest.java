@@ -0,0 +1,149 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.applicationcontext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.sink.impl.RingBufferPeriodDataSinkImpl;
+import io.github.uwol.compecon.engine.statistics.sink.impl.TimeSeriesPeriodDataSinkImpl;
+
+public class ApplicationContextTest extends CompEconTestSupport {
+
+	private List<Double> simulate(final int days) throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		for (int i = 0; i < days * 24; i++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final List<Double> balances = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			for (final Household household : ApplicationContext.getInstance().getAgentService()
+					.findHouseholds(currency)) {
+				balances.add(household.getBankAccountTransactionsDelegate().getBankAccount().getBalance());
+			}
+		}
+
+		super.tearDown();
+		return balances;
+	}
+
+	private List<Double> simulateInThreadBoundApplicationContext(final int days) throws IOException {
+		ApplicationContext.bindNewInstance();
+		try {
+			return simulate(days);
+		} finally {
+			ApplicationContext.unbindInstance();
+		}
+	}
+
+	@Test
+	public void testDashboardModelRegistry() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		// headless runs record into ring buffers
+		NationalEconomyModel nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+		assertTrue(nationalEconomyModel.keyInterestRateModel
+				.getPeriodDataSink() instanceof RingBufferPeriodDataSinkImpl);
+
+		// the dashboard charts JFreeChart time series
+		ApplicationContextFactory.configureDashboardModelRegistry();
+
+		nationalEconomyModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO);
+		assertTrue(nationalEconomyModel.keyInterestRateModel
+				.getPeriodDataSink() instanceof TimeSeriesPeriodDataSinkImpl);
+		assertTrue(nationalEconomyModel.moneySupplyM1Model
+				.getPeriodDataSink() instanceof TimeSeriesPeriodDataSinkImpl);
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testSetProperty() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final Configuration configuration = ApplicationContext.getInstance().getConfiguration();
+		configuration.setProperty("factory.margin", "0.3");
+		assertEquals(0.3, configuration.factoryConfig.getMargin(), 0.0);
+
+		// the value has been cached
+		try {
+			configuration.setProperty("factory.margin", "0.4");
+			fail();
+		} catch (final IllegalStateException e) {
+		}
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testThreadBoundInstance() {
+		final ApplicationContext globalInstance = ApplicationContext.getInstance();
+		final ApplicationContext threadBoundInstance = ApplicationContext.bindNewInstance();
+		assertSame(threadBoundInstance, ApplicationContext.getInstance());
+
+		// reset keeps a fresh application context bound to the thread
+		ApplicationContext.getInstance().reset();
+		assertNotSame(threadBoundInstance, ApplicationContext.getInstance());
+		assertNotSame(globalInstance, ApplicationContext.getInstance());
+
+		ApplicationContext.unbindInstance();
+		assertSame(globalInstance, ApplicationContext.getInstance());
+	}
+
+	@Test
+	public void testConcurrentSimulationsAreIsolated()
+			throws IOException, InterruptedException, ExecutionException {
+		final List<Double> expectedBalances = simulate(10);
+
+		final ExecutorService executorService = Executors.newFixedThreadPool(3);
+		final List<Future<List<Double>>> futures = new ArrayList<Future<List<Double>>>();
+		for (int i = 0; i < 3; i++) {
+			futures.add(executorService.submit(() -> simulateInThreadBoundApplicationContext(10)));
+		}
+
+		for (final Future<List<Double>> future : futures) {
+			assertEquals(expectedBalances, future.get());
+		}
+
+		executorService.shutdown();
+	}
+}
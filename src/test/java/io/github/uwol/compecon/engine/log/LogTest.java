@@ -0,0 +1,101 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.log;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+
+public class LogTest extends CompEconTestSupport {
+
+	private class CountingSupplier implements Supplier<String> {
+
+		private int count = 0;
+
+		@Override
+		public String get() {
+			count++;
+			return "message";
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		ApplicationContext.getInstance().getLog().setAgentSelectedByClient(null);
+		super.tearDown();
+	}
+
+	@Test
+	public void testMessagesAreConstructedForSelectedAgentsOnly() {
+		final Currency currency = Currency.EURO;
+		final Log log = ApplicationContext.getInstance().getLog();
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(1);
+		final BankAccount bankAccount1_EUR = household1_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount2_EUR = household2_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+
+		final CountingSupplier message = new CountingSupplier();
+
+		// no agent selected
+		log.log(household1_EUR, message);
+		log.log(message);
+		log.bank_onTransfer(bankAccount1_EUR, bankAccount2_EUR, currency, 1.0, message);
+		assertEquals(0, message.count);
+
+		// another agent selected, as by the dashboard
+		final AgentDetailModel agentDetailModel = ApplicationContext.getInstance().getModelRegistry()
+				.getAgentDetailModel();
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(household2_EUR));
+		log.log(household1_EUR, message);
+		log.log(message);
+		assertEquals(0, message.count);
+
+		// the agent selected
+		log.log(household2_EUR, message);
+		log.log(message);
+		assertEquals(2, message.count);
+
+		// the agent selected is the recipient of the transfer
+		log.bank_onTransfer(bankAccount1_EUR, bankAccount2_EUR, currency, 1.0, message);
+		assertEquals(3, message.count);
+	}
+}
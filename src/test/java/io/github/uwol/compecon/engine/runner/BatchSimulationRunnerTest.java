@@ -0,0 +1,72 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.runner.impl.BatchSimulationRunnerImpl;
+
+public class BatchSimulationRunnerTest extends CompEconTestSupport {
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testRunNumberOfDays() {
+		final BatchSimulationRunnerImpl simulationRunner = new BatchSimulationRunnerImpl();
+
+		simulationRunner.run(3);
+		assertEquals(3 * 24, simulationRunner.getNumberOfSimulatedHours());
+		assertEquals(3 * 24, ApplicationContext.getInstance().getTimeSystem().getCurrentHourNumber());
+
+		simulationRunner.run(1);
+		assertEquals(24, simulationRunner.getNumberOfSimulatedHours());
+		assertEquals(4, ApplicationContext.getInstance().getTimeSystem().getCurrentDayNumber());
+	}
+
+	@Test
+	public void testInteractiveControlsAreIgnored() {
+		final BatchSimulationRunnerImpl simulationRunner = new BatchSimulationRunnerImpl();
+		simulationRunner.setMillisecondsToSleepPerHourType(1000);
+		simulationRunner.setPaused(true);
+		simulationRunner.stepSingleDay();
+		simulationRunner.stepSingleHour();
+
+		simulationRunner.run(1);
+		assertEquals(24, simulationRunner.getNumberOfSimulatedHours());
+	}
+}
@@ -0,0 +1,125 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.runner.impl.ParameterSweepRunnerImpl;
+import io.github.uwol.compecon.engine.statistics.timeseries.AbstractPeriodDataSingleTimeSeriesModel;
+
+public class ParameterSweepRunnerTest extends CompEconTestSupport {
+
+	private List<String> runParameterSweep() throws IOException, InterruptedException, ExecutionException {
+		final ParameterSweepRunnerImpl parameterSweepRunner = new ParameterSweepRunnerImpl(
+				testConfigurationPropertiesFilename, 3, 2, 2, 100);
+		parameterSweepRunner.addParameter("factory.margin", "0.1", "0.2");
+		parameterSweepRunner.addRandomParameter("centralBank.inflationTarget", 0.01, 0.03);
+
+		final StringWriter writer = new StringWriter();
+		parameterSweepRunner.run(writer);
+
+		final List<String> lines = Arrays.asList(writer.toString().split("\n"));
+		// rows are written in the order, in which simulations finish
+		lines.subList(1, lines.size()).sort(null);
+		return lines;
+	}
+
+	@Test
+	public void testParameterSweep() throws IOException, InterruptedException, ExecutionException {
+		final List<String> lines = runParameterSweep();
+
+		// header and 2 grid values * 2 random samples
+		assertEquals(5, lines.size());
+		assertTrue(lines.get(0).startsWith("run;seed;factory.margin;centralBank.inflationTarget;"));
+
+		final int numberOfColumns = 4 + 5 * Currency.values().length;
+		for (int i = 0; i < lines.size(); i++) {
+			assertEquals(numberOfColumns, lines.get(i).split(";").length);
+		}
+
+		for (int i = 1; i < lines.size(); i++) {
+			final String[] values = lines.get(i).split(";");
+			assertEquals(Integer.toString(i - 1), values[0]);
+			assertEquals(i <= 2 ? "0.1" : "0.2", values[2]);
+
+			final double inflationTarget = Double.parseDouble(values[3]);
+			assertTrue(inflationTarget >= 0.01 && inflationTarget <= 0.03);
+		}
+
+		assertEquals(lines, runParameterSweep());
+	}
+
+	@Test
+	public void testMeanCoversWholeSimulation() throws IOException, InterruptedException, ExecutionException {
+		final int numberOfDays = 200;
+		final List<AbstractPeriodDataSingleTimeSeriesModel> models =
+				new ArrayList<AbstractPeriodDataSingleTimeSeriesModel>();
+		final List<Double> values = new ArrayList<Double>();
+
+		final ParameterSweepRunnerImpl parameterSweepRunner = new ParameterSweepRunnerImpl(
+				testConfigurationPropertiesFilename, numberOfDays, 1, 1, 100) {
+			@Override
+			protected PeriodDataMean registerPeriodDataMean(final AbstractPeriodDataSingleTimeSeriesModel model) {
+				// record the values of the price index of the first currency
+				models.add(model);
+				if (models.size() == 1) {
+					model.registerListener(() -> values.add(model.getPeriodDataSink().getLatestValue()));
+				}
+				return super.registerPeriodDataMean(model);
+			}
+		};
+
+		final StringWriter writer = new StringWriter();
+		parameterSweepRunner.run(writer);
+
+		// more values than retained by the period data sink
+		assertTrue(values.size() > models.get(0).getPeriodDataSink().getItemCount());
+
+		double sum = 0.0;
+		for (final double value : values) {
+			sum += value;
+		}
+
+		// run, seed, households, total utility and price index of the first currency
+		final String[] row = writer.toString().split("\n")[1].split(";");
+		assertEquals(sum / values.size(), Double.parseDouble(row[4]), epsilon);
+	}
+
+	@Test(expected = ExecutionException.class)
+	public void testFailedSimulationIsRethrown() throws IOException, InterruptedException, ExecutionException {
+		final ParameterSweepRunnerImpl parameterSweepRunner = new ParameterSweepRunnerImpl(
+				testConfigurationPropertiesFilename, 1, 2, 1, 100);
+		parameterSweepRunner.addParameter("unknown.property", "0.1");
+
+		parameterSweepRunner.run(new StringWriter());
+	}
+}
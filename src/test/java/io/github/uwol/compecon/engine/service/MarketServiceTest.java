@@ -21,9 +21,12 @@ package io.github.uwol.compecon.engine.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.SortedMap;
 
 import org.junit.After;
@@ -142,6 +145,220 @@ public class MarketServiceTest extends CompEconTestSupport {
 				5);
 	}
 
+	@Test
+	public void testMarketDepth() {
+		final Currency currency = Currency.EURO;
+		final GoodType goodType = GoodType.LABOURHOUR;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(1);
+
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 10, 5);
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household2_EUR,
+				household2_EUR.getBankAccountTransactionsDelegate(), 10, 4);
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household2_EUR,
+				household2_EUR.getBankAccountTransactionsDelegate(), 10, 6);
+
+		assertEquals(30.0, ApplicationContext.getInstance().getMarketOrderDAO().getAmountSum(currency, goodType),
+				epsilon);
+
+		assertEquals(4.0,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 10.0),
+				epsilon);
+		assertEquals(5.0,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 15.0),
+				epsilon);
+		assertEquals(6.0,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 30.0),
+				epsilon);
+		assertEquals(Double.NaN,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 31.0),
+				epsilon);
+
+		assertEquals(4.0, ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 0.0),
+				epsilon);
+		assertEquals(65.0 / 15.0,
+				ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 15.0),
+				epsilon);
+		assertEquals(
+				ApplicationContext.getInstance().getMarketService().getMarketPriceFunction(currency, goodType)
+						.getPrice(25.0),
+				ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 25.0),
+				epsilon);
+
+		// buy partially, so that the aggregates have to be decremented
+		final Factory factory1_WHEAT_EUR = ApplicationContext.getInstance().getAgentService().findFactories(currency)
+				.get(0);
+		ApplicationContext.getInstance().getMarketService().buy(goodType, 15.0, Double.NaN, Double.NaN,
+				factory1_WHEAT_EUR, factory1_WHEAT_EUR.getBankAccountTransactionsDelegate());
+
+		assertEquals(15.0, ApplicationContext.getInstance().getMarketOrderDAO().getAmountSum(currency, goodType),
+				epsilon);
+		assertEquals(5.0,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 5.0),
+				epsilon);
+		assertEquals(6.0,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 6.0),
+				epsilon);
+		assertEquals(85.0 / 15.0,
+				ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 15.0),
+				epsilon);
+		assertEquals(Double.NaN,
+				ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 16.0),
+				epsilon);
+
+		// remove the remaining market orders, so that the aggregates are reset
+		ApplicationContext.getInstance().getMarketService().removeAllSellingOffers(household1_EUR);
+		ApplicationContext.getInstance().getMarketService().removeAllSellingOffers(household2_EUR);
+
+		assertEquals(0.0, ApplicationContext.getInstance().getMarketOrderDAO().getAmountSum(currency, goodType),
+				epsilon);
+		assertEquals(Double.NaN,
+				ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency, goodType, 0.0),
+				epsilon);
+		assertEquals(Double.NaN,
+				ApplicationContext.getInstance().getMarketOrderDAO().findAveragePrice(currency, goodType, 0.0),
+				epsilon);
+	}
+
+	@Test
+	public void testMarketPriceBoard() {
+		final Currency currency = Currency.EURO;
+		final GoodType goodType = GoodType.LABOURHOUR;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		final MarketPriceBoard marketPriceBoard = ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceBoard();
+
+		final Map<GoodType, Double> marginalPrices0 = marketPriceBoard.getMarginalPrices(currency);
+		assertEquals(Double.NaN, marginalPrices0.get(goodType), epsilon);
+		assertSame(marginalPrices0, marketPriceBoard.getMarginalPrices(currency));
+
+		final PriceFunction fixedPriceFunction0 = marketPriceBoard.getFixedPriceFunction(currency, goodType);
+		assertSame(fixedPriceFunction0, marketPriceBoard.getFixedPriceFunction(currency, goodType));
+
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 10, 5);
+
+		// changed order book -> refreshed prices
+		final Map<GoodType, Double> marginalPrices1 = marketPriceBoard.getMarginalPrices(currency);
+		assertNotSame(marginalPrices0, marginalPrices1);
+		assertEquals(5.0, marginalPrices1.get(goodType), epsilon);
+		assertEquals(5.0, marketPriceBoard.getMarginalPrice(currency, goodType), epsilon);
+		assertEquals(5.0, marketPriceBoard.getFixedPriceFunction(currency, goodType).getPrice(3.0), epsilon);
+
+		// more expensive offer -> new version, but the same marginal price
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 10, 7);
+
+		final PriceFunction fixedPriceFunction1 = marketPriceBoard.getFixedPriceFunction(currency, goodType);
+		assertNotSame(marginalPrices1, marketPriceBoard.getMarginalPrices(currency));
+
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 10, 8);
+		assertSame(fixedPriceFunction1, marketPriceBoard.getFixedPriceFunction(currency, goodType));
+	}
+
+	@Test
+	public void testMarketPriceBoardCrossRates() {
+		final Currency localCurrency = Currency.EURO;
+		final Currency originCurrency = Currency.USDOLLAR;
+		final GoodType goodType = GoodType.WHEAT;
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService()
+				.findCreditBanks(localCurrency).get(0);
+		final CreditBank creditBank1_USD = ApplicationContext.getInstance().getAgentService()
+				.findCreditBanks(originCurrency).get(0);
+		final Household household1_USD = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(originCurrency).get(0);
+
+		final MarketPriceBoard marketPriceBoard = ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceBoard();
+
+		assertEquals(Double.NaN, marketPriceBoard.getImportPrice(localCurrency, originCurrency, goodType), epsilon);
+		assertEquals(Double.NaN, marketPriceBoard.getCalculatoryPrice(localCurrency, originCurrency), epsilon);
+
+		// 1 WHEAT = 3 USD
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_USD,
+				household1_USD.getBankAccountTransactionsDelegate(), 10, 3);
+		assertEquals(Double.NaN, marketPriceBoard.getImportPrice(localCurrency, originCurrency, goodType), epsilon);
+
+		// 1 USD = 0.8 EUR
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(originCurrency, creditBank1_EUR,
+				creditBank1_EUR.getBankAccountTransactionsDelegate(), 100, 0.8,
+				creditBank1_EUR.getBankAccountCurrencyTradeDelegate(originCurrency));
+		assertEquals(2.4, marketPriceBoard.getImportPrice(localCurrency, originCurrency, goodType), epsilon);
+
+		// without an inverse market the marginal price is used
+		assertEquals(0.8, marketPriceBoard.getCalculatoryPrice(localCurrency, originCurrency), epsilon);
+
+		// 1 EUR = 1.6 USD -> 1 USD = 0.625 EUR, and 1 EUR = 1.25 USD by 1 USD = 0.8 EUR
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(localCurrency, creditBank1_USD,
+				creditBank1_USD.getBankAccountTransactionsDelegate(), 100, 1.6,
+				creditBank1_USD.getBankAccountCurrencyTradeDelegate(localCurrency));
+		assertEquals(0.625, marketPriceBoard.getCalculatoryPrice(localCurrency, originCurrency), epsilon);
+		assertEquals(1.25, marketPriceBoard.getCalculatoryPrice(originCurrency, localCurrency), epsilon);
+
+		// cheaper exchange offer -> refreshed import price
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(originCurrency, creditBank1_EUR,
+				creditBank1_EUR.getBankAccountTransactionsDelegate(), 100, 0.5,
+				creditBank1_EUR.getBankAccountCurrencyTradeDelegate(originCurrency));
+		assertEquals(1.5, marketPriceBoard.getImportPrice(localCurrency, originCurrency, goodType), epsilon);
+		assertEquals(1.5, ApplicationContext.getInstance().getMarketService().getMarginalImportPrice(localCurrency,
+				originCurrency, goodType), epsilon);
+	}
+
+	@Test
+	public void testMarketPriceFunctionVersions() {
+		final Currency currency = Currency.EURO;
+		final GoodType goodType = GoodType.LABOURHOUR;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Factory factory1_WHEAT_EUR = ApplicationContext.getInstance().getAgentService().findFactories(currency)
+				.get(0);
+
+		final long version0 = ApplicationContext.getInstance().getMarketOrderDAO().getVersion(currency, goodType);
+
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 10, 5);
+
+		final long version1 = ApplicationContext.getInstance().getMarketOrderDAO().getVersion(currency, goodType);
+		assertNotEquals(version0, version1);
+
+		final MarketPriceFunction marketPriceFunction = ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceFunction(currency, goodType);
+		assertEquals(5.0, marketPriceFunction.getPrice(10.0), epsilon);
+
+		// partial fill -> new version
+		ApplicationContext.getInstance().getMarketService().buy(goodType, 4.0, Double.NaN, Double.NaN,
+				factory1_WHEAT_EUR, factory1_WHEAT_EUR.getBankAccountTransactionsDelegate());
+
+		assertNotEquals(version1,
+				ApplicationContext.getInstance().getMarketOrderDAO().getVersion(currency, goodType));
+
+		// a price function keeps its snapshot until reset
+		assertEquals(5.0, marketPriceFunction.getPrice(10.0), epsilon);
+
+		// ... except for the analytical parameters, which follow the market
+		final PriceFunctionConfig[] priceFunctionConfigs = marketPriceFunction
+				.getAnalyticalPriceFunctionParameters(Double.POSITIVE_INFINITY);
+		assertEquals(1, priceFunctionConfigs.length);
+		assertEquals(6.0, priceFunctionConfigs[0].intervalRightBoundary, epsilon);
+
+		marketPriceFunction.reset();
+		assertEquals(Double.NaN, marketPriceFunction.getPrice(10.0), epsilon);
+		assertEquals(5.0, marketPriceFunction.getPrice(6.0), epsilon);
+
+		assertEquals(Double.NaN, ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceFunction(currency, goodType).getMarginalPrice(6.1), epsilon);
+	}
+
 	@Test
 	public void testOfferCurrency() {
 		final Currency currency = Currency.EURO;
@@ -21,9 +21,12 @@ package io.github.uwol.compecon.engine.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.junit.After;
 import org.junit.Before;
@@ -129,6 +132,35 @@ public class PropertyServiceTest extends CompEconTestSupport {
 				.get(GoodType.MACHINE), epsilon);
 	}
 
+	@Test
+	public void testGoodTypeBalancesView() {
+		final Currency currency = Currency.EURO;
+
+		final Factory factory1_EUR = ApplicationContext.getInstance().getAgentService().findFactories(currency).get(0);
+
+		final Map<GoodType, Double> goodTypeBalances = ApplicationContext.getInstance().getPropertyService()
+				.getGoodTypeBalances(factory1_EUR);
+		final Map<GoodType, Double> capitalBalances = ApplicationContext.getInstance().getPropertyService()
+				.getCapitalBalances(factory1_EUR);
+
+		assertEquals(GoodType.values().length, goodTypeBalances.size());
+		assertEquals(0.0, goodTypeBalances.get(GoodType.MACHINE), epsilon);
+
+		ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(factory1_EUR, GoodType.MACHINE,
+				2.0);
+
+		// views reflect later changes
+		assertEquals(2.0, goodTypeBalances.get(GoodType.MACHINE), epsilon);
+		assertEquals(2.0, capitalBalances.get(GoodType.MACHINE), epsilon);
+		assertNull(capitalBalances.get(GoodType.IRON));
+
+		try {
+			goodTypeBalances.put(GoodType.IRON, 1.0);
+			fail();
+		} catch (final UnsupportedOperationException e) {
+		}
+	}
+
 	@Test
 	public void testIncrementAndDecrementGoodType() {
 		final Currency currency = Currency.EURO;
@@ -0,0 +1,69 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+
+public class PeriodDataDistributionModelTest extends CompEconTestSupport {
+
+	@Test
+	public void testSummaryStatisticalDataWithinBinWidth() {
+		final PeriodDataDistributionModel periodDataDistributionModel = new PeriodDataDistributionModel(
+				Currency.EURO, 1000);
+
+		// values 1 .. 1000 in shuffled order
+		for (int i = 0; i < 1000; i++) {
+			periodDataDistributionModel.add((i * 7919) % 1000 + 1);
+		}
+
+		periodDataDistributionModel.nextPeriod();
+
+		final SummaryStatisticalData summaryStatisticalData = periodDataDistributionModel
+				.getSummaryStatisticalData();
+
+		assertEquals(1000, summaryStatisticalData.numberOfValues);
+		assertEquals(500500.0, summaryStatisticalData.yTotalSum, epsilon);
+
+		// exact values of the sorted values, tolerating the bin width
+		assertEquals(51.0, summaryStatisticalData.quantil5Percent, 1.0);
+		assertEquals(501.0, summaryStatisticalData.quantil50Percent, 1.0);
+		assertEquals(951.0, summaryStatisticalData.quantil95Percent, 1.0);
+		assertEquals(991.0, summaryStatisticalData.quantil99Percent, 1.0);
+
+		assertEquals(706, summaryStatisticalData.xWith50PercentY, 1);
+		assertEquals(948, summaryStatisticalData.xWith90PercentY, 1);
+
+		// sum of the smallest 501 values
+		assertEquals(125751.0, summaryStatisticalData.ySumAtPercentOfX[10], 501.0);
+
+		// values of a new period replace the former ones
+		periodDataDistributionModel.add(5.0);
+		periodDataDistributionModel.nextPeriod();
+
+		assertEquals(1, periodDataDistributionModel.getSummaryStatisticalData().numberOfValues);
+		assertEquals(5.0, periodDataDistributionModel.getSummaryStatisticalData().quantil50Percent, epsilon);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
+
+public class PricesModelTest extends CompEconTestSupport {
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testSnapshotIsNotModifiedByTicks() {
+		final PricesModel pricesModel = new PricesModel(3);
+
+		for (int day = 1; day <= 3; day++) {
+			pricesModel.market_onTick(day, GoodType.WHEAT, 1.0);
+
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		final PriceModel priceModel = pricesModel.getPriceModelsForGoodTypes().get(GoodType.WHEAT);
+		final PriceModel snapshot = priceModel.getSnapshot();
+
+		// a new day overwrites the oldest day of the price model only
+		pricesModel.market_onTick(4.0, GoodType.WHEAT, 1.0);
+
+		assertEquals(2.0, priceModel.getOpen(0), epsilon);
+		assertEquals(2, snapshot.getNumberOfCompletedDays());
+		assertEquals(1.0, snapshot.getOpen(0), epsilon);
+		assertEquals(3.0, snapshot.getClose(2), epsilon);
+	}
+
+	@Test
+	public void testTickRollsDaysInRingBuffer() {
+		final PricesModel pricesModel = new PricesModel(3);
+
+		for (int day = 1; day <= 5; day++) {
+			pricesModel.market_onTick(day, GoodType.WHEAT, 1.0);
+			pricesModel.market_onTick(day + 0.5, GoodType.WHEAT, 2.0);
+			pricesModel.market_onTick(day - 0.5, GoodType.WHEAT, 3.0);
+
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		final PriceModel priceModel = pricesModel.getPriceModelsForGoodTypes().get(GoodType.WHEAT);
+		assertEquals(3, priceModel.getNumberOfDays());
+		assertEquals(2, priceModel.getNumberOfCompletedDays());
+
+		// the oldest remaining day is day 3
+		assertEquals(3.0, priceModel.getOpen(0), epsilon);
+		assertEquals(3.5, priceModel.getHigh(0), epsilon);
+		assertEquals(2.5, priceModel.getLow(0), epsilon);
+		assertEquals(2.5, priceModel.getClose(0), epsilon);
+		assertEquals(6.0, priceModel.getVolume(0), epsilon);
+
+		assertEquals(5.0, priceModel.getOpen(2), epsilon);
+		assertEquals(4.5, priceModel.getClose(2), epsilon);
+	}
+}
@@ -0,0 +1,57 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.statistics.sink.impl.RingBufferPeriodDataSinkImpl;
+
+public class RingBufferPeriodDataSinkTest extends CompEconTestSupport {
+
+	@Test
+	public void testAddOrUpdate() {
+		final RingBufferPeriodDataSinkImpl periodDataSink = new RingBufferPeriodDataSinkImpl(3);
+		final GregorianCalendar calendar = new GregorianCalendar(2000, Calendar.DECEMBER, 30);
+
+		periodDataSink.addOrUpdate(calendar.getTime(), 1.0);
+		periodDataSink.addOrUpdate(calendar.getTime(), 2.0);
+		assertEquals(1, periodDataSink.getItemCount());
+		assertEquals(2.0, periodDataSink.getValue(0), epsilon);
+
+		/*
+		 * the oldest values are overwritten, also across the turn of the year
+		 */
+		for (int i = 3; i <= 6; i++) {
+			calendar.add(Calendar.DAY_OF_YEAR, 1);
+			periodDataSink.addOrUpdate(calendar.getTime(), i);
+		}
+
+		assertEquals(3, periodDataSink.getItemCount());
+		assertEquals(4.0, periodDataSink.getValue(0), epsilon);
+		assertEquals(5.0, periodDataSink.getValue(1), epsilon);
+		assertEquals(6.0, periodDataSink.getValue(2), epsilon);
+	}
+}
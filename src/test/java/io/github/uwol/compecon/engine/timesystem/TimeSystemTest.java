@@ -0,0 +1,214 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.timesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
+
+public class TimeSystemTest extends CompEconTestSupport {
+
+	private class CountingEvent implements TimeSystemEvent {
+
+		protected int count = 0;
+
+		@Override
+		public boolean isDeconstructed() {
+			return false;
+		}
+
+		@Override
+		public void onEvent() {
+			count++;
+		}
+	}
+
+	private List<Double> simulate(final int numberOfThreads, final boolean partitionedExecution, final int days)
+			throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().timeSystemConfig.numberOfThreads = numberOfThreads;
+		ApplicationContext.getInstance()
+				.getConfiguration().timeSystemConfig.partitionedExecution = partitionedExecution;
+		super.setUpTestAgents();
+
+		for (int i = 0; i < days * 24; i++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+
+		final List<Double> balances = new ArrayList<Double>();
+		for (final Currency currency : Currency.values()) {
+			final List<Agent> agents = new ArrayList<Agent>();
+			agents.addAll(ApplicationContext.getInstance().getAgentService().findHouseholds(currency));
+			agents.addAll(ApplicationContext.getInstance().getAgentService().findFactories(currency));
+
+			for (final Agent agent : agents) {
+				balances.add((double) agent.getId());
+				balances.add(agent.getBankAccountTransactionsDelegate().getBankAccount().getBalance());
+			}
+		}
+
+		super.tearDown();
+		return balances;
+	}
+
+	@Test
+	public void testEventSchedule() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final int year = timeSystem.getStartYear();
+
+		final CountingEvent dailyEvent = new CountingEvent();
+		final CountingEvent hourlyEvent = new CountingEvent();
+		final CountingEvent datedEvent = new CountingEvent();
+		timeSystem.addEventForEveryDay(dailyEvent);
+		timeSystem.addEventForEveryHour(hourlyEvent);
+		timeSystem.addEvent(datedEvent, year, MonthType.JANUARY, DayType.DAY_03, HourType.HOUR_05);
+
+		for (int i = 0; i < 5 * 24; i++) {
+			timeSystem.nextHour();
+		}
+
+		assertEquals(5, dailyEvent.count);
+		assertEquals(5 * 24, hourlyEvent.count);
+		assertEquals(1, datedEvent.count);
+
+		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		events.add(dailyEvent);
+		events.add(hourlyEvent);
+		timeSystem.removeEvents(events);
+
+		for (int i = 0; i < 24; i++) {
+			timeSystem.nextHour();
+		}
+
+		assertEquals(5, dailyEvent.count);
+		assertEquals(5 * 24, hourlyEvent.count);
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testEndOfHourEvents() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+
+		final List<CountingEvent> hourlyEvents = new ArrayList<CountingEvent>();
+		for (int i = 0; i < 10; i++) {
+			final CountingEvent hourlyEvent = new CountingEvent();
+			hourlyEvents.add(hourlyEvent);
+			timeSystem.addEventForEveryHour(hourlyEvent);
+		}
+
+		final CountingEvent endOfHourEvent = new CountingEvent() {
+			@Override
+			public void onEvent() {
+				super.onEvent();
+
+				// all other events of the hour have been executed before
+				for (final CountingEvent hourlyEvent : hourlyEvents) {
+					assertEquals(count, hourlyEvent.count);
+				}
+			}
+		};
+		timeSystem.addEventForEndOfEveryHour(endOfHourEvent);
+
+		for (int i = 0; i < 2 * 24; i++) {
+			timeSystem.nextHour();
+		}
+
+		assertEquals(2 * 24, endOfHourEvent.count);
+
+		final Set<TimeSystemEvent> events = new HashSet<TimeSystemEvent>();
+		events.add(endOfHourEvent);
+		timeSystem.removeEvents(events);
+		timeSystem.nextHour();
+
+		assertEquals(2 * 24, endOfHourEvent.count);
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testDayTables() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final GregorianCalendar calendar = new GregorianCalendar(timeSystem.getStartYear(),
+				MonthType.JANUARY.getMonthNumber(), DayType.DAY_01.getDayNumber());
+
+		// four years, so that the tables grow several times and contain a leap year
+		for (int i = 0; i < 4 * 366; i++) {
+			assertEquals(i, timeSystem.getCurrentDayNumber());
+			assertEquals(calendar.get(GregorianCalendar.YEAR), timeSystem.getCurrentYear());
+			assertEquals(MonthType.getMonthType(calendar.get(GregorianCalendar.MONTH)),
+					timeSystem.getCurrentMonthType());
+			assertEquals(calendar.get(GregorianCalendar.MONTH) + 1, timeSystem.getCurrentMonthNumberInYear());
+			assertEquals(DayType.getDayType(calendar.get(GregorianCalendar.DAY_OF_MONTH)),
+					timeSystem.getCurrentDayType());
+			assertEquals(calendar.getTime(), timeSystem.getCurrentDate());
+
+			for (int j = 0; j < 24; j++) {
+				timeSystem.nextHour();
+			}
+			calendar.add(GregorianCalendar.DAY_OF_MONTH, 1);
+		}
+
+		assertEquals(timeSystem.getStartYear() + 4, timeSystem.getCurrentYear());
+
+		super.tearDown();
+	}
+
+	@Test
+	public void testParallelExecutionEqualsPartitionedSerialExecution() throws IOException {
+		final List<Double> balances = simulate(1, true, 30);
+		assertFalse(balances.isEmpty());
+		assertEquals(balances, simulate(3, true, 30));
+	}
+
+	@Test
+	public void testParallelExecutionIsReproducible() throws IOException {
+		final List<Double> balances = simulate(3, false, 30);
+		assertFalse(balances.isEmpty());
+		assertEquals(balances, simulate(3, false, 30));
+	}
+
+	@Test
+	public void testSerialExecutionIsReproducible() throws IOException {
+		assertEquals(simulate(1, false, 30), simulate(1, false, 30));
+	}
+}
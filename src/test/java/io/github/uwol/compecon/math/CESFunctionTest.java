@@ -54,6 +54,22 @@ public class CESFunctionTest extends CompEconTestSupport {
 		super.tearDown();
 	}
 
+	@Test
+	public void testArrayBasedKernel() {
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.1);
+		coefficients.put(GoodType.COTTON, 0.2);
+		coefficients.put(GoodType.WHEAT, 0.7);
+		final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+
+		final Map<GoodType, Double> bundleOfInputs = new HashMap<GoodType, Double>();
+		bundleOfInputs.put(GoodType.KILOWATT, 0.5);
+		bundleOfInputs.put(GoodType.COTTON, 1.5);
+		bundleOfInputs.put(GoodType.WHEAT, 3.0);
+
+		assertArrayBasedKernelEqualsMapBasedKernel(cesFunction, bundleOfInputs);
+	}
+
 	@Test
 	public void testCalculateForThreeGoodsWithFixedPrices() {
 		/*
@@ -309,6 +325,8 @@ public class CESFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cesFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsLagrangeMultiplier = cesFunction
+				.calculateOutputMaximizingInputsByLagrangeMultiplier(priceFunctions, budget);
 
 		/*
 		 * assert inputs
@@ -316,6 +334,8 @@ public class CESFunctionTest extends CompEconTestSupport {
 		for (final GoodType goodType : optimalInputsAnalytical.keySet()) {
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsIterative.get(goodType), epsilon);
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBruteForce.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsLagrangeMultiplier.get(goodType),
+					epsilon);
 		}
 
 		/*
@@ -328,5 +348,6 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsAnalytical, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsBruteForce, priceFunctions);
+		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsLagrangeMultiplier, priceFunctions);
 	}
 }
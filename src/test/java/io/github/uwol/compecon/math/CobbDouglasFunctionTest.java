@@ -54,6 +54,23 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		super.tearDown();
 	}
 
+	@Test
+	public void testArrayBasedKernel() {
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.1);
+		coefficients.put(GoodType.COTTON, 0.2);
+		coefficients.put(GoodType.WHEAT, 0.7);
+		final CobbDouglasFunctionImpl<GoodType> cobbDouglasFunction = new CobbDouglasFunctionImpl<GoodType>(1.0,
+				coefficients);
+
+		final Map<GoodType, Double> bundleOfInputs = new HashMap<GoodType, Double>();
+		bundleOfInputs.put(GoodType.KILOWATT, 0.5);
+		bundleOfInputs.put(GoodType.COTTON, 1.5);
+		bundleOfInputs.put(GoodType.WHEAT, 3.0);
+
+		assertArrayBasedKernelEqualsMapBasedKernel(cobbDouglasFunction, bundleOfInputs);
+	}
+
 	@Test
 	public void testCalculateForFourGoodsWithNaNMarketPrices() {
 
@@ -123,10 +140,18 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 
 		final Map<GoodType, Double> optimalInputsIterative = cobbDouglasFunction
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
+		final Map<GoodType, Double> optimalInputsLagrangeMultiplier = cobbDouglasFunction
+				.calculateOutputMaximizingInputsByLagrangeMultiplier(priceFunctions, budget);
 
 		/*
 		 * assert inputs
 		 */
+		double costsLagrangeMultiplier = 0.0;
+		for (final GoodType goodType : optimalInputsLagrangeMultiplier.keySet()) {
+			final double amount = optimalInputsLagrangeMultiplier.get(goodType);
+			costsLagrangeMultiplier += amount * priceFunctions.get(goodType).getPrice(amount);
+		}
+		assertEquals(budget, costsLagrangeMultiplier, epsilon);
 
 		/*
 		 * assert output
@@ -136,6 +161,8 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		 * assert marginal outputs
 		 */
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
+		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsLagrangeMultiplier,
+				priceFunctions);
 	}
 
 	@Test
@@ -20,8 +20,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.utility;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -71,4 +75,55 @@ public class CobbDouglasUtilityFunctionTest extends CompEconTestSupport {
 		assertEquals(0.673173, cobbDouglasUtilityFunction.calculateMarginalUtility(optimalInputs, GoodType.WHEAT),
 				epsilon);
 	}
+
+	@Test
+	public void testMemoizedUnitBudgetBundle() {
+		final Map<GoodType, Double> preferences = new HashMap<GoodType, Double>();
+		preferences.put(GoodType.KILOWATT, 0.4);
+		preferences.put(GoodType.WHEAT, 0.6);
+
+		// records the unit budget bundles, so that memo hits can be asserted by
+		// identity
+		final List<double[]> unitBudgetBundles = new ArrayList<double[]>();
+		final CobbDouglasUtilityFunctionImpl cobbDouglasUtilityFunction = new CobbDouglasUtilityFunctionImpl(1.0,
+				preferences) {
+			@Override
+			protected synchronized double[] getUnitBudgetBundle(
+					final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods) {
+				final double[] unitBudgetBundle = super.getUnitBudgetBundle(priceFunctionsOfInputGoods);
+				unitBudgetBundles.add(unitBudgetBundle);
+				return unitBudgetBundle;
+			}
+		};
+
+		final Map<GoodType, PriceFunction> prices = new HashMap<GoodType, PriceFunction>();
+		prices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		prices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+
+		/*
+		 * identical price functions -> unit budget bundle is reused and scaled
+		 */
+		final Map<GoodType, Double> optimalInputs1 = cobbDouglasUtilityFunction.calculateUtilityMaximizingInputs(prices,
+				10.0);
+		final Map<GoodType, Double> optimalInputs2 = cobbDouglasUtilityFunction.calculateUtilityMaximizingInputs(prices,
+				20.0);
+
+		assertEquals(4.0, optimalInputs1.get(GoodType.KILOWATT), epsilon);
+		assertEquals(3.0, optimalInputs1.get(GoodType.WHEAT), epsilon);
+		assertEquals(8.0, optimalInputs2.get(GoodType.KILOWATT), epsilon);
+		assertEquals(6.0, optimalInputs2.get(GoodType.WHEAT), epsilon);
+		assertEquals(2, unitBudgetBundles.size());
+		assertSame(unitBudgetBundles.get(0), unitBudgetBundles.get(1));
+
+		/*
+		 * changed price function -> bundle is recalculated
+		 */
+		prices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(3.0));
+		final Map<GoodType, Double> optimalInputs3 = cobbDouglasUtilityFunction.calculateUtilityMaximizingInputs(prices,
+				10.0);
+		assertEquals(4.0, optimalInputs3.get(GoodType.KILOWATT), epsilon);
+		assertEquals(2.0, optimalInputs3.get(GoodType.WHEAT), epsilon);
+		assertEquals(3, unitBudgetBundles.size());
+		assertNotSame(unitBudgetBundles.get(1), unitBudgetBundles.get(2));
+	}
 }
@@ -0,0 +1,64 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.BinaryColumnarReaderImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.BinaryColumnarWriterImpl;
+
+public class BinaryColumnarWriterTest extends CompEconTestSupport {
+
+	@Test
+	public void testWriteAndMapColumns() throws IOException {
+		final File file = File.createTempFile("compecon", ".bin");
+		file.deleteOnExit();
+
+		final BinaryColumnarWriterImpl writer = new BinaryColumnarWriterImpl(file.getPath(), "period", "price",
+				"sold");
+
+		// more rows than the initial column capacity
+		for (int i = 0; i < 100; i++) {
+			writer.writeRow(i, i * 0.5, i * 2.0);
+		}
+
+		writer.close();
+
+		final BinaryColumnarReaderImpl reader = new BinaryColumnarReaderImpl(file.getPath());
+		assertArrayEquals(new String[] { "period", "price", "sold" }, reader.getColumnNames());
+		assertEquals(100, reader.getNumberOfRows());
+
+		final DoubleBuffer price = reader.getColumn("price");
+		assertEquals(100, price.remaining());
+		assertEquals(0.0, price.get(0), epsilon);
+		assertEquals(49.5, price.get(99), epsilon);
+
+		final DoubleBuffer sold = reader.getColumn(2);
+		assertEquals(198.0, sold.get(99), epsilon);
+	}
+}